@@ -0,0 +1,65 @@
+#!/bin/sh
+# Builds AppCDS archives for the web and batch modes and measures startup with and without them.
+#
+#   scripts/appcds.sh [extra application arguments...]
+#
+# The extra arguments are passed to every run, e.g. datasource settings for a reachable database:
+#   scripts/appcds.sh --spring.datasource.url=jdbc:mysql://db:3306/data_import_db
+#
+# Needs JDK 13+ (-XX:ArchiveClassesAtExit). The Spring Boot jar is exploded first: classes in
+# nested jars cannot be archived. Run the application the same way to use an archive:
+#   java -XX:SharedArchiveFile=target/appcds/batch.jsa -cp "$(cat target/appcds/classpath)" \
+#        com.importservice.DataImportApplication --import.batch.job=all-related
+set -e
+
+cd "$(dirname "$0")/.."
+MAIN=com.importservice.DataImportApplication
+OUT=target/appcds
+
+if [ ! -f target/data-import-service-1.0.0.jar ]; then
+    mvn -B -q package -DskipTests
+fi
+
+rm -rf "$OUT"
+mkdir -p "$OUT/exploded"
+(cd "$OUT/exploded" && jar xf ../../data-import-service-1.0.0.jar)
+# CDS only archives classes loaded from jar files, so the application classes get a jar of their own
+jar cf "$OUT/application.jar" -C "$OUT/exploded/BOOT-INF/classes" .
+# The class path must be identical when dumping and using an archive, so it is listed once here
+CLASSPATH="$OUT/application.jar"
+for lib in $(ls "$OUT"/exploded/BOOT-INF/lib/*.jar | sort); do
+    CLASSPATH="$CLASSPATH:$lib"
+done
+echo "$CLASSPATH" > "$OUT/classpath"
+
+# Prints the "Started ... in N seconds" time of one run in the given mode
+started_in() {
+    mode=$1
+    shift
+    log="$OUT/run.log"
+    if [ "$mode" = batch ]; then
+        java "$@" -cp "$CLASSPATH" $MAIN --import.batch.job=startup $APP_ARGS > "$log" 2>&1 || true
+    else
+        java "$@" -cp "$CLASSPATH" $MAIN --server.port=0 $APP_ARGS > "$log" 2>&1 &
+        pid=$!
+        while kill -0 $pid 2>/dev/null && ! grep -q "Started DataImportApplication" "$log"; do
+            sleep 0.2
+        done
+        kill $pid 2>/dev/null || true
+        wait $pid 2>/dev/null || true
+    fi
+    sed -n 's/.*Started DataImportApplication in \([0-9.]*\) seconds.*/\1/p' "$log"
+}
+
+APP_ARGS="$*"
+for mode in web batch; do
+    # Training run: the classes it loads are dumped when the JVM exits
+    started_in $mode -XX:ArchiveClassesAtExit="$OUT/$mode.jsa" > /dev/null
+    if [ ! -f "$OUT/$mode.jsa" ]; then
+        echo "No archive was written for $mode mode, see $OUT/run.log" >&2
+        exit 1
+    fi
+    plain=$(started_in $mode -Xshare:auto)
+    archived=$(started_in $mode -XX:SharedArchiveFile="$OUT/$mode.jsa")
+    echo "$mode mode: started in ${plain}s, ${archived}s with $OUT/$mode.jsa"
+done
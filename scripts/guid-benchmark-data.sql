@@ -0,0 +1,46 @@
+-- Synthetic data set for scripts/guid-benchmark.sh: @docs correspondences, each with
+-- @transactions_per_doc transactions, @comments_per_doc comments and @send_tos_per_doc send-tos,
+-- keyed by UUID() values. Load it into the empty string-mode schema the application creates
+-- (import.guid-storage=string), before the binary_guid_keys migration. Needs MySQL 8.0.
+-- The defaults are 200k documents with 1M transactions, 400k comments and 400k send-tos;
+-- @docs * each per-document count must stay within the 1M rows of bench_seq.
+
+SET @docs = COALESCE(@docs, 200000);
+SET @transactions_per_doc = COALESCE(@transactions_per_doc, 5);
+SET @comments_per_doc = COALESCE(@comments_per_doc, 2);
+SET @send_tos_per_doc = COALESCE(@send_tos_per_doc, 2);
+
+-- Plain tables rather than TEMPORARY ones: MySQL cannot open a temporary table twice in one query
+DROP TABLE IF EXISTS bench_digits, bench_seq, bench_docs;
+CREATE TABLE bench_digits (d INT PRIMARY KEY);
+INSERT INTO bench_digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- 1 .. 1,000,000
+CREATE TABLE bench_seq (n INT PRIMARY KEY);
+INSERT INTO bench_seq
+SELECT 1 + a.d + 10 * b.d + 100 * c.d + 1000 * d.d + 10000 * e.d + 100000 * f.d
+FROM bench_digits a, bench_digits b, bench_digits c, bench_digits d, bench_digits e, bench_digits f;
+
+CREATE TABLE bench_docs (n INT PRIMARY KEY, guid CHAR(36) NOT NULL);
+INSERT INTO bench_docs SELECT n, UUID() FROM bench_seq WHERE n <= @docs;
+
+INSERT INTO correspondences (guid, creation_date, last_modified_date, subject)
+SELECT guid, NOW(6), NOW(6), CONCAT('Subject ', n) FROM bench_docs;
+
+-- Child row n belongs to document 1 + (n MOD @docs), so every document gets the same number of rows
+INSERT INTO correspondence_transactions (guid, doc_guid, creation_date, last_modified_date)
+SELECT UUID(), d.guid, NOW(6), NOW(6)
+FROM bench_seq s JOIN bench_docs d ON d.n = 1 + (s.n MOD @docs)
+WHERE s.n <= @docs * @transactions_per_doc;
+
+INSERT INTO correspondence_comments (comment_guid, doc_guid, creation_date, last_modified_date)
+SELECT UUID(), d.guid, NOW(6), NOW(6)
+FROM bench_seq s JOIN bench_docs d ON d.n = 1 + (s.n MOD @docs)
+WHERE s.n <= @docs * @comments_per_doc;
+
+INSERT INTO correspondence_send_tos (guid, doc_guid, creation_date, last_modified_date)
+SELECT UUID(), d.guid, NOW(6), NOW(6)
+FROM bench_seq s JOIN bench_docs d ON d.n = 1 + (s.n MOD @docs)
+WHERE s.n <= @docs * @send_tos_per_doc;
+
+DROP TABLE bench_digits, bench_seq, bench_docs;
@@ -0,0 +1,76 @@
+#!/bin/sh
+# Measures GUID storage in string and binary mode on the same synthetic data set.
+#
+#   scripts/guid-benchmark.sh [extra application arguments...]
+#
+# Run it against an EMPTY data_import_db, such as a fresh `docker compose up mysql` (MySQL 8.0,
+# 1 GB buffer pool): the application creates the string schema, scripts/guid-benchmark-data.sql
+# fills it, the benchmark runs, supabase/migrations/20261019120000_binary_guid_keys.sql converts
+# the keys, and the benchmark runs again in binary mode. The database is left in binary mode.
+#
+# MYSQL is the client command, connected to data_import_db; through Docker Compose e.g.
+#   MYSQL="docker compose exec -T mysql mysql -uimport_user -pimport_password123 data_import_db"
+# SAMPLES is the number of keys looked up per table (default 2000). Each benchmark runs twice
+# and the second run, with a warm buffer pool, is kept in target/guid-benchmark/<mode>.json.
+set -e
+
+cd "$(dirname "$0")/.."
+MYSQL=${MYSQL:-"mysql -h 127.0.0.1 -P 3306 -uimport_user -pimport_password123 data_import_db"}
+SAMPLES=${SAMPLES:-2000}
+PORT=${PORT:-18080}
+OUT=target/guid-benchmark
+APP_ARGS="$*"
+
+if [ ! -f target/data-import-service-1.0.0.jar ]; then
+    mvn -B -q package -DskipTests
+fi
+mkdir -p "$OUT"
+
+# Starts the application in the given GUID storage mode and waits until it serves requests
+start_app() {
+    mode=$1
+    shift
+    log="$OUT/app-$mode.log"
+    java -jar target/data-import-service-1.0.0.jar --server.port=$PORT --import.guid-storage=$mode \
+        --import.diagnostics.guid-benchmark.enabled=true "$@" $APP_ARGS > "$log" 2>&1 &
+    APP_PID=$!
+    while kill -0 $APP_PID 2>/dev/null && ! grep -q "Started DataImportApplication" "$log"; do
+        sleep 1
+    done
+    if ! kill -0 $APP_PID 2>/dev/null; then
+        echo "The application did not start in $mode mode, see $log" >&2
+        exit 1
+    fi
+}
+
+stop_app() {
+    kill $APP_PID 2>/dev/null || true
+    wait $APP_PID 2>/dev/null || true
+}
+
+benchmark() {
+    mode=$1
+    curl -sf -m 3600 -X POST "http://localhost:$PORT/api/diagnostics/guid-storage?samples=$SAMPLES" > /dev/null
+    curl -sf -m 3600 -X POST "http://localhost:$PORT/api/diagnostics/guid-storage?samples=$SAMPLES" > "$OUT/$mode.json"
+    echo "$mode mode: $OUT/$mode.json"
+}
+
+# String mode: ddl-auto=update creates the schema the data set is loaded into
+start_app string
+trap stop_app EXIT
+if [ "$($MYSQL -N -e "SELECT COUNT(*) FROM correspondences")" != 0 ]; then
+    echo "correspondences is not empty; run the benchmark against an empty data_import_db" >&2
+    exit 1
+fi
+echo "Loading the data set"
+$MYSQL < scripts/guid-benchmark-data.sql
+benchmark string
+stop_app
+
+echo "Migrating to binary GUID keys"
+start=$(date +%s)
+$MYSQL < supabase/migrations/20261019120000_binary_guid_keys.sql
+echo "Migration took $(($(date +%s) - start)) s"
+
+start_app binary --spring.jpa.hibernate.ddl-auto=none
+benchmark binary
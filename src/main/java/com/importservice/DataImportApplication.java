@@ -1,12 +1,32 @@
 package com.importservice;
 
+import com.importservice.service.BatchImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
 
 @SpringBootApplication
 public class DataImportApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(DataImportApplication.class, args);
+        SpringApplication application = new SpringApplication(DataImportApplication.class);
+        boolean batchRequested = BatchImportRunner.isRequested(args);
+        if (batchRequested) {
+            application.setAdditionalProfiles(BatchImportRunner.PROFILE);
+        }
+        ConfigurableApplicationContext context;
+        try {
+            context = application.run(args);
+        } catch (RuntimeException e) {
+            // Spring has logged the failure; a batch run still has to exit with a status
+            if (batchRequested) {
+                System.exit(BatchImportRunner.EXIT_ERROR);
+            }
+            throw e;
+        }
+        if (context.getEnvironment().acceptsProfiles(Profiles.of(BatchImportRunner.PROFILE))) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.importservice.codegen;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Binds one entity straight from parser tokens. Implementations are generated at build time
+ * for entities marked with {@link GenerateJsonReader}; they switch on the property name and
+ * call the setters, accepting the same properties and value coercions as Jackson databind
+ * with the application's mapper.
+ */
+public interface EntityJsonReader<T> {
+
+    Class<T> getEntityClass();
+
+    /**
+     * Reads the value at the parser's current token (advancing to the first token of a fresh
+     * parser) and leaves the parser on its last token. A JSON null reads as {@code null}.
+     */
+    T read(JsonParser parser, boolean failOnUnknownProperties) throws IOException;
+}
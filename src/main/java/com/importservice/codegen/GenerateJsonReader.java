@@ -0,0 +1,15 @@
+package com.importservice.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity for which {@link JsonReaderProcessor} generates a streaming
+ * {@link EntityJsonReader} named {@code <Entity>JsonReader} in the entity's package.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateJsonReader {
+}
@@ -0,0 +1,301 @@
+package com.importservice.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates an {@link EntityJsonReader} for every class marked with {@link GenerateJsonReader}.
+ * Properties follow Jackson's bean rules: every public setter is a property, named by the
+ * {@code @JsonProperty} of its field if there is one and by the setter name otherwise, and
+ * {@code @JsonIgnore} properties are accepted but skipped. A property type without a value
+ * read in {@link JsonReaderSupport} fails the build rather than falling back to reflection.
+ * <p>
+ * Maven compiles this package in an earlier execution so the main compile can run it.
+ */
+@SupportedAnnotationTypes("com.importservice.codegen.GenerateJsonReader")
+public class JsonReaderProcessor extends AbstractProcessor {
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String LOCAL_DATE_TIME = "java.time.LocalDateTime";
+    // The parser JacksonConfig registers for LocalDateTime, so both paths accept the same formats
+    private static final String DATE_TIME_PARSER = "com.importservice.config.CustomDateTimeDeserializer.parseDateTime";
+
+    private static final Map<String, String> VALUE_READS = new HashMap<>();
+
+    static {
+        VALUE_READS.put("java.lang.String", "readString");
+        VALUE_READS.put("java.lang.Integer", "readInteger");
+        VALUE_READS.put("java.lang.Long", "readLong");
+        VALUE_READS.put("java.lang.Boolean", "readBoolean");
+    }
+
+    private static class Property {
+        private final String jsonName;
+        private final String setter;
+        private final String read;
+
+        Property(String jsonName, String setter, String read) {
+            this.jsonName = jsonName;
+            this.setter = setter;
+            this.read = read;
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateJsonReader.class)) {
+            if (element.getKind() != ElementKind.CLASS || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                error(element, "@GenerateJsonReader applies to top-level classes only");
+                continue;
+            }
+            TypeElement entity = (TypeElement) element;
+            try {
+                generate(entity);
+            } catch (IOException e) {
+                error(entity, "Could not write JSON reader: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement entity) throws IOException {
+        if (!hasPublicNoArgConstructor(entity)) {
+            error(entity, "@GenerateJsonReader needs a public no-argument constructor");
+            return;
+        }
+
+        // Fields and setters of the whole hierarchy; the subclass wins on a name clash
+        Map<String, VariableElement> fields = new HashMap<>();
+        Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        for (TypeElement type = entity; type != null; type = superclass(type)) {
+            for (Element member : type.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.STATIC)) {
+                    fields.putIfAbsent(member.getSimpleName().toString(), (VariableElement) member);
+                } else if (member.getKind() == ElementKind.METHOD && isSetter((ExecutableElement) member)) {
+                    setters.putIfAbsent(implicitName(member.getSimpleName().toString()), (ExecutableElement) member);
+                }
+            }
+        }
+
+        Map<String, Property> properties = new LinkedHashMap<>();
+        Set<String> ignored = new LinkedHashSet<>();
+        boolean valid = true;
+        for (Map.Entry<String, ExecutableElement> entry : setters.entrySet()) {
+            ExecutableElement setter = entry.getValue();
+            VariableElement field = fields.get(entry.getKey());
+            String jsonName = jsonName(setter, field, entry.getKey());
+            if (hasAnnotation(setter, JSON_IGNORE) || (field != null && hasAnnotation(field, JSON_IGNORE))) {
+                ignored.add(jsonName);
+                continue;
+            }
+            String read = valueRead(setter.getParameters().get(0).asType());
+            if (read == null) {
+                error(setter, "Unsupported property type " + setter.getParameters().get(0).asType()
+                        + " for a generated JSON reader");
+                valid = false;
+                continue;
+            }
+            if (properties.put(jsonName, new Property(jsonName, setter.getSimpleName().toString(), read)) != null) {
+                error(setter, "Duplicate JSON property \"" + jsonName + "\"");
+                valid = false;
+            }
+        }
+        for (VariableElement field : fields.values()) {
+            if (hasAnnotation(field, JSON_PROPERTY) && !setters.containsKey(field.getSimpleName().toString())) {
+                error(field, "@JsonProperty field has no public setter for the generated JSON reader");
+                valid = false;
+            }
+        }
+        if (valid) {
+            write(entity, properties, ignored);
+        }
+    }
+
+    private void write(TypeElement entity, Map<String, Property> properties, Set<String> ignored) throws IOException {
+        String packageName = ((PackageElement) entity.getEnclosingElement()).getQualifiedName().toString();
+        String entityName = entity.getSimpleName().toString();
+        String readerName = entityName + "JsonReader";
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName + "." + readerName, entity).openWriter())) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import com.fasterxml.jackson.core.JsonParser;");
+            out.println("import com.fasterxml.jackson.core.JsonToken;");
+            out.println("import com.importservice.codegen.EntityJsonReader;");
+            out.println("import com.importservice.codegen.JsonReaderSupport;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("/**");
+            out.println(" * Streaming reader for {@link " + entityName + "}, generated by JsonReaderProcessor. Do not edit.");
+            out.println(" */");
+            out.println("public final class " + readerName + " implements EntityJsonReader<" + entityName + "> {");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + entityName + "> getEntityClass() {");
+            out.println("        return " + entityName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + entityName + " read(JsonParser parser, boolean failOnUnknownProperties) throws IOException {");
+            out.println("        if (!JsonReaderSupport.startObject(parser, " + entityName + ".class)) {");
+            out.println("            return null;");
+            out.println("        }");
+            out.println("        " + entityName + " entity = new " + entityName + "();");
+            out.println("        while (parser.nextToken() == JsonToken.FIELD_NAME) {");
+            out.println("            String name = parser.getCurrentName();");
+            out.println("            parser.nextToken();");
+            out.println("            switch (name) {");
+            for (Property property : properties.values()) {
+                out.println("                case \"" + escape(property.jsonName) + "\":");
+                if (LOCAL_DATE_TIME.equals(property.read)) {
+                    out.println("                    entity." + property.setter + "(" + DATE_TIME_PARSER
+                            + "(JsonReaderSupport.readDateTimeText(parser)));");
+                } else {
+                    out.println("                    entity." + property.setter + "(JsonReaderSupport." + property.read + "(parser));");
+                }
+                out.println("                    break;");
+            }
+            for (String name : ignored) {
+                out.println("                case \"" + escape(name) + "\":");
+            }
+            if (!ignored.isEmpty()) {
+                out.println("                    parser.skipChildren();");
+                out.println("                    break;");
+            }
+            out.println("                default:");
+            out.println("                    JsonReaderSupport.unknownProperty(parser, " + entityName
+                    + ".class, name, failOnUnknownProperties);");
+            out.println("            }");
+            out.println("        }");
+            out.println("        return entity;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private String valueRead(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        return LOCAL_DATE_TIME.equals(name) ? LOCAL_DATE_TIME : VALUE_READS.get(name);
+    }
+
+    private static String jsonName(ExecutableElement setter, VariableElement field, String implicitName) {
+        String explicit = annotationValue(setter, JSON_PROPERTY);
+        if ((explicit == null || explicit.isEmpty()) && field != null) {
+            explicit = annotationValue(field, JSON_PROPERTY);
+        }
+        return explicit != null && !explicit.isEmpty() ? explicit : implicitName;
+    }
+
+    /**
+     * Jackson's default setter naming: the leading run of upper-case letters is lower-cased,
+     * so {@code setDocGuid} is {@code docGuid} and {@code setURL} is {@code url}.
+     */
+    private static String implicitName(String setterName) {
+        String base = setterName.substring(3);
+        int upper = 0;
+        while (upper < base.length() && Character.isUpperCase(base.charAt(upper))) {
+            upper++;
+        }
+        return base.substring(0, upper).toLowerCase(Locale.ROOT) + base.substring(upper);
+    }
+
+    private static boolean isSetter(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        return name.startsWith("set") && name.length() > 3
+                && method.getModifiers().contains(Modifier.PUBLIC)
+                && !method.getModifiers().contains(Modifier.STATIC)
+                && method.getParameters().size() == 1;
+    }
+
+    private static boolean hasPublicNoArgConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR
+                    && ((ExecutableElement) member).getParameters().isEmpty()
+                    && member.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return "java.lang.Object".equals(element.getQualifiedName().toString()) ? null : element;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return annotation(element, annotationName) != null;
+    }
+
+    private static String annotationValue(Element element, String annotationName) {
+        AnnotationMirror mirror = annotation(element, annotationName);
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet()) {
+            if ("value".contentEquals(value.getKey().getSimpleName())) {
+                return (String) value.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,153 @@
+package com.importservice.codegen;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Value reads shared by the generated readers. Each one is positioned on the value token and
+ * coerces it the way Jackson's standard deserializers do under the default coercion settings:
+ * scalars to String, numeric strings and floats to whole numbers, 0/1 and "true"/"false" to
+ * Boolean, and empty strings to {@code null}.
+ */
+public final class JsonReaderSupport {
+
+    private JsonReaderSupport() {
+    }
+
+    /**
+     * Moves a fresh parser to its first token and returns whether it holds an object;
+     * {@code false} means JSON null. Anything else is a mismatch.
+     */
+    public static boolean startObject(JsonParser parser, Class<?> entityClass) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        throw MismatchedInputException.from(parser, entityClass,
+                "Cannot deserialize value of type " + entityClass.getName() + " from " + token);
+    }
+
+    public static void unknownProperty(JsonParser parser, Class<?> entityClass, String name,
+                                       boolean failOnUnknownProperties) throws IOException {
+        if (failOnUnknownProperties) {
+            throw UnrecognizedPropertyException.from(parser, entityClass, name, Collections.emptyList());
+        }
+        parser.skipChildren();
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        throw mismatch(parser, String.class);
+    }
+
+    public static Integer readInteger(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsInt();
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty() || "null".equals(text)) {
+                    return null;
+                }
+                try {
+                    return Integer.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw InvalidFormatException.from(parser, "Not a valid Integer value: \"" + text + "\"", text, Integer.class);
+                }
+            default:
+                throw mismatch(parser, Integer.class);
+        }
+    }
+
+    public static Long readLong(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsLong();
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty() || "null".equals(text)) {
+                    return null;
+                }
+                try {
+                    return Long.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw InvalidFormatException.from(parser, "Not a valid Long value: \"" + text + "\"", text, Long.class);
+                }
+            default:
+                throw mismatch(parser, Long.class);
+        }
+    }
+
+    public static Boolean readBoolean(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue() != 0;
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if ("true".equalsIgnoreCase(text)) {
+                    return Boolean.TRUE;
+                }
+                if ("false".equalsIgnoreCase(text)) {
+                    return Boolean.FALSE;
+                }
+                if (text.isEmpty() || "null".equals(text)) {
+                    return null;
+                }
+                throw InvalidFormatException.from(parser, "Not a valid Boolean value: \"" + text + "\"", text, Boolean.class);
+            default:
+                throw mismatch(parser, Boolean.class);
+        }
+    }
+
+    /**
+     * The text of a date-time value for the application's date parser; {@code null} for JSON null.
+     */
+    public static String readDateTimeText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        throw mismatch(parser, LocalDateTime.class);
+    }
+
+    private static MismatchedInputException mismatch(JsonParser parser, Class<?> targetType) {
+        return MismatchedInputException.from(parser, targetType,
+                "Cannot deserialize value of type " + targetType.getName() + " from " + parser.currentToken());
+    }
+}
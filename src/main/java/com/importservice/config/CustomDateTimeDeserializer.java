@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
 import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -25,14 +26,25 @@ public class CustomDateTimeDeserializer extends JsonDeserializer<LocalDateTime>
 
     @Override
     public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        String dateString = p.getValueAsString();
-        
+        return parseDateTime(p.getValueAsString());
+    }
+
+    /**
+     * Parses a source date in any of the supported formats; {@code null} or blank gives {@code null}.
+     * Also called by the generated JSON readers.
+     */
+    public static LocalDateTime parseDateTime(String dateString) throws IOException {
         if (dateString == null || dateString.trim().isEmpty()) {
             return null;
         }
         
         dateString = dateString.trim();
         
+        LocalDateTime sourceFormatted = parseSourceFormat(dateString);
+        if (sourceFormatted != null) {
+            return sourceFormatted;
+        }
+        
         for (DateTimeFormatter formatter : FORMATTERS) {
             try {
                 return LocalDateTime.parse(dateString, formatter);
@@ -44,4 +56,71 @@ public class CustomDateTimeDeserializer extends JsonDeserializer<LocalDateTime>
         throw new IOException("Unable to parse date: " + dateString + 
             ". Supported formats: M/d/yyyy h:mm:ss a, MM/dd/yyyy h:mm:ss a, yyyy-MM-dd HH:mm:ss, ISO formats");
     }
+
+    /**
+     * Parses the source API's usual form, M/d/yyyy h:mm:ss AM|PM, without a DateTimeFormatter,
+     * which is the largest single cost of binding a record with several dates. Returns null
+     * for anything else so the formatters decide.
+     */
+    static LocalDateTime parseSourceFormat(String text) {
+        int[] position = {0};
+        int month = readNumber(text, position, 1, 2);
+        if (month < 0 || !skip(text, position, '/')) {
+            return null;
+        }
+        int day = readNumber(text, position, 1, 2);
+        if (day < 0 || !skip(text, position, '/')) {
+            return null;
+        }
+        int year = readNumber(text, position, 4, 4);
+        if (year < 0 || !skip(text, position, ' ')) {
+            return null;
+        }
+        int hour = readNumber(text, position, 1, 2);
+        if (hour < 1 || hour > 12 || !skip(text, position, ':')) {
+            return null;
+        }
+        int minute = readNumber(text, position, 2, 2);
+        if (minute < 0 || !skip(text, position, ':')) {
+            return null;
+        }
+        int second = readNumber(text, position, 2, 2);
+        if (second < 0 || !skip(text, position, ' ') || position[0] + 2 != text.length() || text.charAt(position[0] + 1) != 'M') {
+            return null;
+        }
+        char marker = text.charAt(position[0]);
+        if (marker == 'A') {
+            hour = hour == 12 ? 0 : hour;
+        } else if (marker == 'P') {
+            hour = hour == 12 ? 12 : hour + 12;
+        } else {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int readNumber(String text, int[] position, int minDigits, int maxDigits) {
+        int value = 0;
+        int digits = 0;
+        int index = position[0];
+        while (digits < maxDigits && index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            value = value * 10 + (text.charAt(index) - '0');
+            digits++;
+            index++;
+        }
+        position[0] = index;
+        return digits >= minDigits ? value : -1;
+    }
+
+    private static boolean skip(String text, int[] position, char expected) {
+        if (position[0] < text.length() && text.charAt(position[0]) == expected) {
+            position[0]++;
+            return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
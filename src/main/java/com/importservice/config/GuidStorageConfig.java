@@ -0,0 +1,23 @@
+package com.importservice.config;
+
+import com.importservice.entity.GuidType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GuidStorageConfig {
+
+    @Value("${import.guid-storage:string}")
+    private String guidStorage;
+
+    @Bean
+    public HibernatePropertiesCustomizer guidStorageCustomizer() {
+        if (!"string".equals(guidStorage) && !"binary".equals(guidStorage)) {
+            throw new IllegalArgumentException("import.guid-storage must be string or binary, was: " + guidStorage);
+        }
+        // Customizers run while the EntityManagerFactory is being built, before GuidType is first asked for its SQL type
+        return properties -> GuidType.setBinaryStorage("binary".equals(guidStorage));
+    }
+}
@@ -0,0 +1,48 @@
+package com.importservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportExecutorConfig {
+
+    @Value("${import.basic-entities.parallelism:6}")
+    private int basicEntitiesParallelism;
+
+    @Value("${import.outgoing.document-parallelism:3}")
+    private int outgoingDocumentParallelism;
+
+    @Bean
+    public ThreadPoolTaskExecutor basicEntityImportExecutor() {
+        // Bounded by the Hikari pool: each running import holds one connection per chunk
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(basicEntitiesParallelism);
+        executor.setMaxPoolSize(basicEntitiesParallelism);
+        executor.setThreadNamePrefix("basic-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor outgoingDocumentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outgoingDocumentParallelism);
+        executor.setMaxPoolSize(outgoingDocumentParallelism);
+        executor.setThreadNamePrefix("outgoing-doc-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor outgoingPrefetchExecutor() {
+        // Reads the next correspondence page ahead; the related endpoints run on their bulkheads
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("outgoing-prefetch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
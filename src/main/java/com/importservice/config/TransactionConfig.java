@@ -17,7 +17,8 @@ public class TransactionConfig {
         JpaTransactionManager transactionManager = new JpaTransactionManager();
         transactionManager.setEntityManagerFactory(entityManagerFactory);
         
-        // Set transaction timeout to prevent long-running transactions
+        // Set transaction timeout to prevent long-running transactions.
+        // Import writes commit per chunk with their own timeout (import.chunk.timeout-seconds).
         transactionManager.setDefaultTimeout(300); // 5 minutes
         
         return transactionManager;
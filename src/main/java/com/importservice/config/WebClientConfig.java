@@ -0,0 +1,43 @@
+package com.importservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    @Value("${source.api.timeout:300000}")
+    private int timeout;
+
+    @Value("${import.fetch.reactive.max-connections:512}")
+    private int maxConnections;
+
+    @Value("${import.fetch.reactive.max-in-memory-size:16777216}")
+    private int maxInMemorySize;
+
+    @Bean
+    public WebClient sourceWebClient() {
+        // Requests beyond the pool wait for a connection instead of failing; the fetch
+        // engine's in-flight limit keeps that queue short
+        ConnectionProvider provider = ConnectionProvider.builder("source-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMillis(timeout))
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout)
+                .responseTimeout(Duration.ofMillis(timeout));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+    }
+}
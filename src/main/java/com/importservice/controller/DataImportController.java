@@ -1,7 +1,12 @@
 package com.importservice.controller;
 
+import com.importservice.dto.AttachmentLaneStatusDto;
+import com.importservice.dto.ImportReportDto;
 import com.importservice.dto.ImportResponseDto;
+import com.importservice.service.AttachmentLane;
+import com.importservice.service.BasicEntityImportScheduler;
 import com.importservice.service.DataImportService;
+import com.importservice.service.DryRunService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +28,15 @@ public class DataImportController {
     @Autowired
     private DataImportService dataImportService;
 
+    @Autowired
+    private BasicEntityImportScheduler basicEntityImportScheduler;
+
+    @Autowired
+    private DryRunService dryRunService;
+
+    @Autowired
+    private AttachmentLane attachmentLane;
+
     // Basic entity imports
     @PostMapping("/classifications")
     @Operation(summary = "Import Classifications", description = "Import classification data from source API")
@@ -31,9 +45,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importClassifications() {
+    public ResponseEntity<ImportResponseDto> importClassifications(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import classifications");
-        ImportResponseDto response = dataImportService.importClassifications();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importClassifications());
         return getResponseEntity(response);
     }
 
@@ -44,9 +60,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importContacts() {
+    public ResponseEntity<ImportResponseDto> importContacts(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import contacts");
-        ImportResponseDto response = dataImportService.importContacts();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importContacts());
         return getResponseEntity(response);
     }
 
@@ -57,9 +75,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importDecisions() {
+    public ResponseEntity<ImportResponseDto> importDecisions(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import decisions");
-        ImportResponseDto response = dataImportService.importDecisions();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importDecisions());
         return getResponseEntity(response);
     }
 
@@ -70,9 +90,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importDepartments() {
+    public ResponseEntity<ImportResponseDto> importDepartments(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import departments");
-        ImportResponseDto response = dataImportService.importDepartments();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importDepartments());
         return getResponseEntity(response);
     }
 
@@ -83,9 +105,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importForms() {
+    public ResponseEntity<ImportResponseDto> importForms(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import forms");
-        ImportResponseDto response = dataImportService.importForms();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importForms());
         return getResponseEntity(response);
     }
 
@@ -96,9 +120,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importFormTypes() {
+    public ResponseEntity<ImportResponseDto> importFormTypes(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import form types");
-        ImportResponseDto response = dataImportService.importFormTypes();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importFormTypes());
         return getResponseEntity(response);
     }
 
@@ -109,9 +135,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importImportance() {
+    public ResponseEntity<ImportResponseDto> importImportance(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import importance");
-        ImportResponseDto response = dataImportService.importImportance();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importImportance());
         return getResponseEntity(response);
     }
 
@@ -122,9 +150,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importPositions() {
+    public ResponseEntity<ImportResponseDto> importPositions(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import positions");
-        ImportResponseDto response = dataImportService.importPositions();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importPositions());
         return getResponseEntity(response);
     }
 
@@ -135,9 +165,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importPosRoles() {
+    public ResponseEntity<ImportResponseDto> importPosRoles(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import pos roles");
-        ImportResponseDto response = dataImportService.importPosRoles();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importPosRoles());
         return getResponseEntity(response);
     }
 
@@ -148,9 +180,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importPriority() {
+    public ResponseEntity<ImportResponseDto> importPriority(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import priority");
-        ImportResponseDto response = dataImportService.importPriority();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importPriority());
         return getResponseEntity(response);
     }
 
@@ -161,9 +195,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importRoles() {
+    public ResponseEntity<ImportResponseDto> importRoles(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import roles");
-        ImportResponseDto response = dataImportService.importRoles();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importRoles());
         return getResponseEntity(response);
     }
 
@@ -174,9 +210,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importSecrecy() {
+    public ResponseEntity<ImportResponseDto> importSecrecy(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import secrecy");
-        ImportResponseDto response = dataImportService.importSecrecy();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importSecrecy());
         return getResponseEntity(response);
     }
 
@@ -187,9 +225,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importUserPositions() {
+    public ResponseEntity<ImportResponseDto> importUserPositions(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import user positions");
-        ImportResponseDto response = dataImportService.importUserPositions();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importUserPositions());
         return getResponseEntity(response);
     }
 
@@ -200,9 +240,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importUsers() {
+    public ResponseEntity<ImportResponseDto> importUsers(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import users");
-        ImportResponseDto response = dataImportService.importUsers();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importUsers());
         return getResponseEntity(response);
     }
 
@@ -213,9 +255,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importCorrespondences() {
+    public ResponseEntity<ImportResponseDto> importCorrespondences(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondences");
-        ImportResponseDto response = dataImportService.importCorrespondences();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondences());
         return getResponseEntity(response);
     }
 
@@ -228,9 +272,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceAttachments(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence attachments for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceAttachments(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceAttachments(docGuid));
         return getResponseEntity(response);
     }
 
@@ -242,9 +288,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceComments(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence comments for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceComments(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceComments(docGuid));
         return getResponseEntity(response);
     }
 
@@ -256,9 +304,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceCopyTos(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence copy tos for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceCopyTos(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceCopyTos(docGuid));
         return getResponseEntity(response);
     }
 
@@ -270,9 +320,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceCurrentDepartments(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence current departments for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceCurrentDepartments(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceCurrentDepartments(docGuid));
         return getResponseEntity(response);
     }
 
@@ -284,9 +336,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceCurrentPositions(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence current positions for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceCurrentPositions(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceCurrentPositions(docGuid));
         return getResponseEntity(response);
     }
 
@@ -298,9 +352,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceCurrentUsers(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence current users for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceCurrentUsers(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceCurrentUsers(docGuid));
         return getResponseEntity(response);
     }
 
@@ -312,9 +368,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceCustomFields(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence custom fields for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceCustomFields(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceCustomFields(docGuid));
         return getResponseEntity(response);
     }
 
@@ -326,9 +384,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceLinks(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence links for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceLinks(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceLinks(docGuid));
         return getResponseEntity(response);
     }
 
@@ -340,9 +400,11 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceSendTos(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence send tos for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceSendTos(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceSendTos(docGuid));
         return getResponseEntity(response);
     }
 
@@ -354,41 +416,27 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importCorrespondenceTransactions(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import correspondence transactions for doc: {}", docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceTransactions(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> dataImportService.importCorrespondenceTransactions(docGuid));
         return getResponseEntity(response);
     }
 
     @PostMapping("/basic-entities")
-    @Operation(summary = "Import All Basic Entities", description = "Import all basic entity types from source API")
+    @Operation(summary = "Import All Basic Entities", 
+               description = "Import all basic entity types from source API, running independent imports concurrently and dependent ones in order")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Import completed successfully"),
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importBasicEntities() {
+    public ResponseEntity<ImportReportDto> importBasicEntities(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import all basic entities");
-        
-        // Import all basic entities in logical order
-        dataImportService.importClassifications();
-        dataImportService.importContacts();
-        dataImportService.importDecisions();
-        dataImportService.importDepartments();
-        dataImportService.importForms();
-        dataImportService.importFormTypes();
-        dataImportService.importImportance();
-        dataImportService.importPositions();
-        dataImportService.importPosRoles();
-        dataImportService.importPriority();
-        dataImportService.importRoles();
-        dataImportService.importSecrecy();
-        dataImportService.importUserPositions();
-        dataImportService.importUsers();
-        
-        // Finally import correspondences
-        ImportResponseDto response = dataImportService.importCorrespondences();
-        
+        ImportReportDto response = dryRunService.run(dryRun, 100,
+                () -> basicEntityImportScheduler.importBasicEntities());
         return getResponseEntity(response);
     }
 
@@ -400,20 +448,23 @@ public class DataImportController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importAllCorrespondenceRelated(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import all correspondence-related data for doc: {}", docGuid);
         
         // Import all correspondence-related entities
-        dataImportService.importCorrespondenceAttachments(docGuid);
-        dataImportService.importCorrespondenceComments(docGuid);
-        dataImportService.importCorrespondenceCopyTos(docGuid);
-        dataImportService.importCorrespondenceCurrentDepartments(docGuid);
-        dataImportService.importCorrespondenceCurrentPositions(docGuid);
-        dataImportService.importCorrespondenceCurrentUsers(docGuid);
-        dataImportService.importCorrespondenceCustomFields(docGuid);
-        dataImportService.importCorrespondenceLinks(docGuid);
-        dataImportService.importCorrespondenceSendTos(docGuid);
-        ImportResponseDto response = dataImportService.importCorrespondenceTransactions(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100, () -> {
+            dataImportService.importCorrespondenceAttachments(docGuid);
+            dataImportService.importCorrespondenceComments(docGuid);
+            dataImportService.importCorrespondenceCopyTos(docGuid);
+            dataImportService.importCorrespondenceCurrentDepartments(docGuid);
+            dataImportService.importCorrespondenceCurrentPositions(docGuid);
+            dataImportService.importCorrespondenceCurrentUsers(docGuid);
+            dataImportService.importCorrespondenceCustomFields(docGuid);
+            dataImportService.importCorrespondenceLinks(docGuid);
+            dataImportService.importCorrespondenceSendTos(docGuid);
+            return dataImportService.importCorrespondenceTransactions(docGuid);
+        });
         
         return getResponseEntity(response);
     }
@@ -426,12 +477,40 @@ public class DataImportController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importAllCorrespondencesWithRelated() {
+    public ResponseEntity<ImportResponseDto> importAllCorrespondencesWithRelated(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun,
+            @Parameter(description = "Percentage of documents to import, chosen deterministically by GUID") @RequestParam(defaultValue = "100") double samplePercent) {
         logger.info("Received request to import all correspondences with related data");
-        ImportResponseDto response = dataImportService.importAllCorrespondencesWithRelated();
+        ImportResponseDto response = dryRunService.run(dryRun, samplePercent,
+                () -> dataImportService.importAllCorrespondencesWithRelated());
         return getResponseEntity(response);
     }
-    private ResponseEntity<ImportResponseDto> getResponseEntity(ImportResponseDto response) {
+
+    @GetMapping("/attachment-lane")
+    @Operation(summary = "Attachment Lane Status",
+               description = "Queue counts and throughput of the deferred attachment lane")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status returned"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<AttachmentLaneStatusDto> getAttachmentLaneStatus() {
+        return ResponseEntity.ok(attachmentLane.status());
+    }
+
+    @PostMapping("/attachment-lane/retry-failed")
+    @Operation(summary = "Retry Failed Attachments",
+               description = "Puts every document whose attachments used up their attempts back in the attachment lane")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Failed documents re-queued"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<AttachmentLaneStatusDto> retryFailedAttachments() {
+        logger.info("Received request to retry failed attachment fetches");
+        attachmentLane.retryFailed();
+        return ResponseEntity.ok(attachmentLane.status());
+    }
+
+    private <T extends ImportResponseDto> ResponseEntity<T> getResponseEntity(T response) {
         if ("ERROR".equals(response.getStatus())) {
             return ResponseEntity.badRequest().body(response);
         } else {
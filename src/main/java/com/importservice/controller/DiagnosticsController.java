@@ -0,0 +1,288 @@
+package com.importservice.controller;
+
+import com.importservice.dto.BindingBenchmarkReportDto;
+import com.importservice.dto.BulkheadStatsDto;
+import com.importservice.dto.DocumentRetryStatusDto;
+import com.importservice.dto.DurableQueueStatsDto;
+import com.importservice.dto.FlightRecordingDto;
+import com.importservice.dto.GuidStorageReportDto;
+import com.importservice.dto.LatencyReportDto;
+import com.importservice.dto.PartitionLeaseStatusDto;
+import com.importservice.dto.PipelineStageStatsDto;
+import com.importservice.dto.SourceRateLimitStatusDto;
+import com.importservice.dto.WriteBehindLaneStatsDto;
+import com.importservice.service.BulkheadRegistry;
+import com.importservice.service.DocumentRetryQueue;
+import com.importservice.service.DurableFetchQueue;
+import com.importservice.service.FlightRecordingService;
+import com.importservice.service.GuidStorageBenchmark;
+import com.importservice.service.ImportPipeline;
+import com.importservice.service.JsonBindingBenchmark;
+import com.importservice.service.LatencyTracker;
+import com.importservice.service.PartitionLeases;
+import com.importservice.service.SourceRateLimiter;
+import com.importservice.service.WriteBehindBuffer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@Tag(name = "Diagnostics Controller", description = "Storage and performance diagnostics")
+public class DiagnosticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsController.class);
+
+    @Autowired
+    private GuidStorageBenchmark guidStorageBenchmark;
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
+    @Autowired
+    private LatencyTracker latencyTracker;
+
+    @Autowired
+    private JsonBindingBenchmark jsonBindingBenchmark;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private ImportPipeline importPipeline;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private DurableFetchQueue durableFetchQueue;
+
+    @Autowired
+    private PartitionLeases partitionLeases;
+
+    @Autowired
+    private SourceRateLimiter sourceRateLimiter;
+
+    @Autowired
+    private DocumentRetryQueue documentRetryQueue;
+
+    @PostMapping("/guid-storage")
+    @Operation(summary = "GUID Storage Benchmark",
+               description = "Analyzes every GUID-keyed table and reports its index sizes and key lookup latency under the current storage mode; " +
+                             "needs import.diagnostics.guid-benchmark.enabled=true, and caps doc_guid lookups where doc_guid has no index")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Benchmark completed"),
+        @ApiResponse(responseCode = "403", description = "The benchmark is not enabled"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<GuidStorageReportDto> guidStorage(
+            @Parameter(description = "Number of keys to look up per table") @RequestParam(defaultValue = "200") int samples) {
+        if (!guidStorageBenchmark.isEnabled()) {
+            logger.warn("Rejected GUID storage benchmark request: import.diagnostics.guid-benchmark.enabled is false");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        logger.info("Received request to benchmark GUID storage with {} samples per table", samples);
+        return ResponseEntity.ok(guidStorageBenchmark.run(Math.max(1, samples)));
+    }
+
+    @GetMapping("/json-binding")
+    @Operation(summary = "JSON Binding Benchmark",
+               description = "Binds a synthetic Correspondence payload with the previous convertValue path, cached readers, cached readers with Afterburner, and the generated reader")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Benchmark completed"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BindingBenchmarkReportDto> jsonBinding(
+            @Parameter(description = "Items in the payload") @RequestParam(defaultValue = "5000") int records,
+            @Parameter(description = "Timed iterations per variant") @RequestParam(defaultValue = "20") int iterations) throws IOException {
+        logger.info("Received request to benchmark JSON binding with {} records, {} iterations", records, iterations);
+        return ResponseEntity.ok(jsonBindingBenchmark.run(records, iterations));
+    }
+
+    @GetMapping("/latency")
+    @Operation(summary = "Import Latency Report",
+               description = "p50/p90/p99/max per source endpoint and write target over the sliding window, and the slowest documents")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Report returned")
+    })
+    public ResponseEntity<LatencyReportDto> latency() {
+        return ResponseEntity.ok(latencyTracker.report());
+    }
+
+    @DeleteMapping("/latency")
+    @Operation(summary = "Reset Import Latency Report", description = "Clears the latency windows and the slowest-documents list")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Report cleared")
+    })
+    public ResponseEntity<Void> resetLatency() {
+        logger.info("Received request to reset latency statistics");
+        latencyTracker.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/bulkheads")
+    @Operation(summary = "Bulkhead Saturation",
+               description = "Running, queued and rejected imports and queue wait per related-entity bulkhead since startup")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Metrics returned")
+    })
+    public ResponseEntity<List<BulkheadStatsDto>> bulkheads() {
+        return ResponseEntity.ok(bulkheadRegistry.stats());
+    }
+
+    @GetMapping("/pipeline")
+    @Operation(summary = "Import Pipeline Stages",
+               description = "Threads, queue depth and backpressure of the fetch, bind, enrich and write stages since startup")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Metrics returned")
+    })
+    public ResponseEntity<List<PipelineStageStatsDto>> pipeline() {
+        return ResponseEntity.ok(importPipeline.stats());
+    }
+
+    @GetMapping("/write-behind")
+    @Operation(summary = "Write-behind Buffer",
+               description = "Buffered rows, flush sizes and fallbacks per table of the write-behind buffer since startup")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Metrics returned")
+    })
+    public ResponseEntity<List<WriteBehindLaneStatsDto>> writeBehind() {
+        return ResponseEntity.ok(writeBehindBuffer.stats());
+    }
+
+    @GetMapping("/durable-queue")
+    @Operation(summary = "Durable Fetch Queue",
+               description = "Segments on disk, pending responses and replays of the durable fetch queue since startup")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Metrics returned")
+    })
+    public ResponseEntity<DurableQueueStatsDto> durableQueue() {
+        return ResponseEntity.ok(durableFetchQueue.stats());
+    }
+
+    @GetMapping("/partitions")
+    @Operation(summary = "Partition Leases",
+               description = "Pending, leased and finished partitions of the shared related-data import run, and the ones this instance holds")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status returned"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<PartitionLeaseStatusDto> partitions() {
+        return ResponseEntity.ok(partitionLeases.status());
+    }
+
+    @GetMapping("/source-rate")
+    @Operation(summary = "Source API Quota",
+               description = "Shared source API quota as stored in the database, and the tokens this instance has leased and waited for")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status returned"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<SourceRateLimitStatusDto> sourceRate() {
+        return ResponseEntity.ok(sourceRateLimiter.status());
+    }
+
+    @GetMapping("/document-retries")
+    @Operation(summary = "Deferred Document Retries",
+               description = "Failed documents waiting for a retry, imported by one, or out of attempts, and the retries run since startup")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status returned"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<DocumentRetryStatusDto> documentRetries() {
+        return ResponseEntity.ok(documentRetryQueue.status());
+    }
+
+    @PostMapping("/jfr/start")
+    @Operation(summary = "Start JFR Recording",
+               description = "Starts a Flight Recorder recording with the import stage events (fetch, parse, bind, write, flush, commit) enabled")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording started"),
+        @ApiResponse(responseCode = "409", description = "A recording is already running or JFR is unavailable"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<FlightRecordingDto> startRecording(
+            @Parameter(description = "JFR settings: default or profile") @RequestParam(required = false) String settings) {
+        logger.info("Received request to start a Flight Recorder recording");
+        try {
+            return ResponseEntity.ok(flightRecordingService.start(settings));
+        } catch (IllegalStateException e) {
+            return conflict(e);
+        } catch (Exception e) {
+            logger.error("Failed to start Flight Recorder recording", e);
+            return ResponseEntity.internalServerError().body(withMessage(e));
+        }
+    }
+
+    @PostMapping("/jfr/stop")
+    @Operation(summary = "Stop JFR Recording", description = "Stops the running recording and writes it to a .jfr file")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording stopped and written"),
+        @ApiResponse(responseCode = "409", description = "No recording is running"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<FlightRecordingDto> stopRecording() {
+        logger.info("Received request to stop the Flight Recorder recording");
+        try {
+            return ResponseEntity.ok(flightRecordingService.stop());
+        } catch (IllegalStateException e) {
+            return conflict(e);
+        } catch (Exception e) {
+            logger.error("Failed to stop Flight Recorder recording", e);
+            return ResponseEntity.internalServerError().body(withMessage(e));
+        }
+    }
+
+    @GetMapping("/jfr")
+    @Operation(summary = "JFR Recording Status", description = "State of the current or last Flight Recorder recording")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status returned")
+    })
+    public ResponseEntity<FlightRecordingDto> recordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.getStatus());
+    }
+
+    @GetMapping("/jfr/download")
+    @Operation(summary = "Download JFR Recording", description = "Downloads the .jfr file of the last stopped recording")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording file"),
+        @ApiResponse(responseCode = "404", description = "No stopped recording")
+    })
+    public ResponseEntity<Resource> downloadRecording() {
+        Path file = flightRecordingService.getLastRecordingFile();
+        if (file == null || !Files.exists(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+
+    private ResponseEntity<FlightRecordingDto> conflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(withMessage(e));
+    }
+
+    private FlightRecordingDto withMessage(Exception e) {
+        FlightRecordingDto status = flightRecordingService.getStatus();
+        status.setMessage(e.getMessage());
+        return status;
+    }
+}
@@ -0,0 +1,68 @@
+package com.importservice.controller;
+
+import com.importservice.dto.ImportProgressEventDto;
+import com.importservice.service.ImportProgressRegistry;
+import com.importservice.service.ImportProgressStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/import-progress")
+@Tag(name = "Import Progress Controller", description = "Progress of running and recent import runs")
+public class ImportProgressController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportProgressController.class);
+
+    @Autowired
+    private ImportProgressRegistry importProgressRegistry;
+
+    @Autowired
+    private ImportProgressStream importProgressStream;
+
+    @GetMapping
+    @Operation(summary = "List Import Runs", description = "Snapshots of running and recently finished import runs, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Runs listed")
+    })
+    public ResponseEntity<List<ImportProgressEventDto>> listRuns() {
+        return ResponseEntity.ok(importProgressRegistry.snapshots());
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Import Run Progress", description = "Current progress snapshot of one import run")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshot returned"),
+        @ApiResponse(responseCode = "404", description = "No such run")
+    })
+    public ResponseEntity<ImportProgressEventDto> getRun(
+            @Parameter(description = "Run ID, or 'latest'") @PathVariable String runId) {
+        ImportProgressEventDto snapshot = importProgressRegistry.snapshot(runId);
+        return snapshot != null ? ResponseEntity.ok(snapshot) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/{runId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Import Run Progress",
+               description = "Server-Sent Events with periodic 'progress' snapshots and a final 'finished' event")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "404", description = "No such run")
+    })
+    public ResponseEntity<SseEmitter> streamRun(
+            @Parameter(description = "Run ID, or 'latest'") @PathVariable String runId) {
+        logger.info("Received request to stream progress of import run: {}", runId);
+        SseEmitter emitter = importProgressStream.subscribe(runId);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+}
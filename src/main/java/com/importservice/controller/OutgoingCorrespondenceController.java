@@ -1,6 +1,7 @@
 package com.importservice.controller;
 
 import com.importservice.dto.ImportResponseDto;
+import com.importservice.service.DryRunService;
 import com.importservice.service.OutgoingCorrespondenceImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +24,9 @@ public class OutgoingCorrespondenceController {
     @Autowired
     private OutgoingCorrespondenceImportService outgoingCorrespondenceImportService;
 
+    @Autowired
+    private DryRunService dryRunService;
+
     @PostMapping("/correspondences")
     @Operation(summary = "Import Outgoing Correspondences", description = "Import outgoing correspondence data from source API")
     @ApiResponses(value = {
@@ -30,9 +34,11 @@ public class OutgoingCorrespondenceController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importOutgoingCorrespondences() {
+    public ResponseEntity<ImportResponseDto> importOutgoingCorrespondences(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import outgoing correspondences");
-        ImportResponseDto response = outgoingCorrespondenceImportService.importOutgoingCorrespondences();
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> outgoingCorrespondenceImportService.importOutgoingCorrespondences());
         return getResponseEntity(response);
     }
 
@@ -44,9 +50,11 @@ public class OutgoingCorrespondenceController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importOutgoingCorrespondenceBusinessLogs(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import outgoing correspondence business logs for doc: {}", docGuid);
-        ImportResponseDto response = outgoingCorrespondenceImportService.importOutgoingCorrespondenceBusinessLogs(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> outgoingCorrespondenceImportService.importOutgoingCorrespondenceBusinessLogs(docGuid));
         return getResponseEntity(response);
     }
 
@@ -58,9 +66,11 @@ public class OutgoingCorrespondenceController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importOutgoingCorrespondenceComments(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import outgoing correspondence comments for doc: {}", docGuid);
-        ImportResponseDto response = outgoingCorrespondenceImportService.importOutgoingCorrespondenceComments(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> outgoingCorrespondenceImportService.importOutgoingCorrespondenceComments(docGuid));
         return getResponseEntity(response);
     }
 
@@ -72,9 +82,11 @@ public class OutgoingCorrespondenceController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importOutgoingCorrespondenceClosings(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import outgoing correspondence closings for doc: {}", docGuid);
-        ImportResponseDto response = outgoingCorrespondenceImportService.importOutgoingCorrespondenceClosings(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> outgoingCorrespondenceImportService.importOutgoingCorrespondenceClosings(docGuid));
         return getResponseEntity(response);
     }
 
@@ -86,9 +98,11 @@ public class OutgoingCorrespondenceController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ImportResponseDto> importAllOutgoingCorrespondenceRelated(
-            @Parameter(description = "Document GUID") @PathVariable String docGuid) {
+            @Parameter(description = "Document GUID") @PathVariable String docGuid,
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun) {
         logger.info("Received request to import all outgoing correspondence-related data for doc: {}", docGuid);
-        ImportResponseDto response = outgoingCorrespondenceImportService.importAllOutgoingCorrespondenceRelated(docGuid);
+        ImportResponseDto response = dryRunService.run(dryRun, 100,
+                () -> outgoingCorrespondenceImportService.importAllOutgoingCorrespondenceRelated(docGuid));
         return getResponseEntity(response);
     }
 
@@ -100,9 +114,12 @@ public class OutgoingCorrespondenceController {
         @ApiResponse(responseCode = "400", description = "Import failed with errors"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ImportResponseDto> importAllOutgoingCorrespondencesWithRelated() {
+    public ResponseEntity<ImportResponseDto> importAllOutgoingCorrespondencesWithRelated(
+            @Parameter(description = "Fetch and parse only; skip all repository writes") @RequestParam(defaultValue = "false") boolean dryRun,
+            @Parameter(description = "Percentage of documents to import, chosen deterministically by GUID") @RequestParam(defaultValue = "100") double samplePercent) {
         logger.info("Received request to import all outgoing correspondences with related data");
-        ImportResponseDto response = outgoingCorrespondenceImportService.importAllOutgoingCorrespondencesWithRelated();
+        ImportResponseDto response = dryRunService.run(dryRun, samplePercent,
+                () -> outgoingCorrespondenceImportService.importAllOutgoingCorrespondencesWithRelated());
         return getResponseEntity(response);
     }
 
@@ -0,0 +1,120 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of the deferred attachment lane: queue counts and throughput since startup")
+public class AttachmentLaneStatusDto {
+
+    @Schema(description = "Attachment import mode", example = "deferred")
+    private String mode;
+
+    @Schema(description = "Attachment fetches the lane runs at once", example = "4")
+    private Integer concurrency;
+
+    @Schema(description = "Bandwidth cap of the lane, 0 for none", example = "20.0")
+    private Double maxMegabytesPerSecond;
+
+    @Schema(description = "Documents waiting for their attachments, including those waiting for a retry", example = "1250")
+    private Long pending;
+
+    @Schema(description = "Documents whose attachments are being fetched now", example = "4")
+    private Integer inFlight;
+
+    @Schema(description = "Documents whose attachments are imported", example = "48210")
+    private Long done;
+
+    @Schema(description = "Documents that used up their attempts", example = "3")
+    private Long failed;
+
+    @Schema(description = "Attachment responses fetched since startup", example = "48213")
+    private Long documentsFetched;
+
+    @Schema(description = "Attachment response bytes fetched since startup", example = "9663676416")
+    private Long bytesFetched;
+
+    @Schema(description = "Failed fetches or writes rescheduled since startup", example = "17")
+    private Long retriesScheduled;
+
+    public AttachmentLaneStatusDto() {
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Double getMaxMegabytesPerSecond() {
+        return maxMegabytesPerSecond;
+    }
+
+    public void setMaxMegabytesPerSecond(Double maxMegabytesPerSecond) {
+        this.maxMegabytesPerSecond = maxMegabytesPerSecond;
+    }
+
+    public Long getPending() {
+        return pending;
+    }
+
+    public void setPending(Long pending) {
+        this.pending = pending;
+    }
+
+    public Integer getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(Integer inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public Long getDone() {
+        return done;
+    }
+
+    public void setDone(Long done) {
+        this.done = done;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+
+    public Long getDocumentsFetched() {
+        return documentsFetched;
+    }
+
+    public void setDocumentsFetched(Long documentsFetched) {
+        this.documentsFetched = documentsFetched;
+    }
+
+    public Long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    public void setBytesFetched(Long bytesFetched) {
+        this.bytesFetched = bytesFetched;
+    }
+
+    public Long getRetriesScheduled() {
+        return retriesScheduled;
+    }
+
+    public void setRetriesScheduled(Long retriesScheduled) {
+        this.retriesScheduled = retriesScheduled;
+    }
+}
@@ -0,0 +1,78 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Data binding benchmark on a synthetic source API payload")
+public class BindingBenchmarkReportDto {
+
+    @Schema(description = "Entity type the payload binds to", example = "Correspondence")
+    private String entityName;
+
+    @Schema(description = "Items in the payload's Data list", example = "5000")
+    private Integer records;
+
+    @Schema(description = "Payload size in bytes (UTF-8)", example = "4200000")
+    private Long payloadBytes;
+
+    @Schema(description = "Unmeasured iterations per variant before timing", example = "20")
+    private Integer warmupIterations;
+
+    @Schema(description = "Timed iterations per variant", example = "50")
+    private Integer iterations;
+
+    @Schema(description = "Throughput per binding variant, the previous path first")
+    private List<BindingBenchmarkResultDto> results = new ArrayList<>();
+
+    public BindingBenchmarkReportDto() {
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Integer getRecords() {
+        return records;
+    }
+
+    public void setRecords(Integer records) {
+        this.records = records;
+    }
+
+    public Long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    public void setPayloadBytes(Long payloadBytes) {
+        this.payloadBytes = payloadBytes;
+    }
+
+    public Integer getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public void setWarmupIterations(Integer warmupIterations) {
+        this.warmupIterations = warmupIterations;
+    }
+
+    public Integer getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(Integer iterations) {
+        this.iterations = iterations;
+    }
+
+    public List<BindingBenchmarkResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BindingBenchmarkResultDto> results) {
+        this.results = results;
+    }
+}
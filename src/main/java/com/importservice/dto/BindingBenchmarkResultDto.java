@@ -0,0 +1,65 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Binding throughput of one binding variant")
+public class BindingBenchmarkResultDto {
+
+    @Schema(description = "Binding path and mapper configuration", example = "cached-readers+afterburner")
+    private String variant;
+
+    @Schema(description = "Mean time to bind the whole payload once, in milliseconds", example = "41.7")
+    private Double millisPerIteration;
+
+    @Schema(description = "Records bound per second", example = "119904.1")
+    private Double recordsPerSecond;
+
+    @Schema(description = "Payload megabytes bound per second", example = "96.3")
+    private Double megabytesPerSecond;
+
+    @Schema(description = "Throughput relative to the previous binding path", example = "2.8")
+    private Double speedup;
+
+    public BindingBenchmarkResultDto() {
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public Double getMillisPerIteration() {
+        return millisPerIteration;
+    }
+
+    public void setMillisPerIteration(Double millisPerIteration) {
+        this.millisPerIteration = millisPerIteration;
+    }
+
+    public Double getRecordsPerSecond() {
+        return recordsPerSecond;
+    }
+
+    public void setRecordsPerSecond(Double recordsPerSecond) {
+        this.recordsPerSecond = recordsPerSecond;
+    }
+
+    public Double getMegabytesPerSecond() {
+        return megabytesPerSecond;
+    }
+
+    public void setMegabytesPerSecond(Double megabytesPerSecond) {
+        this.megabytesPerSecond = megabytesPerSecond;
+    }
+
+    public Double getSpeedup() {
+        return speedup;
+    }
+
+    public void setSpeedup(Double speedup) {
+        this.speedup = speedup;
+    }
+}
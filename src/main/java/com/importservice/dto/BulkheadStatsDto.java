@@ -0,0 +1,197 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Saturation metrics of one related-entity bulkhead since startup")
+public class BulkheadStatsDto {
+
+    @Schema(description = "Related-entity type the lane imports", example = "CorrespondenceTransactions")
+    private String name;
+
+    @Schema(description = "Imports the lane runs at once", example = "16")
+    private Integer concurrency;
+
+    @Schema(description = "Imports the lane queues before submitters wait for space", example = "1000")
+    private Integer queueCapacity;
+
+    @Schema(description = "Imports running now", example = "16")
+    private Integer active;
+
+    @Schema(description = "Imports waiting now", example = "212")
+    private Integer queued;
+
+    @Schema(description = "Most imports waiting at once since startup", example = "640")
+    private Integer peakQueued;
+
+    @Schema(description = "Imports accepted since startup", example = "48210")
+    private Long submitted;
+
+    @Schema(description = "Imports that returned a result", example = "48000")
+    private Long completed;
+
+    @Schema(description = "Imports that threw", example = "2")
+    private Long failed;
+
+    @Schema(description = "Imports refused because the lane was shut down", example = "0")
+    private Long rejected;
+
+    @Schema(description = "Submissions that found the queue full and waited for space", example = "120")
+    private Long blockedSubmissions;
+
+    @Schema(description = "Total time submitters waited for queue space", example = "5400.0")
+    private Double blockedMs;
+
+    @Schema(description = "Accepted imports that found every thread busy and had to queue", example = "31020")
+    private Long saturatedSubmissions;
+
+    @Schema(description = "Share of submissions that queued, waited for space or were rejected", example = "64.3")
+    private Double saturationPercent;
+
+    @Schema(description = "Average time an import waited for a thread", example = "85.2")
+    private Double averageQueueWaitMs;
+
+    @Schema(description = "Longest time an import waited for a thread", example = "1930.0")
+    private Double maxQueueWaitMs;
+
+    @Schema(description = "Average time an import ran", example = "41.7")
+    private Double averageRunMs;
+
+    public BulkheadStatsDto() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Integer getActive() {
+        return active;
+    }
+
+    public void setActive(Integer active) {
+        this.active = active;
+    }
+
+    public Integer getQueued() {
+        return queued;
+    }
+
+    public void setQueued(Integer queued) {
+        this.queued = queued;
+    }
+
+    public Integer getPeakQueued() {
+        return peakQueued;
+    }
+
+    public void setPeakQueued(Integer peakQueued) {
+        this.peakQueued = peakQueued;
+    }
+
+    public Long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(Long submitted) {
+        this.submitted = submitted;
+    }
+
+    public Long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Long completed) {
+        this.completed = completed;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getBlockedSubmissions() {
+        return blockedSubmissions;
+    }
+
+    public void setBlockedSubmissions(Long blockedSubmissions) {
+        this.blockedSubmissions = blockedSubmissions;
+    }
+
+    public Double getBlockedMs() {
+        return blockedMs;
+    }
+
+    public void setBlockedMs(Double blockedMs) {
+        this.blockedMs = blockedMs;
+    }
+
+    public Long getSaturatedSubmissions() {
+        return saturatedSubmissions;
+    }
+
+    public void setSaturatedSubmissions(Long saturatedSubmissions) {
+        this.saturatedSubmissions = saturatedSubmissions;
+    }
+
+    public Double getSaturationPercent() {
+        return saturationPercent;
+    }
+
+    public void setSaturationPercent(Double saturationPercent) {
+        this.saturationPercent = saturationPercent;
+    }
+
+    public Double getAverageQueueWaitMs() {
+        return averageQueueWaitMs;
+    }
+
+    public void setAverageQueueWaitMs(Double averageQueueWaitMs) {
+        this.averageQueueWaitMs = averageQueueWaitMs;
+    }
+
+    public Double getMaxQueueWaitMs() {
+        return maxQueueWaitMs;
+    }
+
+    public void setMaxQueueWaitMs(Double maxQueueWaitMs) {
+        this.maxQueueWaitMs = maxQueueWaitMs;
+    }
+
+    public Double getAverageRunMs() {
+        return averageRunMs;
+    }
+
+    public void setAverageRunMs(Double averageRunMs) {
+        this.averageRunMs = averageRunMs;
+    }
+}
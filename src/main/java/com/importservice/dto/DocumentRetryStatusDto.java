@@ -0,0 +1,98 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of the deferred document retry queue: queue counts and retries since startup")
+public class DocumentRetryStatusDto {
+
+    @Schema(description = "Whether failed documents are queued for deferred retries", example = "true")
+    private Boolean enabled;
+
+    @Schema(description = "Attempts per document, the first inline one included", example = "4")
+    private Integer maxAttempts;
+
+    @Schema(description = "Documents waiting for a retry", example = "12")
+    private Long pending;
+
+    @Schema(description = "Documents imported by a retry", example = "340")
+    private Long done;
+
+    @Schema(description = "Documents that used up their attempts", example = "2")
+    private Long failed;
+
+    @Schema(description = "Failed documents queued since startup", example = "354")
+    private Long deferred;
+
+    @Schema(description = "Retry attempts run since startup", example = "410")
+    private Long retried;
+
+    @Schema(description = "Retry attempts that imported their document since startup", example = "340")
+    private Long recovered;
+
+    public DocumentRetryStatusDto() {
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(Integer maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Long getPending() {
+        return pending;
+    }
+
+    public void setPending(Long pending) {
+        this.pending = pending;
+    }
+
+    public Long getDone() {
+        return done;
+    }
+
+    public void setDone(Long done) {
+        this.done = done;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+
+    public Long getDeferred() {
+        return deferred;
+    }
+
+    public void setDeferred(Long deferred) {
+        this.deferred = deferred;
+    }
+
+    public Long getRetried() {
+        return retried;
+    }
+
+    public void setRetried(Long retried) {
+        this.retried = retried;
+    }
+
+    public Long getRecovered() {
+        return recovered;
+    }
+
+    public void setRecovered(Long recovered) {
+        this.recovered = recovered;
+    }
+}
@@ -0,0 +1,120 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Source volume and parse results for one entity type in a dry run")
+public class DryRunEntityStatsDto {
+
+    @Schema(description = "Entity type, which also identifies the source endpoint", example = "CorrespondenceAttachments")
+    private String entityName;
+
+    @Schema(description = "Number of source responses fetched", example = "1200")
+    private Long responses;
+
+    @Schema(description = "Response body volume in bytes (UTF-8)", example = "48234496")
+    private Long bytes;
+
+    @Schema(description = "Records bound from the responses", example = "5310")
+    private Long records;
+
+    @Schema(description = "Responses or records that could not be parsed", example = "2")
+    private Long parseFailures;
+
+    @Schema(description = "Bound records that would have been rejected by the writer", example = "0")
+    private Long validationFailures;
+
+    @Schema(description = "Time spent fetching, summed over concurrent requests, in milliseconds", example = "86400.0")
+    private Double fetchMillis;
+
+    @Schema(description = "Time spent parsing and binding, summed over threads, in milliseconds", example = "2310.5")
+    private Double parseMillis;
+
+    @Schema(description = "Records bound per second of parse time", example = "2298.2")
+    private Double parseRecordsPerSecond;
+
+    @Schema(description = "Megabytes parsed per second of parse time", example = "19.9")
+    private Double parseMegabytesPerSecond;
+
+    public DryRunEntityStatsDto() {
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getResponses() {
+        return responses;
+    }
+
+    public void setResponses(Long responses) {
+        this.responses = responses;
+    }
+
+    public Long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(Long bytes) {
+        this.bytes = bytes;
+    }
+
+    public Long getRecords() {
+        return records;
+    }
+
+    public void setRecords(Long records) {
+        this.records = records;
+    }
+
+    public Long getParseFailures() {
+        return parseFailures;
+    }
+
+    public void setParseFailures(Long parseFailures) {
+        this.parseFailures = parseFailures;
+    }
+
+    public Long getValidationFailures() {
+        return validationFailures;
+    }
+
+    public void setValidationFailures(Long validationFailures) {
+        this.validationFailures = validationFailures;
+    }
+
+    public Double getFetchMillis() {
+        return fetchMillis;
+    }
+
+    public void setFetchMillis(Double fetchMillis) {
+        this.fetchMillis = fetchMillis;
+    }
+
+    public Double getParseMillis() {
+        return parseMillis;
+    }
+
+    public void setParseMillis(Double parseMillis) {
+        this.parseMillis = parseMillis;
+    }
+
+    public Double getParseRecordsPerSecond() {
+        return parseRecordsPerSecond;
+    }
+
+    public void setParseRecordsPerSecond(Double parseRecordsPerSecond) {
+        this.parseRecordsPerSecond = parseRecordsPerSecond;
+    }
+
+    public Double getParseMegabytesPerSecond() {
+        return parseMegabytesPerSecond;
+    }
+
+    public void setParseMegabytesPerSecond(Double parseMegabytesPerSecond) {
+        this.parseMegabytesPerSecond = parseMegabytesPerSecond;
+    }
+}
@@ -0,0 +1,111 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Source throughput and parse report of a dry or sampled run")
+public class DryRunReportDto {
+
+    @Schema(description = "Whether writes were skipped", example = "true")
+    private boolean dryRun;
+
+    @Schema(description = "Percentage of documents included in the run", example = "10.0")
+    private Double samplePercent;
+
+    @Schema(description = "Documents included by the sample", example = "1843")
+    private Long documentsSampled;
+
+    @Schema(description = "Documents left out by the sample", example = "16587")
+    private Long documentsSkipped;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "61230")
+    private Long wallClockMillis;
+
+    @Schema(description = "Response body volume over all entity types in bytes", example = "412043264")
+    private Long totalBytes;
+
+    @Schema(description = "Records bound over all entity types", example = "48211")
+    private Long totalRecords;
+
+    @Schema(description = "Source volume per second of wall-clock time", example = "6.4")
+    private Double megabytesPerSecond;
+
+    @Schema(description = "Per-entity source volume and parse results")
+    private List<DryRunEntityStatsDto> entities = new ArrayList<>();
+
+    public DryRunReportDto() {
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public Double getSamplePercent() {
+        return samplePercent;
+    }
+
+    public void setSamplePercent(Double samplePercent) {
+        this.samplePercent = samplePercent;
+    }
+
+    public Long getDocumentsSampled() {
+        return documentsSampled;
+    }
+
+    public void setDocumentsSampled(Long documentsSampled) {
+        this.documentsSampled = documentsSampled;
+    }
+
+    public Long getDocumentsSkipped() {
+        return documentsSkipped;
+    }
+
+    public void setDocumentsSkipped(Long documentsSkipped) {
+        this.documentsSkipped = documentsSkipped;
+    }
+
+    public Long getWallClockMillis() {
+        return wallClockMillis;
+    }
+
+    public void setWallClockMillis(Long wallClockMillis) {
+        this.wallClockMillis = wallClockMillis;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public Long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Long totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public Double getMegabytesPerSecond() {
+        return megabytesPerSecond;
+    }
+
+    public void setMegabytesPerSecond(Double megabytesPerSecond) {
+        this.megabytesPerSecond = megabytesPerSecond;
+    }
+
+    public List<DryRunEntityStatsDto> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<DryRunEntityStatsDto> entities) {
+        this.entities = entities;
+    }
+}
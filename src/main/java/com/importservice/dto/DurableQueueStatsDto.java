@@ -0,0 +1,153 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Segments, pending responses and replays of the durable fetch queue since startup")
+public class DurableQueueStatsDto {
+
+    @Schema(description = "Whether fetched responses are kept on disk", example = "true")
+    private Boolean enabled;
+
+    @Schema(description = "Directory holding the segment files", example = "/opt/importer/fetch-queue")
+    private String directory;
+
+    @Schema(description = "Segment files on disk now", example = "3")
+    private Integer segments;
+
+    @Schema(description = "Size of the segment files on disk now", example = "201326592")
+    private Long bytesOnDisk;
+
+    @Schema(description = "Responses not yet acknowledged, in flight or kept for replay", example = "412")
+    private Long pending;
+
+    @Schema(description = "Responses kept for the next import of their list", example = "12")
+    private Integer parked;
+
+    @Schema(description = "Responses appended since startup", example = "48210")
+    private Long appended;
+
+    @Schema(description = "Responses acknowledged since startup", example = "47810")
+    private Long acknowledged;
+
+    @Schema(description = "Pending responses found on disk at startup", example = "380")
+    private Long recovered;
+
+    @Schema(description = "Imports that bound a kept response instead of fetching it", example = "376")
+    private Long replayed;
+
+    @Schema(description = "Kept responses dropped for being older than the replay age", example = "4")
+    private Long expired;
+
+    @Schema(description = "Segments started since startup", example = "57")
+    private Long rolledSegments;
+
+    @Schema(description = "Segments deleted once all their responses were acknowledged", example = "55")
+    private Long deletedSegments;
+
+    public DurableQueueStatsDto() {
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Integer getSegments() {
+        return segments;
+    }
+
+    public void setSegments(Integer segments) {
+        this.segments = segments;
+    }
+
+    public Long getBytesOnDisk() {
+        return bytesOnDisk;
+    }
+
+    public void setBytesOnDisk(Long bytesOnDisk) {
+        this.bytesOnDisk = bytesOnDisk;
+    }
+
+    public Long getPending() {
+        return pending;
+    }
+
+    public void setPending(Long pending) {
+        this.pending = pending;
+    }
+
+    public Integer getParked() {
+        return parked;
+    }
+
+    public void setParked(Integer parked) {
+        this.parked = parked;
+    }
+
+    public Long getAppended() {
+        return appended;
+    }
+
+    public void setAppended(Long appended) {
+        this.appended = appended;
+    }
+
+    public Long getAcknowledged() {
+        return acknowledged;
+    }
+
+    public void setAcknowledged(Long acknowledged) {
+        this.acknowledged = acknowledged;
+    }
+
+    public Long getRecovered() {
+        return recovered;
+    }
+
+    public void setRecovered(Long recovered) {
+        this.recovered = recovered;
+    }
+
+    public Long getReplayed() {
+        return replayed;
+    }
+
+    public void setReplayed(Long replayed) {
+        this.replayed = replayed;
+    }
+
+    public Long getExpired() {
+        return expired;
+    }
+
+    public void setExpired(Long expired) {
+        this.expired = expired;
+    }
+
+    public Long getRolledSegments() {
+        return rolledSegments;
+    }
+
+    public void setRolledSegments(Long rolledSegments) {
+        this.rolledSegments = rolledSegments;
+    }
+
+    public Long getDeletedSegments() {
+        return deletedSegments;
+    }
+
+    public void setDeletedSegments(Long deletedSegments) {
+        this.deletedSegments = deletedSegments;
+    }
+}
@@ -0,0 +1,123 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Result and timing of one entity import within a scheduled import run")
+public class EntityImportReportDto {
+
+    @Schema(description = "Imported entity type", example = "Positions")
+    private String entityName;
+
+    @Schema(description = "Entity types that had to finish before this import started")
+    private List<String> dependsOn;
+
+    @Schema(description = "Import operation status", example = "SUCCESS")
+    private String status;
+
+    @Schema(description = "Descriptive message about the import result")
+    private String message;
+
+    @Schema(description = "Total number of records processed", example = "120")
+    private Integer totalRecords;
+
+    @Schema(description = "Number of successfully imported records", example = "120")
+    private Integer successfulImports;
+
+    @Schema(description = "Number of failed import attempts", example = "0")
+    private Integer failedImports;
+
+    @Schema(description = "Milliseconds between the start of the run and the start of this import", example = "0")
+    private Long startOffsetMillis;
+
+    @Schema(description = "Duration of this import in milliseconds", example = "1840")
+    private Long durationMillis;
+
+    public EntityImportReportDto() {
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public List<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Integer getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Integer totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public Integer getSuccessfulImports() {
+        return successfulImports;
+    }
+
+    public void setSuccessfulImports(Integer successfulImports) {
+        this.successfulImports = successfulImports;
+    }
+
+    public Integer getFailedImports() {
+        return failedImports;
+    }
+
+    public void setFailedImports(Integer failedImports) {
+        this.failedImports = failedImports;
+    }
+
+    public Long getStartOffsetMillis() {
+        return startOffsetMillis;
+    }
+
+    public void setStartOffsetMillis(Long startOffsetMillis) {
+        this.startOffsetMillis = startOffsetMillis;
+    }
+
+    public Long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(Long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityImportReportDto{" +
+                "entityName='" + entityName + '\'' +
+                ", status='" + status + '\'' +
+                ", totalRecords=" + totalRecords +
+                ", successfulImports=" + successfulImports +
+                ", failedImports=" + failedImports +
+                ", startOffsetMillis=" + startOffsetMillis +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@Schema(description = "State of the Flight Recorder recording used for import profiling")
+public class FlightRecordingDto {
+
+    @Schema(description = "NONE, RECORDING or STOPPED", example = "RECORDING")
+    private String status;
+
+    @Schema(description = "Recording name", example = "import-20261019-101500")
+    private String name;
+
+    @Schema(description = "JFR settings the recording was started with", example = "default")
+    private String settings;
+
+    @Schema(description = "When the recording started")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "When the recording stopped")
+    private LocalDateTime stoppedAt;
+
+    @Schema(description = "Path of the dumped .jfr file once stopped", example = "./jfr/import-20261019-101500.jfr")
+    private String file;
+
+    @Schema(description = "Size of the dumped .jfr file in bytes", example = "7340032")
+    private Long sizeBytes;
+
+    @Schema(description = "Why the last request could not be carried out", example = "No recording is running")
+    private String message;
+
+    public FlightRecordingDto() {
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getStoppedAt() {
+        return stoppedAt;
+    }
+
+    public void setStoppedAt(LocalDateTime stoppedAt) {
+        this.stoppedAt = stoppedAt;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
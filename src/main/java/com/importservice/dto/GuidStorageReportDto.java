@@ -0,0 +1,56 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "GUID storage mode with per-table index sizes and lookup latencies")
+public class GuidStorageReportDto {
+
+    @Schema(description = "Configured GUID storage mode", example = "binary")
+    private String storageMode;
+
+    @Schema(description = "Clustered index size summed over the reported tables", example = "524288000")
+    private Long totalDataBytes;
+
+    @Schema(description = "Secondary index size summed over the reported tables", example = "83886080")
+    private Long totalIndexBytes;
+
+    @Schema(description = "Per-table statistics")
+    private List<GuidTableStatsDto> tables = new ArrayList<>();
+
+    public GuidStorageReportDto() {
+    }
+
+    public String getStorageMode() {
+        return storageMode;
+    }
+
+    public void setStorageMode(String storageMode) {
+        this.storageMode = storageMode;
+    }
+
+    public Long getTotalDataBytes() {
+        return totalDataBytes;
+    }
+
+    public void setTotalDataBytes(Long totalDataBytes) {
+        this.totalDataBytes = totalDataBytes;
+    }
+
+    public Long getTotalIndexBytes() {
+        return totalIndexBytes;
+    }
+
+    public void setTotalIndexBytes(Long totalIndexBytes) {
+        this.totalIndexBytes = totalIndexBytes;
+    }
+
+    public List<GuidTableStatsDto> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<GuidTableStatsDto> tables) {
+        this.tables = tables;
+    }
+}
@@ -0,0 +1,153 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Storage size and key lookup latency of one GUID-keyed table")
+public class GuidTableStatsDto {
+
+    @Schema(description = "Table name", example = "correspondences")
+    private String tableName;
+
+    @Schema(description = "Primary key column", example = "guid")
+    private String keyColumn;
+
+    @Schema(description = "Declared type of the primary key column", example = "binary(16)")
+    private String keyColumnType;
+
+    @Schema(description = "Row count estimate from information_schema", example = "250000")
+    private Long rowEstimate;
+
+    @Schema(description = "Clustered index (table data) size in bytes", example = "52428800")
+    private Long dataBytes;
+
+    @Schema(description = "Size of all secondary indexes in bytes", example = "8388608")
+    private Long indexBytes;
+
+    @Schema(description = "Number of keys looked up", example = "200")
+    private Integer samples;
+
+    @Schema(description = "Average primary key lookup time in microseconds", example = "180.5")
+    private Double keyLookupAvgMicros;
+
+    @Schema(description = "95th percentile primary key lookup time in microseconds", example = "310.0")
+    private Double keyLookupP95Micros;
+
+    @Schema(description = "Average doc_guid lookup time in microseconds, when the table has doc_guid", example = "240.2")
+    private Double docGuidLookupAvgMicros;
+
+    @Schema(description = "95th percentile doc_guid lookup time in microseconds, when the table has doc_guid", example = "420.0")
+    private Double docGuidLookupP95Micros;
+
+    @Schema(description = "Whether doc_guid has an index, when the table has doc_guid", example = "true")
+    private Boolean docGuidIndexed;
+
+    @Schema(description = "Number of doc_guid values looked up; capped when doc_guid has no index", example = "200")
+    private Integer docGuidSamples;
+
+    public GuidTableStatsDto() {
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public void setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+    }
+
+    public String getKeyColumnType() {
+        return keyColumnType;
+    }
+
+    public void setKeyColumnType(String keyColumnType) {
+        this.keyColumnType = keyColumnType;
+    }
+
+    public Long getRowEstimate() {
+        return rowEstimate;
+    }
+
+    public void setRowEstimate(Long rowEstimate) {
+        this.rowEstimate = rowEstimate;
+    }
+
+    public Long getDataBytes() {
+        return dataBytes;
+    }
+
+    public void setDataBytes(Long dataBytes) {
+        this.dataBytes = dataBytes;
+    }
+
+    public Long getIndexBytes() {
+        return indexBytes;
+    }
+
+    public void setIndexBytes(Long indexBytes) {
+        this.indexBytes = indexBytes;
+    }
+
+    public Integer getSamples() {
+        return samples;
+    }
+
+    public void setSamples(Integer samples) {
+        this.samples = samples;
+    }
+
+    public Double getKeyLookupAvgMicros() {
+        return keyLookupAvgMicros;
+    }
+
+    public void setKeyLookupAvgMicros(Double keyLookupAvgMicros) {
+        this.keyLookupAvgMicros = keyLookupAvgMicros;
+    }
+
+    public Double getKeyLookupP95Micros() {
+        return keyLookupP95Micros;
+    }
+
+    public void setKeyLookupP95Micros(Double keyLookupP95Micros) {
+        this.keyLookupP95Micros = keyLookupP95Micros;
+    }
+
+    public Double getDocGuidLookupAvgMicros() {
+        return docGuidLookupAvgMicros;
+    }
+
+    public void setDocGuidLookupAvgMicros(Double docGuidLookupAvgMicros) {
+        this.docGuidLookupAvgMicros = docGuidLookupAvgMicros;
+    }
+
+    public Double getDocGuidLookupP95Micros() {
+        return docGuidLookupP95Micros;
+    }
+
+    public void setDocGuidLookupP95Micros(Double docGuidLookupP95Micros) {
+        this.docGuidLookupP95Micros = docGuidLookupP95Micros;
+    }
+
+    public Boolean getDocGuidIndexed() {
+        return docGuidIndexed;
+    }
+
+    public void setDocGuidIndexed(Boolean docGuidIndexed) {
+        this.docGuidIndexed = docGuidIndexed;
+    }
+
+    public Integer getDocGuidSamples() {
+        return docGuidSamples;
+    }
+
+    public void setDocGuidSamples(Integer docGuidSamples) {
+        this.docGuidSamples = docGuidSamples;
+    }
+}
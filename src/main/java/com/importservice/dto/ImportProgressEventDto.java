@@ -0,0 +1,156 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Schema(description = "Progress snapshot of one import run, as pushed on the progress stream")
+public class ImportProgressEventDto {
+
+    @Schema(description = "Identifier of the run", example = "run-3")
+    private String runId;
+
+    @Schema(description = "Import job name", example = "CorrespondencesWithRelated")
+    private String jobName;
+
+    @Schema(description = "RUNNING or FINISHED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Documents or rows processed so far", example = "12840")
+    private Long processed;
+
+    @Schema(description = "Documents or rows that succeeded", example = "12801")
+    private Long succeeded;
+
+    @Schema(description = "Documents or rows that failed", example = "39")
+    private Long failed;
+
+    @Schema(description = "Expected total, 0 when unknown", example = "250000")
+    private Long expectedTotal;
+
+    @Schema(description = "Average processing rate since the run started", example = "212.4")
+    private Double ratePerSecond;
+
+    @Schema(description = "Estimated seconds remaining, -1 when unknown", example = "1116")
+    private Long etaSeconds;
+
+    @Schema(description = "Seconds since the run started", example = "60.4")
+    private Double elapsedSeconds;
+
+    @Schema(description = "Rows written per entity type since the run started")
+    private Map<String, Long> rowsByEntity = new LinkedHashMap<>();
+
+    @Schema(description = "Rows that failed to write per entity type since the run started")
+    private Map<String, Long> failedRowsByEntity = new LinkedHashMap<>();
+
+    @Schema(description = "Time the snapshot was taken")
+    private LocalDateTime timestamp;
+
+    public ImportProgressEventDto() {
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(Long processed) {
+        this.processed = processed;
+    }
+
+    public Long getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(Long succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+
+    public Long getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public void setExpectedTotal(Long expectedTotal) {
+        this.expectedTotal = expectedTotal;
+    }
+
+    public Double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(Double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public Double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public void setElapsedSeconds(Double elapsedSeconds) {
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public Map<String, Long> getRowsByEntity() {
+        return rowsByEntity;
+    }
+
+    public void setRowsByEntity(Map<String, Long> rowsByEntity) {
+        this.rowsByEntity = rowsByEntity;
+    }
+
+    public Map<String, Long> getFailedRowsByEntity() {
+        return failedRowsByEntity;
+    }
+
+    public void setFailedRowsByEntity(Map<String, Long> failedRowsByEntity) {
+        this.failedRowsByEntity = failedRowsByEntity;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,45 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Combined response for an import run made of several entity imports")
+public class ImportReportDto extends ImportResponseDto {
+
+    @Schema(description = "Wall-clock duration of the whole run in milliseconds", example = "4210")
+    private Long wallClockMillis;
+
+    @Schema(description = "Sum of the individual import durations in milliseconds", example = "15870")
+    private Long totalImportMillis;
+
+    @Schema(description = "Per-entity results and timings")
+    private List<EntityImportReportDto> entities = new ArrayList<>();
+
+    public ImportReportDto() {
+    }
+
+    public Long getWallClockMillis() {
+        return wallClockMillis;
+    }
+
+    public void setWallClockMillis(Long wallClockMillis) {
+        this.wallClockMillis = wallClockMillis;
+    }
+
+    public Long getTotalImportMillis() {
+        return totalImportMillis;
+    }
+
+    public void setTotalImportMillis(Long totalImportMillis) {
+        this.totalImportMillis = totalImportMillis;
+    }
+
+    public List<EntityImportReportDto> getEntities() {
+        return entities;
+    }
+
+    public void setEntities(List<EntityImportReportDto> entities) {
+        this.entities = entities;
+    }
+}
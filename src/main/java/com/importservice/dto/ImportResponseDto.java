@@ -1,5 +1,6 @@
 package com.importservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 
@@ -24,6 +25,10 @@ public class ImportResponseDto {
     @Schema(description = "List of error messages for failed imports")
     private List<String> errors;
 
+    @Schema(description = "Source throughput report, present only for dry or sampled runs")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DryRunReportDto dryRunReport;
+
     public ImportResponseDto() {
     }
 
@@ -85,6 +90,14 @@ public class ImportResponseDto {
         this.errors = errors;
     }
 
+    public DryRunReportDto getDryRunReport() {
+        return dryRunReport;
+    }
+
+    public void setDryRunReport(DryRunReportDto dryRunReport) {
+        this.dryRunReport = dryRunReport;
+    }
+
     @Override
     public String toString() {
         return "ImportResponseDto{" +
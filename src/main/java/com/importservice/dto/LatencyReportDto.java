@@ -0,0 +1,45 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Per-endpoint and per-write-target latency percentiles and the slowest documents")
+public class LatencyReportDto {
+
+    @Schema(description = "Length of the sliding window in seconds", example = "300")
+    private Long windowSeconds;
+
+    @Schema(description = "Latency per stage and entity type, slowest p99 first")
+    private List<LatencyStatsDto> stages = new ArrayList<>();
+
+    @Schema(description = "Slowest documents since the last reset, slowest first")
+    private List<SlowDocumentDto> slowestDocuments = new ArrayList<>();
+
+    public LatencyReportDto() {
+    }
+
+    public Long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(Long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public List<LatencyStatsDto> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<LatencyStatsDto> stages) {
+        this.stages = stages;
+    }
+
+    public List<SlowDocumentDto> getSlowestDocuments() {
+        return slowestDocuments;
+    }
+
+    public void setSlowestDocuments(List<SlowDocumentDto> slowestDocuments) {
+        this.slowestDocuments = slowestDocuments;
+    }
+}
@@ -0,0 +1,98 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Latency percentiles of one import stage for one entity type over the sliding window")
+public class LatencyStatsDto {
+
+    @Schema(description = "Stage: fetch (source endpoint), parse, bind, write, flush or commit (write target)", example = "fetch")
+    private String stage;
+
+    @Schema(description = "Entity type, which also identifies the source endpoint", example = "CorrespondenceAttachments")
+    private String entityName;
+
+    @Schema(description = "Number of samples in the window", example = "18240")
+    private Long count;
+
+    @Schema(description = "Median latency in milliseconds", example = "120.5")
+    private Double p50Millis;
+
+    @Schema(description = "90th percentile latency in milliseconds", example = "480.0")
+    private Double p90Millis;
+
+    @Schema(description = "99th percentile latency in milliseconds", example = "2100.0")
+    private Double p99Millis;
+
+    @Schema(description = "Maximum latency in milliseconds", example = "9800.0")
+    private Double maxMillis;
+
+    @Schema(description = "Mean latency in milliseconds", example = "190.2")
+    private Double meanMillis;
+
+    public LatencyStatsDto() {
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(Double p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public Double getP90Millis() {
+        return p90Millis;
+    }
+
+    public void setP90Millis(Double p90Millis) {
+        this.p90Millis = p90Millis;
+    }
+
+    public Double getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(Double p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public Double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(Double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public Double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public void setMeanMillis(Double meanMillis) {
+        this.meanMillis = meanMillis;
+    }
+}
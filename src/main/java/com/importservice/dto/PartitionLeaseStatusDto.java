@@ -0,0 +1,122 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Partitions of the shared related-data import run and the leases on them")
+public class PartitionLeaseStatusDto {
+
+    @Schema(description = "Whether this instance imports related data by partition", example = "true")
+    private Boolean enabled;
+
+    @Schema(description = "Run the instances share", example = "nightly-2026-10-19")
+    private String runId;
+
+    @Schema(description = "This instance's name in the lease rows", example = "12345@import-2-3f2a9c1e")
+    private String instanceId;
+
+    @Schema(description = "Partitions the docGuid space is split into", example = "16")
+    private Integer partitions;
+
+    @Schema(description = "Partitions not yet claimed", example = "6")
+    private Integer pending;
+
+    @Schema(description = "Partitions being imported now, by any instance", example = "4")
+    private Integer leased;
+
+    @Schema(description = "Partitions finished", example = "6")
+    private Integer done;
+
+    @Schema(description = "Claims of a partition whose holder had stopped renewing its lease", example = "1")
+    private Integer takeovers;
+
+    @Schema(description = "Documents imported in finished partitions", example = "30125")
+    private Long documentsDone;
+
+    @Schema(description = "Partitions this instance holds now", example = "[3, 11]")
+    private List<Integer> ownedPartitions;
+
+    public PartitionLeaseStatusDto() {
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Integer getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(Integer partitions) {
+        this.partitions = partitions;
+    }
+
+    public Integer getPending() {
+        return pending;
+    }
+
+    public void setPending(Integer pending) {
+        this.pending = pending;
+    }
+
+    public Integer getLeased() {
+        return leased;
+    }
+
+    public void setLeased(Integer leased) {
+        this.leased = leased;
+    }
+
+    public Integer getDone() {
+        return done;
+    }
+
+    public void setDone(Integer done) {
+        this.done = done;
+    }
+
+    public Integer getTakeovers() {
+        return takeovers;
+    }
+
+    public void setTakeovers(Integer takeovers) {
+        this.takeovers = takeovers;
+    }
+
+    public Long getDocumentsDone() {
+        return documentsDone;
+    }
+
+    public void setDocumentsDone(Long documentsDone) {
+        this.documentsDone = documentsDone;
+    }
+
+    public List<Integer> getOwnedPartitions() {
+        return ownedPartitions;
+    }
+
+    public void setOwnedPartitions(List<Integer> ownedPartitions) {
+        this.ownedPartitions = ownedPartitions;
+    }
+}
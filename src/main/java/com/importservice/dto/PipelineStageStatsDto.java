@@ -0,0 +1,109 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Threads, queue depth and backpressure of one import pipeline stage since startup")
+public class PipelineStageStatsDto {
+
+    @Schema(description = "Pipeline stage", example = "write")
+    private String stage;
+
+    @Schema(description = "Threads the stage runs", example = "8")
+    private Integer threads;
+
+    @Schema(description = "Tasks the stage queues before its feeders wait", example = "256")
+    private Integer queueDepth;
+
+    @Schema(description = "Tasks running now", example = "8")
+    private Integer active;
+
+    @Schema(description = "Tasks waiting now", example = "256")
+    private Integer queued;
+
+    @Schema(description = "Most tasks waiting at once since startup", example = "256")
+    private Integer peakQueued;
+
+    @Schema(description = "Tasks finished since startup", example = "48210")
+    private Long completed;
+
+    @Schema(description = "Submissions that found the queue full and waited, i.e. backpressure on the stage before", example = "1270")
+    private Long blockedSubmissions;
+
+    @Schema(description = "Total time submitters waited for queue space", example = "93512.4")
+    private Double blockedMs;
+
+    public PipelineStageStatsDto() {
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public Integer getThreads() {
+        return threads;
+    }
+
+    public void setThreads(Integer threads) {
+        this.threads = threads;
+    }
+
+    public Integer getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(Integer queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public Integer getActive() {
+        return active;
+    }
+
+    public void setActive(Integer active) {
+        this.active = active;
+    }
+
+    public Integer getQueued() {
+        return queued;
+    }
+
+    public void setQueued(Integer queued) {
+        this.queued = queued;
+    }
+
+    public Integer getPeakQueued() {
+        return peakQueued;
+    }
+
+    public void setPeakQueued(Integer peakQueued) {
+        this.peakQueued = peakQueued;
+    }
+
+    public Long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Long completed) {
+        this.completed = completed;
+    }
+
+    public Long getBlockedSubmissions() {
+        return blockedSubmissions;
+    }
+
+    public void setBlockedSubmissions(Long blockedSubmissions) {
+        this.blockedSubmissions = blockedSubmissions;
+    }
+
+    public Double getBlockedMs() {
+        return blockedMs;
+    }
+
+    public void setBlockedMs(Double blockedMs) {
+        this.blockedMs = blockedMs;
+    }
+}
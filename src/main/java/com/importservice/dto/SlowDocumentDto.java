@@ -0,0 +1,90 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Schema(description = "One of the slowest documents and where its time went")
+public class SlowDocumentDto {
+
+    @Schema(description = "Document GUID", example = "0f8fad5b-d9cb-469f-a165-70867728950e")
+    private String docGuid;
+
+    @Schema(description = "Import job the document belonged to", example = "CorrespondencesWithRelated")
+    private String jobName;
+
+    @Schema(description = "Wall-clock time from start to end of the document in milliseconds", example = "15400.0")
+    private Double wallMillis;
+
+    @Schema(description = "Stage with the largest total time", example = "fetch")
+    private String dominantStage;
+
+    @Schema(description = "Entity type with the largest total time", example = "CorrespondenceAttachments")
+    private String dominantEntity;
+
+    @Schema(description = "Total milliseconds per stage, summed over endpoints that may have run concurrently")
+    private Map<String, Double> stageMillis = new LinkedHashMap<>();
+
+    @Schema(description = "When the document finished")
+    private LocalDateTime completedAt;
+
+    public SlowDocumentDto() {
+    }
+
+    public String getDocGuid() {
+        return docGuid;
+    }
+
+    public void setDocGuid(String docGuid) {
+        this.docGuid = docGuid;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public Double getWallMillis() {
+        return wallMillis;
+    }
+
+    public void setWallMillis(Double wallMillis) {
+        this.wallMillis = wallMillis;
+    }
+
+    public String getDominantStage() {
+        return dominantStage;
+    }
+
+    public void setDominantStage(String dominantStage) {
+        this.dominantStage = dominantStage;
+    }
+
+    public String getDominantEntity() {
+        return dominantEntity;
+    }
+
+    public void setDominantEntity(String dominantEntity) {
+        this.dominantEntity = dominantEntity;
+    }
+
+    public Map<String, Double> getStageMillis() {
+        return stageMillis;
+    }
+
+    public void setStageMillis(Map<String, Double> stageMillis) {
+        this.stageMillis = stageMillis;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
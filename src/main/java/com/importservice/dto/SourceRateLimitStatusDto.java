@@ -0,0 +1,131 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cluster-wide source API quota and this instance's use of it since startup")
+public class SourceRateLimitStatusDto {
+
+    @Schema(description = "Whether source API requests draw from the shared quota", example = "true")
+    private Boolean enabled;
+
+    @Schema(description = "Quota row the instances share", example = "tarasol-extractor")
+    private String name;
+
+    @Schema(description = "Requests per second the cluster may make, from the shared row", example = "50.0")
+    private Double tokensPerSecond;
+
+    @Schema(description = "Requests the cluster may make at once after a quiet period", example = "50.0")
+    private Double burst;
+
+    @Schema(description = "Tokens left in the shared row at its last refill", example = "12.0")
+    private Double clusterAvailable;
+
+    @Schema(description = "Tokens this instance leases per database round trip", example = "10")
+    private Integer blockSize;
+
+    @Schema(description = "Leased tokens this instance has not used yet", example = "3")
+    private Integer localTokens;
+
+    @Schema(description = "Source API requests this instance let through since startup", example = "48210")
+    private Long requests;
+
+    @Schema(description = "Blocks leased from the shared row since startup", example = "4830")
+    private Long leases;
+
+    @Schema(description = "Lease attempts that found the shared quota used up", example = "212")
+    private Long emptyLeases;
+
+    @Schema(description = "Total time requests waited for a token", example = "18350.2")
+    private Double waitedMs;
+
+    public SourceRateLimitStatusDto() {
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(Double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public Double getBurst() {
+        return burst;
+    }
+
+    public void setBurst(Double burst) {
+        this.burst = burst;
+    }
+
+    public Double getClusterAvailable() {
+        return clusterAvailable;
+    }
+
+    public void setClusterAvailable(Double clusterAvailable) {
+        this.clusterAvailable = clusterAvailable;
+    }
+
+    public Integer getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(Integer blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public Integer getLocalTokens() {
+        return localTokens;
+    }
+
+    public void setLocalTokens(Integer localTokens) {
+        this.localTokens = localTokens;
+    }
+
+    public Long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(Long requests) {
+        this.requests = requests;
+    }
+
+    public Long getLeases() {
+        return leases;
+    }
+
+    public void setLeases(Long leases) {
+        this.leases = leases;
+    }
+
+    public Long getEmptyLeases() {
+        return emptyLeases;
+    }
+
+    public void setEmptyLeases(Long emptyLeases) {
+        this.emptyLeases = emptyLeases;
+    }
+
+    public Double getWaitedMs() {
+        return waitedMs;
+    }
+
+    public void setWaitedMs(Double waitedMs) {
+        this.waitedMs = waitedMs;
+    }
+}
@@ -0,0 +1,109 @@
+package com.importservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Write-behind buffer of one table: what is waiting and how rows were batched since startup")
+public class WriteBehindLaneStatsDto {
+
+    @Schema(description = "Table the rows are written as", example = "CorrespondenceTransactions")
+    private String entityName;
+
+    @Schema(description = "Batches the table's ring holds before submitters wait", example = "4096")
+    private Integer ringSlots;
+
+    @Schema(description = "Batches waiting for the next flush", example = "37")
+    private Integer bufferedBatches;
+
+    @Schema(description = "Rows waiting for the next flush", example = "412")
+    private Integer bufferedRows;
+
+    @Schema(description = "Flush transactions committed or attempted since startup", example = "920")
+    private Long flushes;
+
+    @Schema(description = "Rows handed to flushes since startup", example = "1843117")
+    private Long rowsFlushed;
+
+    @Schema(description = "Rows per flush transaction", example = "2003.4")
+    private Double averageRowsPerFlush;
+
+    @Schema(description = "Flushes that failed and were rewritten one batch at a time", example = "2")
+    private Long fallbackFlushes;
+
+    @Schema(description = "Submissions that found the ring full and waited for a flush", example = "0")
+    private Long waitsForSpace;
+
+    public WriteBehindLaneStatsDto() {
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public Integer getRingSlots() {
+        return ringSlots;
+    }
+
+    public void setRingSlots(Integer ringSlots) {
+        this.ringSlots = ringSlots;
+    }
+
+    public Integer getBufferedBatches() {
+        return bufferedBatches;
+    }
+
+    public void setBufferedBatches(Integer bufferedBatches) {
+        this.bufferedBatches = bufferedBatches;
+    }
+
+    public Integer getBufferedRows() {
+        return bufferedRows;
+    }
+
+    public void setBufferedRows(Integer bufferedRows) {
+        this.bufferedRows = bufferedRows;
+    }
+
+    public Long getFlushes() {
+        return flushes;
+    }
+
+    public void setFlushes(Long flushes) {
+        this.flushes = flushes;
+    }
+
+    public Long getRowsFlushed() {
+        return rowsFlushed;
+    }
+
+    public void setRowsFlushed(Long rowsFlushed) {
+        this.rowsFlushed = rowsFlushed;
+    }
+
+    public Double getAverageRowsPerFlush() {
+        return averageRowsPerFlush;
+    }
+
+    public void setAverageRowsPerFlush(Double averageRowsPerFlush) {
+        this.averageRowsPerFlush = averageRowsPerFlush;
+    }
+
+    public Long getFallbackFlushes() {
+        return fallbackFlushes;
+    }
+
+    public void setFallbackFlushes(Long fallbackFlushes) {
+        this.fallbackFlushes = fallbackFlushes;
+    }
+
+    public Long getWaitsForSpace() {
+        return waitsForSpace;
+    }
+
+    public void setWaitsForSpace(Long waitsForSpace) {
+        this.waitsForSpace = waitsForSpace;
+    }
+}
@@ -1,6 +1,7 @@
 package com.importservice.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Type;
 import javax.persistence.*;
 
 @Entity
@@ -8,6 +9,7 @@ import javax.persistence.*;
 public class Classification extends BaseEntity {
     
     @Id
+    @Type(type = GuidType.TYPE)
     @JsonProperty("GUId")
     @Column(name = "guid", length = 255)
     private String guid;
@@ -1,14 +1,18 @@
 package com.importservice.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.importservice.codegen.GenerateJsonReader;
+import org.hibernate.annotations.Type;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+@GenerateJsonReader
 @Entity
 @Table(name = "correspondences")
 public class Correspondence extends BaseEntity {
     
     @Id
+    @Type(type = GuidType.TYPE)
     @JsonProperty("GUId")
     @Column(name = "guid", length = 255)
     private String guid;
@@ -1,8 +1,11 @@
 package com.importservice.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.importservice.codegen.GenerateJsonReader;
+import org.hibernate.annotations.Type;
 import javax.persistence.*;
 
+@GenerateJsonReader
 @Entity
 @Table(name = "correspondence_current_departments")
 public class CorrespondenceCurrentDepartment extends BaseEntity {
@@ -15,6 +18,7 @@ public class CorrespondenceCurrentDepartment extends BaseEntity {
     @Column(name = "dep_guid", length = 255)
     private String depGuid;
     
+    @Type(type = GuidType.TYPE)
     @Column(name = "doc_guid", length = 255)
     private String docGuid;
     
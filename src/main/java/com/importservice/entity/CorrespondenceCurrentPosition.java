@@ -1,18 +1,23 @@
 package com.importservice.entity;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.importservice.codegen.GenerateJsonReader;
+import org.hibernate.annotations.Type;
 import javax.persistence.*;
 
+@GenerateJsonReader
 @Entity
 @Table(name = "correspondence_current_positions")
 public class CorrespondenceCurrentPosition extends BaseEntity {
     
     @Id
+    @Type(type = GuidType.TYPE)
     @JsonProperty("GUId")
     @Column(name = "guid", length = 255)
     private String guid;
     
     @JsonProperty("DocGUId")
+    @Type(type = GuidType.TYPE)
     @Column(name = "doc_guid", length = 255)
     private String docGuid;
     
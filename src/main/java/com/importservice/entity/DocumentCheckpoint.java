@@ -0,0 +1,97 @@
+package com.importservice.entity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "document_checkpoints", indexes = {
+    @Index(name = "idx_document_checkpoints_status", columnList = "job_name, status")
+})
+public class DocumentCheckpoint {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String PARTIAL = "PARTIAL";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @Column(name = "doc_guid", length = 255)
+    private String docGuid;
+
+    @Column(name = "job_name", length = 100, nullable = false)
+    private String jobName;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    @Column(name = "rows_written", nullable = false)
+    private Integer rowsWritten;
+
+    @Column(name = "rows_failed", nullable = false)
+    private Integer rowsFailed;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public DocumentCheckpoint() {}
+
+    // Getters and Setters
+    public String getDocGuid() {
+        return docGuid;
+    }
+
+    public void setDocGuid(String docGuid) {
+        this.docGuid = docGuid;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(Integer rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public Integer getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(Integer rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,155 @@
+package com.importservice.entity;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * Column type for GUID keys. Entities always hold the canonical string form; in binary
+ * storage mode ({@code import.guid-storage=binary}) the column is {@code BINARY(16)} and
+ * values are packed on write and unpacked on read, otherwise it is a plain VARCHAR.
+ * <p>
+ * A Hibernate type rather than a JPA AttributeConverter because converters are not
+ * applied to {@code @Id} attributes, and the primary keys are the larger half of the win.
+ * The mode is fixed before the EntityManagerFactory is built, see GuidStorageConfig.
+ * <p>
+ * Binary values read back as lowercase strings. Schema generation declares the column as
+ * VARBINARY so that the entities' {@code length = 255} does not zero-pad values; the
+ * migration for existing tables uses {@code BINARY(16)}. Both hold exactly the 16 bytes.
+ */
+public class GuidType implements UserType {
+
+    public static final String TYPE = "com.importservice.entity.GuidType";
+
+    private static volatile boolean binaryStorage;
+
+    public static void setBinaryStorage(boolean binary) {
+        binaryStorage = binary;
+    }
+
+    public static boolean isBinaryStorage() {
+        return binaryStorage;
+    }
+
+    @Override
+    public int[] sqlTypes() {
+        return new int[] {binaryStorage ? Types.VARBINARY : Types.VARCHAR};
+    }
+
+    @Override
+    public Class returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(Object x, Object y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(Object x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public Object nullSafeGet(ResultSet rs, String[] names, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        if (binaryStorage) {
+            byte[] bytes = rs.getBytes(names[0]);
+            return bytes != null ? toGuid(bytes) : null;
+        }
+        return rs.getString(names[0]);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, Object value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, binaryStorage ? Types.VARBINARY : Types.VARCHAR);
+        } else if (binaryStorage) {
+            st.setBytes(index, toBytes((String) value));
+        } else {
+            st.setString(index, (String) value);
+        }
+    }
+
+    @Override
+    public Object deepCopy(Object value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Object value) {
+        return (Serializable) value;
+    }
+
+    @Override
+    public Object assemble(Serializable cached, Object owner) {
+        return cached;
+    }
+
+    @Override
+    public Object replace(Object original, Object target, Object owner) {
+        return original;
+    }
+
+    /**
+     * Packs a canonical GUID (8-4-4-4-12 hex digits, either case) into 16 bytes in text
+     * order, the same layout as MySQL's {@code UNHEX(REPLACE(guid, '-', ''))}.
+     */
+    public static byte[] toBytes(String guid) {
+        if (guid.length() != 36 || guid.charAt(8) != '-' || guid.charAt(13) != '-'
+                || guid.charAt(18) != '-' || guid.charAt(23) != '-') {
+            throw new HibernateException("Not a GUID, cannot store in binary form: " + guid);
+        }
+        byte[] bytes = new byte[16];
+        int digits = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = guid.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            int value = c < 128 ? Character.digit(c, 16) : -1;
+            if (value < 0 || digits == 32) {
+                throw new HibernateException("Not a GUID, cannot store in binary form: " + guid);
+            }
+            bytes[digits / 2] |= (byte) (digits % 2 == 0 ? value << 4 : value);
+            digits++;
+        }
+        if (digits != 32) {
+            throw new HibernateException("Not a GUID, cannot store in binary form: " + guid);
+        }
+        return bytes;
+    }
+
+    /**
+     * Unpacks 16 bytes into the lowercase canonical GUID string.
+     */
+    public static String toGuid(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new HibernateException("Binary GUID must be 16 bytes, was " + bytes.length);
+        }
+        char[] chars = new char[36];
+        int position = 0;
+        for (int i = 0; i < 16; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) {
+                chars[position++] = '-';
+            }
+            chars[position++] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            chars[position++] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,152 @@
+package com.importservice.entity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "partition_leases", indexes = {
+    @Index(name = "idx_partition_leases_run", columnList = "run_id, status")
+})
+public class PartitionLease {
+
+    public static final String PENDING = "PENDING";
+    public static final String LEASED = "LEASED";
+    public static final String DONE = "DONE";
+
+    @Id
+    @Column(name = "lease_id", length = 255)
+    private String leaseId;
+
+    @Column(name = "run_id", length = 200, nullable = false)
+    private String runId;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    @Column(name = "partition_count", nullable = false)
+    private Integer partitionCount;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    @Column(name = "owner", length = 255)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "takeovers", nullable = false)
+    private Integer takeovers;
+
+    @Column(name = "documents")
+    private Integer documents;
+
+    @Column(name = "failed_documents")
+    private Integer failedDocuments;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public PartitionLease() {}
+
+    // Getters and Setters
+    public String getLeaseId() {
+        return leaseId;
+    }
+
+    public void setLeaseId(String leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public Integer getPartitionNo() {
+        return partitionNo;
+    }
+
+    public void setPartitionNo(Integer partitionNo) {
+        this.partitionNo = partitionNo;
+    }
+
+    public Integer getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(Integer partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Integer getTakeovers() {
+        return takeovers;
+    }
+
+    public void setTakeovers(Integer takeovers) {
+        this.takeovers = takeovers;
+    }
+
+    public Integer getDocuments() {
+        return documents;
+    }
+
+    public void setDocuments(Integer documents) {
+        this.documents = documents;
+    }
+
+    public Integer getFailedDocuments() {
+        return failedDocuments;
+    }
+
+    public void setFailedDocuments(Integer failedDocuments) {
+        this.failedDocuments = failedDocuments;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.importservice.entity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "source_rate_limits")
+public class SourceRateLimit {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "tokens_per_second", nullable = false)
+    private Double tokensPerSecond;
+
+    @Column(name = "burst", nullable = false)
+    private Double burst;
+
+    @Column(name = "available", nullable = false)
+    private Double available;
+
+    @Column(name = "refilled_at", nullable = false)
+    private LocalDateTime refilledAt;
+
+    // Constructors
+    public SourceRateLimit() {}
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(Double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public Double getBurst() {
+        return burst;
+    }
+
+    public void setBurst(Double burst) {
+        this.burst = burst;
+    }
+
+    public Double getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Double available) {
+        this.available = available;
+    }
+
+    public LocalDateTime getRefilledAt() {
+        return refilledAt;
+    }
+
+    public void setRefilledAt(LocalDateTime refilledAt) {
+        this.refilledAt = refilledAt;
+    }
+}
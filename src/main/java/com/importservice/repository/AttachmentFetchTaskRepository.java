@@ -0,0 +1,25 @@
+package com.importservice.repository;
+
+import com.importservice.entity.AttachmentFetchTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AttachmentFetchTaskRepository extends JpaRepository<AttachmentFetchTask, String> {
+    List<AttachmentFetchTask> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(String status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AttachmentFetchTask t SET t.status = 'PENDING', t.attempts = 0, t.nextAttemptAt = :now, t.updatedAt = :now WHERE t.status = 'FAILED'")
+    int retryFailed(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.importservice.repository;
+
+import com.importservice.entity.DocumentCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DocumentCheckpointRepository extends JpaRepository<DocumentCheckpoint, String> {
+    @Query("SELECT c.docGuid FROM DocumentCheckpoint c WHERE c.jobName = :jobName AND c.status = 'COMPLETED'")
+    List<String> findCompletedDocGuids(@Param("jobName") String jobName);
+}
@@ -0,0 +1,30 @@
+package com.importservice.repository;
+
+import com.importservice.entity.DocumentRetryTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DocumentRetryTaskRepository extends JpaRepository<DocumentRetryTask, String> {
+    List<DocumentRetryTask> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(String status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    /**
+     * Takes a due task by moving its next attempt to {@code until}, so no other thread or
+     * instance runs it meanwhile. Returns 0 if the task was not due any more.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentRetryTask t SET t.nextAttemptAt = :until, t.updatedAt = :now "
+            + "WHERE t.docGuid = :docGuid AND t.status = 'PENDING' AND t.nextAttemptAt <= :now")
+    int claim(@Param("docGuid") String docGuid, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
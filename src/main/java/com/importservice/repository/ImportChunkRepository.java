@@ -0,0 +1,9 @@
+package com.importservice.repository;
+
+import com.importservice.entity.ImportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportChunkRepository extends JpaRepository<ImportChunk, Long> {
+}
@@ -0,0 +1,16 @@
+package com.importservice.repository;
+
+import com.importservice.entity.PartitionLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PartitionLeaseRepository extends JpaRepository<PartitionLease, String> {
+    List<PartitionLease> findByRunIdOrderByPartitionNo(String runId);
+
+    long countByRunId(String runId);
+
+    long countByRunIdAndStatus(String runId, String status);
+}
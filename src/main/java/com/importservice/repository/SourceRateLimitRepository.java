@@ -0,0 +1,9 @@
+package com.importservice.repository;
+
+import com.importservice.entity.SourceRateLimit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SourceRateLimitRepository extends JpaRepository<SourceRateLimit, String> {
+}
@@ -0,0 +1,374 @@
+package com.importservice.service;
+
+import com.importservice.dto.AttachmentLaneStatusDto;
+import com.importservice.entity.AttachmentFetchTask;
+import com.importservice.entity.CorrespondenceAttachment;
+import com.importservice.repository.AttachmentFetchTaskRepository;
+import com.importservice.repository.CorrespondenceAttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports correspondence attachments after their documents, on a lane of their own. The
+ * source's attachments call returns the metadata together with the base64 FileData of every
+ * file, which makes it by far the slowest per-document call. In deferred mode
+ * ({@code import.attachments.mode=deferred}) the per-document import only queues the
+ * document here and moves on, so the rest of the document's data lands without waiting.
+ * <p>
+ * Queued documents are rows of {@code attachment_fetch_tasks}, so after a restart the lane
+ * resumes where it stopped. A dispatcher thread hands due tasks to the lane's own workers,
+ * up to its concurrency. Each fetch waits for the bandwidth cap before it starts and is then
+ * charged the bytes it received. A failed fetch or write is retried with exponential backoff
+ * until the attempts run out, and then the task is marked FAILED.
+ */
+@Component
+public class AttachmentLane {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentLane.class);
+
+    static final String ATTACHMENTS_BASE_URL = "https://itba.tarasol.cloud/Tarasol4ExtractorApi/docGuid/";
+    static final String ENTITY_NAME = "CorrespondenceAttachments";
+
+    private static final int ENQUEUE_BATCH_SIZE = 1000;
+    private static final long MAX_BACKOFF_SECONDS = TimeUnit.HOURS.toSeconds(6);
+
+    private static final String ENQUEUE_SQL =
+            "INSERT INTO attachment_fetch_tasks (doc_guid, status, attempts, next_attempt_at, created_at, updated_at) "
+            + "VALUES (?, 'PENDING', 0, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE status = 'PENDING', attempts = 0, last_error = NULL, "
+            + "next_attempt_at = VALUES(next_attempt_at), updated_at = VALUES(updated_at)";
+
+    /**
+     * Byte budget refilled at the cap's rate, holding at most one second's worth. A fetch
+     * waits until the budget is not negative and is then charged what it received, so a large
+     * response delays the fetches after it instead of being cut off.
+     */
+    private static final class BandwidthLimiter {
+        private final double bytesPerSecond;
+        private double available;
+        private long lastRefill = System.nanoTime();
+
+        BandwidthLimiter(double bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+            this.available = bytesPerSecond;
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            if (bytesPerSecond <= 0) {
+                return;
+            }
+            refill();
+            while (available < 0) {
+                wait(Math.max(1, (long) Math.ceil(-available / bytesPerSecond * 1000)));
+                refill();
+            }
+        }
+
+        synchronized void record(long bytes) {
+            if (bytesPerSecond > 0) {
+                refill();
+                available -= bytes;
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            available = Math.min(bytesPerSecond, available + (now - lastRefill) / 1_000_000_000.0 * bytesPerSecond);
+            lastRefill = now;
+        }
+    }
+
+    @Value("${import.attachments.mode:deferred}")
+    private String mode;
+
+    @Value("${import.attachments.lane.concurrency:4}")
+    private int concurrency;
+
+    @Value("${import.attachments.lane.max-mb-per-second:20}")
+    private double maxMegabytesPerSecond;
+
+    @Value("${import.attachments.lane.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${import.attachments.lane.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${import.attachments.lane.poll-seconds:10}")
+    private long pollSeconds;
+
+    @Autowired
+    private SourceApiClient sourceApiClient;
+
+    @Autowired
+    private ChunkedImportWriter chunkedImportWriter;
+
+    @Autowired
+    private ExistingKeyIndex existingKeyIndex;
+
+    @Autowired
+    private CorrespondenceAttachmentRepository correspondenceAttachmentRepository;
+
+    @Autowired
+    private AttachmentFetchTaskRepository attachmentFetchTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong documentsFetched = new AtomicLong();
+    private final AtomicLong bytesFetched = new AtomicLong();
+    private final AtomicLong retriesScheduled = new AtomicLong();
+    private final AtomicLong tasksFailed = new AtomicLong();
+
+    private ScheduledExecutorService dispatcher;
+    private ExecutorService workers;
+    private BandwidthLimiter bandwidth;
+
+    @PostConstruct
+    public void init() {
+        if (!"inline".equals(mode) && !"deferred".equals(mode)) {
+            throw new IllegalArgumentException("import.attachments.mode must be inline or deferred, was: " + mode);
+        }
+        if (!isDeferred()) {
+            return;
+        }
+        bandwidth = new BandwidthLimiter(maxMegabytesPerSecond * 1024 * 1024);
+        workers = Executors.newFixedThreadPool(Math.max(1, concurrency), new CustomizableThreadFactory("attachment-lane-"));
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attachment-lane-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The first poll also picks up tasks left over from before a restart
+        long poll = Math.max(1, pollSeconds);
+        dispatcher.scheduleWithFixedDelay(this::dispatch, poll, poll, TimeUnit.SECONDS);
+        logger.info("Attachment lane started: {} concurrent fetches, {} MB/s cap, {} attempts",
+                    Math.max(1, concurrency), maxMegabytesPerSecond > 0 ? maxMegabytesPerSecond : "no", maxAttempts);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+            // Interrupted fetches stay PENDING and are picked up again on the next start
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean isDeferred() {
+        return "deferred".equals(mode);
+    }
+
+    public void enqueue(String docGuid) {
+        enqueueAll(Collections.singletonList(docGuid));
+    }
+
+    /**
+     * Queues the documents' attachments. A document that is already queued or done is fetched again.
+     */
+    public void enqueueAll(Collection<String> docGuids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(Math.min(docGuids.size(), ENQUEUE_BATCH_SIZE));
+        for (String docGuid : docGuids) {
+            batch.add(new Object[] {docGuid, now, now, now});
+            if (batch.size() == ENQUEUE_BATCH_SIZE) {
+                insertTasks(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertTasks(batch);
+        }
+        wake();
+    }
+
+    /**
+     * Puts every FAILED task back in the queue with fresh attempts.
+     */
+    public int retryFailed() {
+        int reset = ioPermits.withDatabase(() -> attachmentFetchTaskRepository.retryFailed(LocalDateTime.now()));
+        logger.info("Re-queued {} failed attachment fetches", reset);
+        wake();
+        return reset;
+    }
+
+    /**
+     * Waits until no task is PENDING or in flight, or until the timeout passes, for callers
+     * such as batch mode that exit after their jobs. Returns the number of tasks still pending.
+     */
+    public long awaitDrained(long timeoutMillis) throws InterruptedException {
+        if (!isDeferred()) {
+            return 0;
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            long pending = ioPermits.withDatabase(() -> attachmentFetchTaskRepository.countByStatus(AttachmentFetchTask.PENDING));
+            long remaining = deadline - System.currentTimeMillis();
+            if (pending == 0 || remaining <= 0) {
+                return pending;
+            }
+            Thread.sleep(Math.min(remaining, 1000));
+        }
+    }
+
+    /**
+     * Tasks marked FAILED since startup.
+     */
+    public long failedSinceStartup() {
+        return tasksFailed.get();
+    }
+
+    public AttachmentLaneStatusDto status() {
+        AttachmentLaneStatusDto status = new AttachmentLaneStatusDto();
+        status.setMode(mode);
+        status.setConcurrency(Math.max(1, concurrency));
+        status.setMaxMegabytesPerSecond(Math.max(0, maxMegabytesPerSecond));
+        long pending = ioPermits.withDatabase(() -> attachmentFetchTaskRepository.countByStatus(AttachmentFetchTask.PENDING));
+        status.setInFlight(inFlight.size());
+        status.setPending(Math.max(0, pending - inFlight.size()));
+        status.setDone(ioPermits.withDatabase(() -> attachmentFetchTaskRepository.countByStatus(AttachmentFetchTask.DONE)));
+        status.setFailed(ioPermits.withDatabase(() -> attachmentFetchTaskRepository.countByStatus(AttachmentFetchTask.FAILED)));
+        status.setDocumentsFetched(documentsFetched.get());
+        status.setBytesFetched(bytesFetched.get());
+        status.setRetriesScheduled(retriesScheduled.get());
+        return status;
+    }
+
+    private void insertTasks(List<Object[]> batch) {
+        ioPermits.withDatabase(() -> jdbcTemplate.batchUpdate(ENQUEUE_SQL, batch));
+    }
+
+    private void wake() {
+        if (dispatcher == null) {
+            return;
+        }
+        try {
+            dispatcher.execute(this::dispatch);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    // Runs on the dispatcher thread only
+    private void dispatch() {
+        try {
+            int free = Math.max(1, concurrency) - inFlight.size();
+            if (free <= 0) {
+                return;
+            }
+            // Tasks in flight are still PENDING in the table, so ask for enough to skip them
+            PageRequest page = PageRequest.of(0, free + inFlight.size());
+            List<AttachmentFetchTask> due = ioPermits.withDatabase(() -> attachmentFetchTaskRepository
+                    .findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(AttachmentFetchTask.PENDING,
+                            LocalDateTime.now(), page));
+            for (AttachmentFetchTask task : due) {
+                if (free == 0) {
+                    break;
+                }
+                if (inFlight.add(task.getDocGuid())) {
+                    free--;
+                    workers.execute(() -> ImportStageEvent.forDocument(task.getDocGuid(), () -> {
+                        fetch(task);
+                        return null;
+                    }));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Attachment lane dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    private void fetch(AttachmentFetchTask task) {
+        String docGuid = task.getDocGuid();
+        try {
+            bandwidth.acquire();
+            String responseBody = sourceApiClient.fetchBody(ENTITY_NAME, ATTACHMENTS_BASE_URL + docGuid);
+            long bytes = responseBody != null ? responseBody.length() : 0;
+            bandwidth.record(bytes);
+            documentsFetched.incrementAndGet();
+            bytesFetched.addAndGet(bytes);
+
+            SourceResult<CorrespondenceAttachment> source =
+                    sourceApiClient.parseList(ENTITY_NAME, responseBody, CorrespondenceAttachment.class);
+            if (source.isFailure()) {
+                throw new IllegalStateException("API returned failure: " + source.getFailureMessage());
+            }
+            ChunkWriteResult writeResult = chunkedImportWriter.write(ENTITY_NAME, source.getItems(),
+                    existingKeyIndex.upsert(CorrespondenceAttachment.class, correspondenceAttachmentRepository::save));
+            int failures = source.getParseErrors().size() + writeResult.getFailed();
+            if (failures > 0) {
+                String firstError = !source.getParseErrors().isEmpty()
+                        ? source.getParseErrors().get(0) : writeResult.getErrors().get(0);
+                throw new IllegalStateException(failures + " attachments not imported, first: " + firstError);
+            }
+            finish(task, AttachmentFetchTask.DONE, writeResult.getSucceeded(), bytes, null, task.getAttempts() + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            reschedule(task, e);
+        } finally {
+            inFlight.remove(docGuid);
+            wake();
+        }
+    }
+
+    private void reschedule(AttachmentFetchTask task, Exception error) {
+        int attempts = task.getAttempts() + 1;
+        String message = "Attachments of " + task.getDocGuid() + " failed (attempt " + attempts + " of "
+                + maxAttempts + "): " + error.getMessage();
+        errorLogThrottle.error(logger, ENTITY_NAME, message, error);
+        if (attempts >= maxAttempts) {
+            tasksFailed.incrementAndGet();
+            finish(task, AttachmentFetchTask.FAILED, null, null, error.getMessage(), attempts);
+            return;
+        }
+        retriesScheduled.incrementAndGet();
+        long delaySeconds = Math.min(MAX_BACKOFF_SECONDS, Math.max(1, backoffSeconds) << Math.min(attempts - 1, 16));
+        task.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+        finish(task, AttachmentFetchTask.PENDING, null, null, error.getMessage(), attempts);
+    }
+
+    private void finish(AttachmentFetchTask task, String status, Integer attachments, Long bytes, String error, int attempts) {
+        task.setStatus(status);
+        task.setAttempts(attempts);
+        task.setAttachments(attachments);
+        task.setBytes(bytes);
+        task.setLastError(error);
+        task.setUpdatedAt(LocalDateTime.now());
+        try {
+            ioPermits.withDatabase(() -> attachmentFetchTaskRepository.save(task));
+        } catch (Exception e) {
+            // The task stays as it was and is fetched again
+            logger.warn("Could not record attachment task {} as {}: {}", task.getDocGuid(), status, e.getMessage());
+        }
+    }
+}
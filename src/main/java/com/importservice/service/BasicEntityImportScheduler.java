@@ -0,0 +1,171 @@
+package com.importservice.service;
+
+import com.importservice.dto.EntityImportReportDto;
+import com.importservice.dto.ImportReportDto;
+import com.importservice.dto.ImportResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs the basic-entity imports as a dependency graph: imports without unfinished
+ * dependencies run concurrently on the basic-entity executor, so a full reference refresh
+ * takes about as long as its slowest dependency chain instead of the sum of all imports.
+ */
+@Service
+public class BasicEntityImportScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BasicEntityImportScheduler.class);
+
+    @Autowired
+    private DataImportService dataImportService;
+
+    @Autowired
+    @Qualifier("basicEntityImportExecutor")
+    private ThreadPoolTaskExecutor basicEntityImportExecutor;
+
+    private static class ImportTask {
+        private final String entityName;
+        private final Supplier<ImportResponseDto> importFunction;
+        private final List<String> dependsOn;
+
+        ImportTask(String entityName, Supplier<ImportResponseDto> importFunction, List<String> dependsOn) {
+            this.entityName = entityName;
+            this.importFunction = importFunction;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    public ImportReportDto importBasicEntities() {
+        Map<String, ImportTask> tasks = new LinkedHashMap<>();
+        addTask(tasks, "Classifications", dataImportService::importClassifications);
+        addTask(tasks, "Contacts", dataImportService::importContacts);
+        addTask(tasks, "Decisions", dataImportService::importDecisions);
+        addTask(tasks, "Departments", dataImportService::importDepartments);
+        addTask(tasks, "Forms", dataImportService::importForms);
+        addTask(tasks, "FormTypes", dataImportService::importFormTypes);
+        addTask(tasks, "Importance", dataImportService::importImportance);
+        addTask(tasks, "Priority", dataImportService::importPriority);
+        addTask(tasks, "Roles", dataImportService::importRoles);
+        addTask(tasks, "Secrecy", dataImportService::importSecrecy);
+        addTask(tasks, "Users", dataImportService::importUsers);
+        addTask(tasks, "Positions", dataImportService::importPositions, "Departments");
+        addTask(tasks, "PosRoles", dataImportService::importPosRoles, "Positions", "Roles");
+        addTask(tasks, "UserPositions", dataImportService::importUserPositions, "Users", "Positions");
+        addTask(tasks, "Correspondences", dataImportService::importCorrespondences,
+                "Classifications", "FormTypes", "Importance", "Priority", "Secrecy");
+        return run(tasks);
+    }
+
+    private void addTask(Map<String, ImportTask> tasks, String entityName,
+                         Supplier<ImportResponseDto> importFunction, String... dependsOn) {
+        // Dependencies must be declared first, which keeps the graph acyclic by construction
+        for (String dependency : dependsOn) {
+            if (!tasks.containsKey(dependency)) {
+                throw new IllegalStateException(entityName + " depends on undeclared import " + dependency);
+            }
+        }
+        tasks.put(entityName, new ImportTask(entityName, importFunction, Arrays.asList(dependsOn)));
+    }
+
+    private ImportReportDto run(Map<String, ImportTask> tasks) {
+        logger.info("Starting scheduled import of {} basic entity types", tasks.size());
+        long runStart = System.nanoTime();
+
+        Map<String, CompletableFuture<EntityImportReportDto>> futures = new LinkedHashMap<>();
+        for (ImportTask task : tasks.values()) {
+            Supplier<EntityImportReportDto> runTask = ImportOptions.propagate(() -> execute(task, runStart));
+            CompletableFuture<?>[] dependencies = task.dependsOn.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture<EntityImportReportDto> future = CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> runTask.get(), basicEntityImportExecutor);
+            futures.put(task.entityName, future);
+        }
+
+        ImportReportDto report = new ImportReportDto();
+        List<String> errors = new ArrayList<>();
+        int totalRecords = 0;
+        int successfulImports = 0;
+        int failedImports = 0;
+        int erroredEntities = 0;
+        long totalImportMillis = 0;
+
+        for (CompletableFuture<EntityImportReportDto> future : futures.values()) {
+            EntityImportReportDto entityReport = future.join();
+            report.getEntities().add(entityReport);
+            totalRecords += entityReport.getTotalRecords();
+            successfulImports += entityReport.getSuccessfulImports();
+            failedImports += entityReport.getFailedImports();
+            totalImportMillis += entityReport.getDurationMillis();
+            if ("ERROR".equals(entityReport.getStatus())) {
+                erroredEntities++;
+                errors.add(entityReport.getEntityName() + ": " + entityReport.getMessage());
+            } else if (!"SUCCESS".equals(entityReport.getStatus())) {
+                errors.add(entityReport.getEntityName() + ": " + entityReport.getMessage());
+            }
+        }
+
+        long wallClockMillis = (System.nanoTime() - runStart) / 1_000_000;
+        String status;
+        if (erroredEntities == tasks.size()) {
+            status = "ERROR";
+        } else if (errors.isEmpty()) {
+            status = "SUCCESS";
+        } else {
+            status = "PARTIAL_SUCCESS";
+        }
+
+        report.setStatus(status);
+        report.setMessage(String.format(
+                "Basic entities import completed in %d ms (%d ms of import work). Entities: %d, Errors: %d",
+                wallClockMillis, totalImportMillis, tasks.size(), erroredEntities));
+        report.setTotalRecords(totalRecords);
+        report.setSuccessfulImports(successfulImports);
+        report.setFailedImports(failedImports);
+        report.setErrors(errors);
+        report.setWallClockMillis(wallClockMillis);
+        report.setTotalImportMillis(totalImportMillis);
+
+        logger.info(report.getMessage());
+        return report;
+    }
+
+    private EntityImportReportDto execute(ImportTask task, long runStart) {
+        long start = System.nanoTime();
+        ImportResponseDto result;
+        try {
+            result = task.importFunction.get();
+        } catch (Exception e) {
+            logger.error("Import of {} failed", task.entityName, e);
+            result = new ImportResponseDto("ERROR", "Failed to import " + task.entityName + ": " + e.getMessage(),
+                    0, 0, 0, Arrays.asList(e.getMessage()));
+        }
+        long end = System.nanoTime();
+
+        EntityImportReportDto entityReport = new EntityImportReportDto();
+        entityReport.setEntityName(task.entityName);
+        entityReport.setDependsOn(task.dependsOn);
+        entityReport.setStatus(result.getStatus());
+        entityReport.setMessage(result.getMessage());
+        entityReport.setTotalRecords(result.getTotalRecords() != null ? result.getTotalRecords() : 0);
+        entityReport.setSuccessfulImports(result.getSuccessfulImports() != null ? result.getSuccessfulImports() : 0);
+        entityReport.setFailedImports(result.getFailedImports() != null ? result.getFailedImports() : 0);
+        entityReport.setStartOffsetMillis((start - runStart) / 1_000_000);
+        entityReport.setDurationMillis((end - start) / 1_000_000);
+        logger.info("{} import finished with status {} in {} ms",
+                task.entityName, result.getStatus(), entityReport.getDurationMillis());
+        return entityReport;
+    }
+}
@@ -0,0 +1,194 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs named import jobs once, without the web container, for scheduled syncs. Selected by the
+ * {@code batch} profile or by passing {@code --import.batch.job=<job>[,<job>...]}; the jobs run
+ * in the order given and the process exits with {@link #EXIT_SUCCESS}, {@link #EXIT_PARTIAL}
+ * if any job had failed rows, {@link #EXIT_ERROR} if any job failed, or {@link #EXIT_USAGE}
+ * for an unknown or missing job. With deferred attachments it waits, up to
+ * {@code import.batch.attachment-drain-seconds}, for the attachment lane to drain before it
+ * exits; attachment fetches that failed or are still pending make the run partial.
+ */
+@Component
+@Profile(BatchImportRunner.PROFILE)
+public class BatchImportRunner implements CommandLineRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchImportRunner.class);
+
+    public static final String PROFILE = "batch";
+
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_ERROR = 1;
+    public static final int EXIT_PARTIAL = 2;
+    public static final int EXIT_USAGE = 64;
+
+    private static final String JOB_ARGUMENT = "--import.batch.job=";
+
+    // Starts the context and exits without importing, e.g. for AppCDS training runs
+    private static final String STARTUP_JOB = "startup";
+
+    @Value("${import.batch.job:}")
+    private String job;
+
+    @Value("${import.batch.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${import.batch.sample-percent:100}")
+    private double samplePercent;
+
+    @Value("${import.batch.attachment-drain-seconds:1800}")
+    private long attachmentDrainSeconds;
+
+    @Autowired
+    private DataImportService dataImportService;
+
+    @Autowired
+    private BasicEntityImportScheduler basicEntityImportScheduler;
+
+    @Autowired
+    private OutgoingCorrespondenceImportService outgoingCorrespondenceImportService;
+
+    @Autowired
+    private ExternalAgencyImportService externalAgencyImportService;
+
+    @Autowired
+    private DryRunService dryRunService;
+
+    @Autowired
+    private AttachmentLane attachmentLane;
+
+    private int exitCode = EXIT_SUCCESS;
+
+    /**
+     * Whether the command line asks for a batch run, so the application can start in batch mode
+     * without the profile being set.
+     */
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith(JOB_ARGUMENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void run(String... args) {
+        logger.info("Batch mode ready {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+
+        Map<String, Supplier<ImportResponseDto>> available = jobs();
+        List<String> requested = new ArrayList<>();
+        for (String name : job.split(",")) {
+            if (!name.trim().isEmpty()) {
+                requested.add(name.trim());
+            }
+        }
+        if (requested.isEmpty()) {
+            logger.error("No import job given; set import.batch.job to one or more of {}", available.keySet());
+            exitCode = EXIT_USAGE;
+            return;
+        }
+        for (String name : requested) {
+            if (!available.containsKey(name) && !STARTUP_JOB.equals(name)) {
+                logger.error("Unknown import job {}; expected one or more of {}", name, available.keySet());
+                exitCode = EXIT_USAGE;
+                return;
+            }
+        }
+
+        boolean failed = false;
+        boolean partial = false;
+        boolean imported = false;
+        for (String name : requested) {
+            if (STARTUP_JOB.equals(name)) {
+                continue;
+            }
+            imported = true;
+            long start = System.currentTimeMillis();
+            try {
+                ImportResponseDto response = dryRunService.run(dryRun, samplePercent, available.get(name));
+                logger.info("Batch job {} finished in {} ms: {} - {}", name, System.currentTimeMillis() - start,
+                            response.getStatus(), response.getMessage());
+                if ("ERROR".equals(response.getStatus())) {
+                    failed = true;
+                } else if (!"SUCCESS".equals(response.getStatus())) {
+                    partial = true;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Batch job {} failed after {} ms", name, System.currentTimeMillis() - start, e);
+                failed = true;
+            }
+        }
+        if (imported && !dryRun && !drainAttachments()) {
+            partial = true;
+        }
+        exitCode = failed ? EXIT_ERROR : partial ? EXIT_PARTIAL : EXIT_SUCCESS;
+    }
+
+    /**
+     * Waits for the deferred attachment lane, which would otherwise stop with the process, and
+     * returns whether every attachment fetch of this run completed.
+     */
+    private boolean drainAttachments() {
+        if (!attachmentLane.isDeferred()) {
+            return true;
+        }
+        long start = System.currentTimeMillis();
+        long pending;
+        try {
+            pending = attachmentLane.awaitDrained(TimeUnit.SECONDS.toMillis(Math.max(0, attachmentDrainSeconds)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while waiting for the attachment lane to drain");
+            return false;
+        } catch (RuntimeException e) {
+            logger.error("Could not wait for the attachment lane to drain: {}", e.getMessage());
+            return false;
+        }
+        long failedTasks = attachmentLane.failedSinceStartup();
+        if (pending > 0) {
+            logger.warn("Attachment lane not drained after {} ms: {} fetches still pending, resumed on the next start",
+                        System.currentTimeMillis() - start, pending);
+        } else {
+            logger.info("Attachment lane drained in {} ms", System.currentTimeMillis() - start);
+        }
+        if (failedTasks > 0) {
+            logger.warn("{} attachment fetches failed; POST /api/data-import/attachment-lane/retry-failed re-queues them", failedTasks);
+        }
+        return pending == 0 && failedTasks == 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private Map<String, Supplier<ImportResponseDto>> jobs() {
+        Map<String, Supplier<ImportResponseDto>> jobs = new LinkedHashMap<>();
+        jobs.put("basic-entities", basicEntityImportScheduler::importBasicEntities);
+        jobs.put("correspondences", dataImportService::importCorrespondences);
+        jobs.put("all-related", dataImportService::importAllCorrespondencesWithRelated);
+        jobs.put("outgoing", outgoingCorrespondenceImportService::importOutgoingCorrespondences);
+        jobs.put("outgoing-related", outgoingCorrespondenceImportService::importAllOutgoingCorrespondencesWithRelated);
+        jobs.put("agencies", externalAgencyImportService::importExternalAgencies);
+        return jobs;
+    }
+}
@@ -0,0 +1,150 @@
+package com.importservice.service;
+
+import com.importservice.dto.BulkheadStatsDto;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * An isolated lane for one related-entity type: its own pool of {@code concurrency} threads
+ * and a queue of at most {@code queueCapacity} waiting imports. A submission that finds the
+ * queue full waits for space on the submitting thread, so a slow endpoint holds back the
+ * documents that need it but never the threads of the other lanes, and no import is dropped.
+ */
+public class Bulkhead {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong saturatedSubmissions = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong blockedSubmissions = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong runNanos = new AtomicLong();
+
+    Bulkhead(String name, int concurrency, int queueCapacity) {
+        this.name = name;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bulkhead-" + name + "-"),
+                this::waitForSpace);
+        // Lanes of entity types that are not being imported give their threads back
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs {@code work} on this lane with the caller's import options.
+     *
+     * Waits for queue space if the lane is full.
+     *
+     * @throws RejectedExecutionException if the lane has been shut down or the wait is interrupted
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        Supplier<T> propagated = ImportOptions.propagate(work);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        boolean saturated = active.get() >= concurrency;
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(propagated, future, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Bulkhead " + name + " refused the import: " + e.getMessage(), e);
+        }
+        submitted.incrementAndGet();
+        if (saturated) {
+            saturatedSubmissions.incrementAndGet();
+        }
+        int queued = executor.getQueue().size();
+        peakQueued.accumulateAndGet(queued, Math::max);
+        return future;
+    }
+
+    private void waitForSpace(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Bulkhead " + name + " is shut down");
+        }
+        blockedSubmissions.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for bulkhead " + name, e);
+        } finally {
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+        // Idle threads time out, so make sure one is there to take the task put straight on the queue
+        pool.prestartCoreThread();
+    }
+
+    private <T> void run(Supplier<T> work, CompletableFuture<T> future, long enqueuedAt) {
+        long start = System.nanoTime();
+        long waited = start - enqueuedAt;
+        queueWaitNanos.addAndGet(waited);
+        maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+        active.incrementAndGet();
+        try {
+            future.complete(work.get());
+            completed.incrementAndGet();
+        } catch (Throwable e) {
+            failed.incrementAndGet();
+            future.completeExceptionally(e);
+        } finally {
+            active.decrementAndGet();
+            runNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    BulkheadStatsDto stats() {
+        long started = completed.get() + failed.get();
+        long submissions = submitted.get() + rejected.get();
+
+        BulkheadStatsDto stats = new BulkheadStatsDto();
+        stats.setName(name);
+        stats.setConcurrency(concurrency);
+        stats.setQueueCapacity(queueCapacity);
+        stats.setActive(active.get());
+        stats.setQueued(executor.getQueue().size());
+        stats.setPeakQueued(peakQueued.get());
+        stats.setSubmitted(submitted.get());
+        stats.setCompleted(completed.get());
+        stats.setFailed(failed.get());
+        stats.setRejected(rejected.get());
+        stats.setBlockedSubmissions(blockedSubmissions.get());
+        stats.setBlockedMs(blockedNanos.get() / NANOS_PER_MILLI);
+        stats.setSaturatedSubmissions(saturatedSubmissions.get());
+        stats.setSaturationPercent(submissions == 0 ? 0.0
+                : (saturatedSubmissions.get() + rejected.get()) * 100.0 / submissions);
+        stats.setAverageQueueWaitMs(started == 0 ? 0.0 : queueWaitNanos.get() / NANOS_PER_MILLI / started);
+        stats.setMaxQueueWaitMs(maxQueueWaitNanos.get() / NANOS_PER_MILLI);
+        stats.setAverageRunMs(started == 0 ? 0.0 : runNanos.get() / NANOS_PER_MILLI / started);
+        return stats;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
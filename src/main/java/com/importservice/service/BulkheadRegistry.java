@@ -0,0 +1,89 @@
+package com.importservice.service;
+
+import com.importservice.dto.BulkheadStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * One {@link Bulkhead} per related-entity type, created on first use. A lane takes
+ * {@code import.bulkhead.default-concurrency} and {@code import.bulkhead.default-queue-capacity}
+ * unless {@code import.bulkhead.<EntityName>.concurrency} or {@code .queue-capacity} overrides them.
+ */
+@Component
+public class BulkheadRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadRegistry.class);
+
+    @Value("${import.bulkhead.default-concurrency:16}")
+    private int defaultConcurrency;
+
+    // At least import.io.max-documents-in-flight, since each document queues one import per lane
+    @Value("${import.bulkhead.default-queue-capacity:1000}")
+    private int defaultQueueCapacity;
+
+    @Autowired
+    private Environment environment;
+
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (defaultConcurrency < 1) {
+            throw new IllegalArgumentException(
+                    "import.bulkhead.default-concurrency must be at least 1, was: " + defaultConcurrency);
+        }
+        if (defaultQueueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "import.bulkhead.default-queue-capacity must be at least 1, was: " + defaultQueueCapacity);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            bulkhead.shutdown();
+        }
+    }
+
+    public Bulkhead get(String entityName) {
+        return bulkheads.computeIfAbsent(entityName, this::create);
+    }
+
+    /**
+     * Saturation metrics of every lane used since startup, by name.
+     */
+    public List<BulkheadStatsDto> stats() {
+        List<BulkheadStatsDto> stats = new ArrayList<>(bulkheads.size());
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            stats.add(bulkhead.stats());
+        }
+        return stats;
+    }
+
+    private Bulkhead create(String entityName) {
+        int concurrency = lanePropertyOrDefault(entityName, "concurrency", defaultConcurrency);
+        int queueCapacity = lanePropertyOrDefault(entityName, "queue-capacity", defaultQueueCapacity);
+        logger.info("Bulkhead {}: {} threads, queue of {}", entityName, concurrency, queueCapacity);
+        return new Bulkhead(entityName, concurrency, queueCapacity);
+    }
+
+    private int lanePropertyOrDefault(String entityName, String property, int defaultValue) {
+        String key = "import.bulkhead." + entityName + "." + property;
+        int value = environment.getProperty(key, Integer.class, defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException(key + " must be at least 1, was: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.importservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of writing a list of rows through {@link ChunkedImportWriter}.
+ */
+public class ChunkWriteResult {
+
+    private int succeeded;
+    private int failed;
+    private int chunks;
+    private final List<String> errors = new ArrayList<>();
+
+    void addSucceeded(int count) {
+        succeeded += count;
+    }
+
+    void addFailed(String error) {
+        failed++;
+        errors.add(error);
+    }
+
+    void incrementChunks() {
+        chunks++;
+    }
+
+    void add(ChunkWriteResult other) {
+        succeeded += other.succeeded;
+        failed += other.failed;
+        chunks += other.chunks;
+        errors.addAll(other.errors);
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
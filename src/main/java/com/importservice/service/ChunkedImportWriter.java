@@ -0,0 +1,271 @@
+package com.importservice.service;
+
+import com.importservice.entity.ImportChunk;
+import com.importservice.repository.ImportChunkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes imported rows in fixed-size chunks, each committed in its own transaction.
+ * The persistence context is flushed and cleared after every chunk so dirty checking stays
+ * proportional to the chunk size. If a chunk fails it is rolled back and retried alone,
+ * one row per transaction, so a single bad row does not discard its neighbours.
+ * <p>
+ * With {@code import.chunk.record-progress} each chunk's outcome is appended to
+ * {@code import_chunks}. That table is an audit log for finding failed chunks by key range;
+ * nothing reads it back, and a failed chunk is re-imported by running its job again.
+ * <p>
+ * In a dry run ({@link ImportOptions#isDryRun()}) nothing is written: rows are only checked
+ * for a missing key and counted.
+ */
+@Component
+public class ChunkedImportWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedImportWriter.class);
+
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(T row);
+    }
+
+    @Value("${import.chunk.size:500}")
+    private int chunkSize;
+
+    @Value("${import.chunk.timeout-seconds:120}")
+    private int chunkTimeoutSeconds;
+
+    @Value("${import.chunk.record-progress:true}")
+    private boolean recordProgress;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    @Autowired
+    private ImportProgressRegistry importProgressRegistry;
+
+    @Autowired
+    private ExistingKeyIndex existingKeyIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> ChunkWriteResult write(String entityName, List<T> rows, RowWriter<T> rowWriter) {
+        return write(entityName, rows, rowWriter, null);
+    }
+
+    public <T> ChunkWriteResult write(String entityName, List<T> rows, RowWriter<T> rowWriter, ImportProgress progress) {
+        ChunkWriteResult result = new ChunkWriteResult();
+        if (rows == null || rows.isEmpty()) {
+            return result;
+        }
+        // Single-chunk jobs (typically one document's related rows) only record failures
+        writeBatch(UUID.randomUUID().toString(), entityName, 0, rows, rowWriter, progress,
+                rows.size() > getChunkSize(), result);
+        return result;
+    }
+
+    int getChunkSize() {
+        return Math.max(1, chunkSize);
+    }
+
+    /**
+     * Writes {@code rows}, which start at {@code rowOffset} of the job {@code runId}, adding the
+     * outcome to {@code result}. Lets a job that arrives in batches record its chunks as one run.
+     */
+    <T> void writeBatch(String runId, String entityName, int rowOffset, List<T> rows, RowWriter<T> rowWriter,
+                        ImportProgress progress, boolean multiChunkJob, ChunkWriteResult result) {
+        ImportOptions options = ImportOptions.current();
+        if (options.isDryRun()) {
+            validateOnly(entityName, rows, result, progress, options);
+            return;
+        }
+
+        int size = getChunkSize();
+        boolean recordAllChunks = recordProgress && multiChunkJob;
+
+        for (int batchOffset = 0; batchOffset < rows.size(); batchOffset += size) {
+            List<T> chunk = rows.subList(batchOffset, Math.min(batchOffset + size, rows.size()));
+            int offset = rowOffset + batchOffset;
+            int chunkIndex = offset / size;
+            long startNanos = System.nanoTime();
+            result.incrementChunks();
+
+            try {
+                // Commit time is what execute() takes after the callback has returned
+                ImportStageEvent[] commitEvent = new ImportStageEvent[1];
+                int written = ioPermits.withDatabase(() -> newChunkTransaction().execute(status -> {
+                    int rowsWritten = writeChunk(entityName, chunk, rowWriter);
+                    commitEvent[0] = ImportStageEvent.start(ImportStageEvent.COMMIT, entityName);
+                    return rowsWritten;
+                }));
+                commitEvent[0].finish(written);
+                result.addSucceeded(written);
+                importProgressRegistry.recordRows(entityName, written, chunk.size() - written);
+                if (progress != null) {
+                    progress.recordSuccess(written);
+                }
+                for (int i = written; i < chunk.size(); i++) {
+                    result.addFailed("Null " + entityName + " object received");
+                    if (progress != null) {
+                        progress.recordFailure();
+                    }
+                }
+                logger.debug("Committed {} chunk {} ({} rows)", entityName, chunkIndex, written);
+                if (recordAllChunks) {
+                    recordChunk(runId, entityName, chunkIndex, offset, chunk, "COMMITTED",
+                            written, chunk.size() - written, null, startNanos);
+                }
+            } catch (Exception e) {
+                logger.warn("{} chunk {} (rows {}-{}) failed, retrying it row by row: {}",
+                        entityName, chunkIndex, offset, offset + chunk.size() - 1, e.getMessage());
+                int failedBefore = result.getFailed();
+                int succeededBefore = result.getSucceeded();
+                retryChunkRowByRow(entityName, chunk, rowWriter, result, progress);
+                importProgressRegistry.recordRows(entityName, result.getSucceeded() - succeededBefore,
+                        result.getFailed() - failedBefore);
+                recordChunk(runId, entityName, chunkIndex, offset, chunk, "RETRIED",
+                        result.getSucceeded() - succeededBefore, result.getFailed() - failedBefore,
+                        e.getMessage(), startNanos);
+            }
+        }
+    }
+
+    private <T> void validateOnly(String entityName, List<T> rows, ChunkWriteResult result,
+                                  ImportProgress progress, ImportOptions options) {
+        for (T row : rows) {
+            String error = null;
+            if (row == null) {
+                error = "Null " + entityName + " object received";
+            } else if (existingKeyIndex.isMissingKey(row)) {
+                error = entityName + " without a key received";
+            }
+            if (error != null) {
+                result.addFailed(error);
+                options.recordValidationFailure(entityName);
+                if (progress != null) {
+                    progress.recordFailure();
+                }
+            } else {
+                result.addSucceeded(1);
+                if (progress != null) {
+                    progress.recordSuccess();
+                }
+            }
+        }
+        result.incrementChunks();
+    }
+
+    private <T> int writeChunk(String entityName, List<T> chunk, RowWriter<T> rowWriter) {
+        ImportStageEvent writeEvent = ImportStageEvent.start(ImportStageEvent.WRITE, entityName);
+        int written = 0;
+        for (T row : chunk) {
+            if (row == null) {
+                continue;
+            }
+            rowWriter.write(row);
+            written++;
+        }
+        writeEvent.finish(written);
+        ImportStageEvent flushEvent = ImportStageEvent.start(ImportStageEvent.FLUSH, entityName);
+        entityManager.flush();
+        entityManager.clear();
+        flushEvent.finish(written);
+        return written;
+    }
+
+    private <T> void retryChunkRowByRow(String entityName, List<T> chunk, RowWriter<T> rowWriter,
+                                        ChunkWriteResult result, ImportProgress progress) {
+        TransactionTemplate rowTransaction = newChunkTransaction();
+        for (T row : chunk) {
+            if (row == null) {
+                result.addFailed("Null " + entityName + " object received");
+                if (progress != null) {
+                    progress.recordFailure();
+                }
+                continue;
+            }
+            try {
+                ioPermits.withDatabase(() -> rowTransaction.execute(status -> {
+                    rowWriter.write(row);
+                    entityManager.flush();
+                    entityManager.clear();
+                    return null;
+                }));
+                result.addSucceeded(1);
+                if (progress != null) {
+                    progress.recordSuccess();
+                }
+            } catch (Exception e) {
+                String errorMsg = "Failed to save " + entityName + " " + keyOf(row) + ": " + e.getMessage();
+                result.addFailed(errorMsg);
+                if (progress != null) {
+                    progress.recordFailure();
+                }
+                errorLogThrottle.error(logger, entityName, errorMsg, e);
+            }
+        }
+    }
+
+    private <T> void recordChunk(String runId, String entityName, int chunkIndex, int offset, List<T> chunk,
+                                 String status, int succeeded, int failed, String errorMessage, long startNanos) {
+        try {
+            ImportChunk record = new ImportChunk();
+            record.setRunId(runId);
+            record.setEntityName(entityName);
+            record.setChunkIndex(chunkIndex);
+            record.setRowOffset(offset);
+            record.setRowCount(chunk.size());
+            record.setFirstKey(keyOf(chunk.get(0)));
+            record.setLastKey(keyOf(chunk.get(chunk.size() - 1)));
+            record.setStatus(status);
+            record.setSucceededRows(succeeded);
+            record.setFailedRows(failed);
+            record.setErrorMessage(errorMessage);
+            record.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+            record.setRecordedAt(LocalDateTime.now());
+            ioPermits.withDatabase(() -> importChunkRepository.save(record));
+        } catch (Exception e) {
+            logger.warn("Could not record progress for {} chunk {}: {}", entityName, chunkIndex, e.getMessage());
+        }
+    }
+
+    private String keyOf(Object row) {
+        if (row == null) {
+            return null;
+        }
+        try {
+            Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(row);
+            return id != null ? String.valueOf(id) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private TransactionTemplate newChunkTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setTimeout(chunkTimeoutSeconds);
+        return template;
+    }
+}
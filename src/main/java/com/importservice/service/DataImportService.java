@@ -1,8 +1,5 @@
 package com.importservice.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.importservice.dto.ApiResponseDto;
 import com.importservice.dto.ImportResponseDto;
 import com.importservice.entity.*;
 import com.importservice.repository.*;
@@ -11,37 +8,75 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 public class DataImportService {
 
     private static final Logger logger = LoggerFactory.getLogger(DataImportService.class);
 
+    // Job name of the per-document checkpoints written by importAllCorrespondenceRelated
+    private static final String CORRESPONDENCE_RELATED_JOB = "CorrespondencesWithRelated";
+
     @Value("${source.api.base-url}")
     private String sourceApiBaseUrl;
 
-    @Value("${source.api.key}")
-    private String sourceApiKey;
+    @Value("${import.fetch.engine:blocking}")
+    private String fetchEngine;
 
     @Autowired
-    private RestTemplate restTemplate;
-    
+    private SourceApiClient sourceApiClient;
+
+    @Autowired
+    private ReactiveSourceFetchEngine reactiveSourceFetchEngine;
+
+    @Autowired
+    private DocumentIoExecutor documentIoExecutor;
+
+    @Autowired
+    private ExistingKeyIndex existingKeyIndex;
+
+    @Autowired
+    private LatencyTracker latencyTracker;
+
+    @Autowired
+    private ImportProgressLogger importProgressLogger;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    @Autowired
+    private JdbcBulkLoader jdbcBulkLoader;
+
     @Autowired
-    private ObjectMapper objectMapper;
+    private AttachmentLane attachmentLane;
+
+    @Autowired
+    private ImportPipeline importPipeline;
+
+    @Autowired
+    private DocumentCheckpoints documentCheckpoints;
+
+    @Autowired
+    private PartitionLeases partitionLeases;
+
+    @Autowired
+    private DocumentRetryQueue documentRetryQueue;
 
     // Basic entity repositories
     @Autowired
@@ -120,176 +155,134 @@ public class DataImportService {
     @Autowired
     private CorrespondenceTransactionRepository correspondenceTransactionRepository;
 
+    @PostConstruct
+    public void registerRetries() {
+        documentRetryQueue.register(CORRESPONDENCE_RELATED_JOB, this::importAllCorrespondenceRelated);
+    }
 
     // Basic entity import methods
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importClassifications() {
         logger.info("Starting classifications import");
         return importGenericData("/Classifications", Classification.class, classificationRepository, "Classifications");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importContacts() {
         logger.info("Starting contacts import");
         return importGenericData("/Contacts", Contact.class, contactRepository, "Contacts");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importDecisions() {
         logger.info("Starting decisions import");
         return importGenericData("/Decisions", Decision.class, decisionRepository, "Decisions");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importDepartments() {
         logger.info("Starting departments import");
         return importGenericData("/Departments", Department.class, departmentRepository, "Departments");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importForms() {
         logger.info("Starting forms import");
         return importGenericData("/Forms", Form.class, formRepository, "Forms");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importFormTypes() {
         logger.info("Starting form types import");
         return importGenericData("/FormTypes", FormType.class, formTypeRepository, "FormTypes");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importImportance() {
         logger.info("Starting importance import");
         return importGenericData("/Importance", Importance.class, importanceRepository, "Importance");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importPositions() {
         logger.info("Starting positions import");
         return importGenericData("/Positions", Position.class, positionRepository, "Positions");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importPosRoles() {
         logger.info("Starting pos roles import");
         return importGenericData("/PosRole", PosRole.class, posRoleRepository, "PosRoles");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importPriority() {
         logger.info("Starting priority import");
         return importGenericData("/Priority", Priority.class, priorityRepository, "Priority");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importRoles() {
         logger.info("Starting roles import");
         return importGenericData("/Roles", Role.class, roleRepository, "Roles");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importSecrecy() {
         logger.info("Starting secrecy import");
         return importGenericData("/Secrecy", Secrecy.class, secrecyRepository, "Secrecy");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importUserPositions() {
         logger.info("Starting user positions import");
         return importGenericData("/UserPosition", UserPosition.class, userPositionRepository, "UserPositions");
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importUsers() {
         logger.info("Starting users import");
         return importUsersData();
     }
 
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondences() {
         logger.info("Starting correspondences import");
         return importCorrespondenceData();
     }
 
     private ImportResponseDto importUsersData() {
-        List<String> errors = new ArrayList<>();
-        int successfulImports = 0;
-        int failedImports = 0;
-        int totalRecords = 0;
-
         try {
-            String url = sourceApiBaseUrl + "/Users";
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            // Check if response body is null
-            String responseBody = response.getBody();
-            if (responseBody == null || responseBody.trim().isEmpty()) {
-                logger.warn("Empty response body for Users");
-                return new ImportResponseDto("SUCCESS", "No Users found", 
-                    0, 0, 0, new ArrayList<>());
+            if (jdbcBulkLoader.canLoad(User.class)) {
+                return importByJdbc(sourceApiBaseUrl + "/Users", User.class, "Users");
             }
-            
-            // Create specific TypeReference for Users
-            TypeReference<ApiResponseDto<User>> typeRef = new TypeReference<ApiResponseDto<User>>() {};
-            ApiResponseDto<User> apiResponse = objectMapper.readValue(responseBody, typeRef);
-
-            if (apiResponse == null || !Boolean.TRUE.equals(apiResponse.getSuccess())) {
-                String message = apiResponse != null ? apiResponse.getMessage() : "Unknown API error";
+            ImportProgress progress = importProgressLogger.start("Users", 0);
+            existingKeyIndex.load(User.class);
+            PipelineResult result;
+            try {
+                result = importPipeline.run(new PipelineJob<>("Users", sourceApiBaseUrl + "/Users", User.class,
+                        existingKeyIndex.upsert(User.class, userRepository::save))
+                        .writingAs("User")
+                        .reportingTo(progress));
+            } finally {
+                existingKeyIndex.release(User.class);
+                progress.finish();
+            }
+            if (result.isFailure()) {
+                String message = result.getFailureMessage();
                 return new ImportResponseDto("ERROR", "API returned failure: " + message, 
                     0, 0, 0, Arrays.asList("API returned failure: " + message));
             }
-
-            List<User> users = apiResponse.getData();
-            totalRecords = users != null ? users.size() : 0;
-            logger.info("Found {} Users to import", totalRecords);
-
-            if (users != null) {
-                for (User user : users) {
-                    try {
-                        if (user == null) {
-                            failedImports++;
-                            errors.add("Null User object received");
-                            continue;
-                        }
-                        userRepository.save(user);
-                        successfulImports++;
-                        logger.info("Successfully saved user: {}", user.getGuid());
-                    } catch (Exception e) {
-                        failedImports++;
-                        String userGuid = user != null ? user.getGuid() : "unknown";
-                        String errorMsg = "Failed to save User " + userGuid + ": " + e.getMessage();
-                        errors.add(errorMsg);
-                        logger.error(errorMsg, e);
-                    }
-                }
-            } else {
+            if (result.isEmpty()) {
                 logger.info("No Users data found in API response");
             }
 
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String status = result.getFailed() == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
             String message = String.format("Users import completed. Success: %d, Failed: %d", 
-                                         successfulImports, failedImports);
+                                         result.getSucceeded(), result.getFailed());
 
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            return new ImportResponseDto(status, message, result.getRecords(), result.getSucceeded(),
+                                         result.getFailed(), new ArrayList<>(result.getErrors()));
 
         } catch (Exception e) {
             logger.error("Failed to import Users", e);
@@ -299,104 +292,63 @@ public class DataImportService {
     }
 
     // Correspondence-related import methods
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceAttachments(String docGuid) {
-        logger.info("Starting correspondence attachments import for doc: {}", docGuid);
+        logger.debug("Starting correspondence attachments import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceAttachments/docGuid/" + docGuid, 
                                              CorrespondenceAttachment.class, 
                                              correspondenceAttachmentRepository, 
                                              "CorrespondenceAttachments");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceComments(String docGuid) {
-        logger.info("Starting correspondence comments import for doc: {}", docGuid);
+        logger.debug("Starting correspondence comments import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceComments/docGuid/" + docGuid, 
                                              CorrespondenceComment.class, 
                                              correspondenceCommentRepository, 
                                              "CorrespondenceComments");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceCopyTos(String docGuid) {
-        logger.info("Starting correspondence copy tos import for doc: {}", docGuid);
+        logger.debug("Starting correspondence copy tos import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceCopyTo/docGUId/" + docGuid, 
                                              CorrespondenceCopyTo.class, 
                                              correspondenceCopyToRepository, 
                                              "CorrespondenceCopyTos");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceCurrentDepartments(String docGuid) {
-        logger.info("Starting correspondence current departments import for doc: {}", docGuid);
-        
-        List<String> errors = new ArrayList<>();
-        int successfulImports = 0;
-        int failedImports = 0;
-        int totalRecords = 0;
+        return ImportStageEvent.forDocument(docGuid, () -> importCorrespondenceCurrentDepartmentsForDocument(docGuid));
+    }
 
-        try {
-            String url = sourceApiBaseUrl + "/CorrespondenceCurrentDepartments/docGuid/" + docGuid;
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+    private ImportResponseDto importCorrespondenceCurrentDepartmentsForDocument(String docGuid) {
+        logger.debug("Starting correspondence current departments import for doc: {}", docGuid);
 
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            // Check if response body is null
-            String responseBody = response.getBody();
-            if (responseBody == null || responseBody.trim().isEmpty()) {
-                logger.warn("Empty response body for correspondence current departments, docGuid: {}", docGuid);
-                return new ImportResponseDto("SUCCESS", "No correspondence current departments found for document", 
-                    0, 0, 0, new ArrayList<>());
-            }
-            
-            TypeReference<ApiResponseDto<CorrespondenceCurrentDepartment>> typeRef = 
-                new TypeReference<ApiResponseDto<CorrespondenceCurrentDepartment>>() {};
-            ApiResponseDto<CorrespondenceCurrentDepartment> apiResponse = objectMapper.readValue(responseBody, typeRef);
-
-            if (apiResponse == null || !Boolean.TRUE.equals(apiResponse.getSuccess())) {
-                String message = apiResponse != null ? apiResponse.getMessage() : "Unknown API error";
-                return createErrorResponse("API returned failure: " + message);
+        try {
+            PipelineResult result = importPipeline.run(new PipelineJob<>("CorrespondenceCurrentDepartments",
+                    sourceApiBaseUrl + "/CorrespondenceCurrentDepartments/docGuid/" + docGuid,
+                    CorrespondenceCurrentDepartment.class, correspondenceCurrentDepartmentRepository::save)
+                    .writingAs("CorrespondenceCurrentDepartment")
+                    .enrichedBy(dept -> {
+                        dept.setDocGuid(docGuid); // Set the doc guid
+                        return null;
+                    })
+                    .writtenBehind());
+            if (result.isFailure()) {
+                return createErrorResponse("API returned failure: " + result.getFailureMessage());
             }
-
-            List<CorrespondenceCurrentDepartment> departments = apiResponse.getData();
-            if (departments == null || departments.isEmpty()) {
+            if (result.isEmpty()) {
                 logger.info("No correspondence current departments found for docGuid: {}", docGuid);
                 return new ImportResponseDto("SUCCESS", "No correspondence current departments found for document", 
                     0, 0, 0, new ArrayList<>());
             }
-            
-            totalRecords = departments.size();
-            logger.info("Found {} correspondence current departments for docGuid: {}", totalRecords, docGuid);
-
-            for (CorrespondenceCurrentDepartment dept : departments) {
-                try {
-                    if (dept == null) {
-                        failedImports++;
-                        errors.add("Null department object received");
-                        continue;
-                    }
-                    dept.setDocGuid(docGuid); // Set the doc guid
-                    correspondenceCurrentDepartmentRepository.save(dept);
-                    successfulImports++;
-                    logger.info("Successfully saved correspondence current department for docGuid: {}", docGuid);
-                } catch (Exception e) {
-                    failedImports++;
-                    String errorMsg = "Failed to save correspondence current department: " + e.getMessage();
-                    errors.add(errorMsg);
-                    logger.error(errorMsg, e);
-                }
-            }
+            logger.debug("Imported {} correspondence current departments for docGuid: {}", result.getRecords(), docGuid);
 
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String status = result.getFailed() == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
             String message = String.format("CorrespondenceCurrentDepartments import completed. Success: %d, Failed: %d", 
-                                         successfulImports, failedImports);
+                                         result.getSucceeded(), result.getFailed());
 
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            return new ImportResponseDto(status, message, result.getRecords(), result.getSucceeded(),
+                                         result.getFailed(), new ArrayList<>(result.getErrors()));
 
         } catch (Exception e) {
             logger.error("Failed to import correspondence current departments", e);
@@ -404,60 +356,48 @@ public class DataImportService {
         }
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceCurrentPositions(String docGuid) {
-        logger.info("Starting correspondence current positions import for doc: {}", docGuid);
+        logger.debug("Starting correspondence current positions import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceCurrentPositions/docGuid/" + docGuid, 
                                              CorrespondenceCurrentPosition.class, 
                                              correspondenceCurrentPositionRepository, 
                                              "CorrespondenceCurrentPositions");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceCurrentUsers(String docGuid) {
-        logger.info("Starting correspondence current users import for doc: {}", docGuid);
+        logger.debug("Starting correspondence current users import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceCurrentUsers/docGuid/" + docGuid, 
                                              CorrespondenceCurrentUser.class, 
                                              correspondenceCurrentUserRepository, 
                                              "CorrespondenceCurrentUsers");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceCustomFields(String docGuid) {
-        logger.info("Starting correspondence custom fields import for doc: {}", docGuid);
+        logger.debug("Starting correspondence custom fields import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceCustomFields/docGuid/" + docGuid, 
                                              CorrespondenceCustomField.class, 
                                              correspondenceCustomFieldRepository, 
                                              "CorrespondenceCustomFields");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceLinks(String docGuid) {
-        logger.info("Starting correspondence links import for doc: {}", docGuid);
+        logger.debug("Starting correspondence links import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceLinks/docGuid/" + docGuid, 
                                              CorrespondenceLink.class, 
                                              correspondenceLinkRepository, 
                                              "CorrespondenceLinks");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceSendTos(String docGuid) {
-        logger.info("Starting correspondence send tos import for doc: {}", docGuid);
+        logger.debug("Starting correspondence send tos import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceSendTo/docGUId/" + docGuid, 
                                              CorrespondenceSendTo.class, 
                                              correspondenceSendToRepository, 
                                              "CorrespondenceSendTos");
     }
 
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importCorrespondenceTransactions(String docGuid) {
-        logger.info("Starting correspondence transactions import for doc: {}", docGuid);
+        logger.debug("Starting correspondence transactions import for doc: {}", docGuid);
         return importCorrespondenceRelatedData("/CorrespondenceTransactions/docGuid/" + docGuid, 
                                              CorrespondenceTransaction.class, 
                                              correspondenceTransactionRepository, 
@@ -467,17 +407,34 @@ public class DataImportService {
     public ImportResponseDto importAllCorrespondencesWithRelated() {
         logger.info("Starting bulk import of all correspondences with related data");
         
-        List<String> errors = new ArrayList<>();
-        int totalRecords = 0;
-        int successfulImports = 0;
-        int failedImports = 0;
-        
         try {
             // Get all correspondences from database
             List<Correspondence> correspondences = correspondenceRepository.findAll();
-            totalRecords = correspondences.size();
-            
-            logger.info("Found {} correspondences in database to process", totalRecords);
+            ImportOptions options = ImportOptions.current();
+            if (options.getSamplePercent() < 100) {
+                List<Correspondence> sample = new ArrayList<>();
+                for (Correspondence correspondence : correspondences) {
+                    if (options.includesDocument(correspondence.getGuid())) {
+                        sample.add(correspondence);
+                    }
+                }
+                logger.info("Sampling {}% of correspondences: {} of {}", options.getSamplePercent(),
+                            sample.size(), correspondences.size());
+                correspondences = sample;
+            }
+            if (documentCheckpoints.isResuming()) {
+                Set<String> completed = documentCheckpoints.completed(CORRESPONDENCE_RELATED_JOB);
+                List<Correspondence> remaining = new ArrayList<>(correspondences.size());
+                for (Correspondence correspondence : correspondences) {
+                    if (!completed.contains(correspondence.getGuid())) {
+                        remaining.add(correspondence);
+                    }
+                }
+                logger.info("Resuming: skipping {} correspondences completed by an earlier run",
+                            correspondences.size() - remaining.size());
+                correspondences = remaining;
+            }
+            logger.info("Found {} correspondences in database to process", correspondences.size());
             
             if (correspondences.isEmpty()) {
                 return new ImportResponseDto("SUCCESS", 
@@ -485,51 +442,206 @@ public class DataImportService {
                     0, 0, 0, new ArrayList<>());
             }
             
+            // Documents that fail are retried at the end instead of holding up the rest
+            DocumentRetryQueue.Pass retries = documentRetryQueue.startPass(CORRESPONDENCE_RELATED_JOB);
+            // A dry run writes nothing, lease rows included, so it covers every partition
+            if (partitionLeases.isEnabled() && !options.isDryRun()) {
+                return retries.finish(importRelatedByPartition(correspondences, retries));
+            }
+            return retries.finish(importRelatedDocuments(correspondences, retries, false));
+                
+        } catch (Exception e) {
+            logger.error("Failed to execute bulk correspondence import", e);
+            return new ImportResponseDto("ERROR", "Failed to execute bulk correspondence import: " + e.getMessage(), 
+                0, 0, 0, Arrays.asList("Failed to execute bulk correspondence import: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Imports the related data of {@code correspondences} with the configured fetch engine.
+     * Unless {@code keyIndexLoaded}, the related tables' key index is loaded for the call and
+     * released after it.
+     */
+    private ImportResponseDto importRelatedDocuments(List<Correspondence> correspondences,
+                                                     DocumentRetryQueue.Pass retries, boolean keyIndexLoaded) {
+        List<String> errors = new ArrayList<>();
+        int totalRecords = correspondences.size();
+        int successfulImports = 0;
+        int failedImports = 0;
+        ImportOptions options = ImportOptions.current();
+
+        ImportProgress progress = importProgressLogger.start("CorrespondencesWithRelated", totalRecords);
+        List<RelatedEndpoint<?>> endpoints = getCorrespondenceRelatedEndpoints();
+        if (!keyIndexLoaded) {
+            loadKeyIndex(endpoints);
+        }
+        try {
+            if ("reactive".equalsIgnoreCase(fetchEngine) || documentIoExecutor.isConcurrent()) {
+                List<String> docGuids = new ArrayList<>(correspondences.size());
+                for (Correspondence correspondence : correspondences) {
+                    docGuids.add(correspondence.getGuid());
+                }
+                ImportResponseDto result;
+                if ("reactive".equalsIgnoreCase(fetchEngine)) {
+                    List<RelatedEndpoint<?>> fetchedEndpoints = endpoints;
+                    if (attachmentLane.isDeferred() && !options.isDryRun()) {
+                        attachmentLane.enqueueAll(docGuids);
+                        fetchedEndpoints = new ArrayList<>();
+                        for (RelatedEndpoint<?> endpoint : endpoints) {
+                            if (!AttachmentLane.ENTITY_NAME.equals(endpoint.getEntityName())) {
+                                fetchedEndpoints.add(endpoint);
+                            }
+                        }
+                    }
+                    result = reactiveSourceFetchEngine.importRelated("Bulk import", docGuids,
+                            fetchedEndpoints, progress,
+                            (docGuid, outcome) -> {
+                                documentCheckpoints.record(CORRESPONDENCE_RELATED_JOB, docGuid, outcome);
+                                retries.record(docGuid, outcome);
+                            });
+                } else {
+                    result = documentIoExecutor.importDocuments("Bulk import", docGuids,
+                            docGuid -> retries.attempt(docGuid, () -> importAllCorrespondenceRelated(docGuid)), progress);
+                }
+                return result;
+            }
+
             for (Correspondence correspondence : correspondences) {
                 String docGuid = correspondence.getGuid();
-                logger.info("Processing correspondence: {} ({})", docGuid, correspondence.getSubject());
-                
+                logger.debug("Processing correspondence: {} ({})", docGuid, correspondence.getSubject());
+            
                 try {
                     // Call the helper method that handles all related entities
-                    ImportResponseDto result = importAllCorrespondenceRelated(docGuid);
-                    
+                    ImportResponseDto result = latencyTracker.timeDocument("CorrespondencesWithRelated", docGuid,
+                            () -> retries.attempt(docGuid, () -> importAllCorrespondenceRelated(docGuid)));
+                
                     if ("ERROR".equals(result.getStatus()) || "PARTIAL_SUCCESS".equals(result.getStatus())) {
                         failedImports++;
+                        progress.recordFailure();
                         if (result.getErrors() != null) {
                             errors.addAll(result.getErrors());
                         }
                         logger.warn("Failed to import related data for correspondence: {} - {}", docGuid, result.getMessage());
                     } else {
                         successfulImports++;
-                        logger.info("Successfully imported all related data for correspondence: {}", docGuid);
+                        progress.recordSuccess();
+                        logger.debug("Successfully imported all related data for correspondence: {}", docGuid);
                     }
-                    
+                
                 } catch (Exception e) {
                     failedImports++;
+                    progress.recordFailure();
                     String errorMsg = "Error processing correspondence " + docGuid + ": " + e.getMessage();
                     errors.add(errorMsg);
-                    logger.error(errorMsg, e);
+                    errorLogThrottle.error(logger, "CorrespondencesWithRelated", errorMsg, e);
                 }
             }
-            
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
-            String message = String.format(
-                "Bulk import completed. Correspondences processed: %d (Success: %d, Failed: %d)", 
-                totalRecords, successfulImports, failedImports
-            );
-            
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
-                
-        } catch (Exception e) {
-            logger.error("Failed to execute bulk correspondence import", e);
-            return new ImportResponseDto("ERROR", "Failed to execute bulk correspondence import: " + e.getMessage(), 
-                0, 0, 0, Arrays.asList("Failed to execute bulk correspondence import: " + e.getMessage()));
+        } finally {
+            if (!keyIndexLoaded) {
+                releaseKeyIndex(endpoints);
+            }
+            progress.finish();
+        }
+        
+        String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+        String message = String.format(
+            "Bulk import completed. Correspondences processed: %d (Success: %d, Failed: %d)", 
+            totalRecords, successfulImports, failedImports
+        );
+        
+        return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+    }
+
+    /**
+     * Imports the related data of the partitions this instance claims, until every partition of
+     * the shared run is done. Other instances of the run import the rest.
+     */
+    private ImportResponseDto importRelatedByPartition(List<Correspondence> correspondences,
+                                                       DocumentRetryQueue.Pass retries) {
+        Map<Integer, List<Correspondence>> byPartition = new HashMap<>();
+        for (Correspondence correspondence : correspondences) {
+            byPartition.computeIfAbsent(partitionLeases.partitionOf(correspondence.getGuid()), p -> new ArrayList<>())
+                    .add(correspondence);
+        }
+
+        List<String> errors = new ArrayList<>();
+        int totalRecords = 0;
+        int successfulImports = 0;
+        int failedImports = 0;
+        int partitions = 0;
+        // Loaded once for every partition this instance claims, and topped up when a claimed partition
+        // was partly written by an earlier holder whose rows the index has not seen
+        List<RelatedEndpoint<?>> endpoints = getCorrespondenceRelatedEndpoints();
+        loadKeyIndex(endpoints);
+        try {
+            PartitionLeases.Lease lease;
+            while ((lease = partitionLeases.awaitNext()) != null) {
+                List<Correspondence> owned = byPartition.getOrDefault(lease.getPartition(), Collections.emptyList());
+                logger.info("Importing partition {} of {} in run {}: {} correspondences", lease.getPartition(),
+                            partitionLeases.getPartitionCount(), partitionLeases.getRunId(), owned.size());
+                ImportResponseDto result;
+                try {
+                    if (lease.isResumed() && !owned.isEmpty()) {
+                        for (RelatedEndpoint<?> endpoint : endpoints) {
+                            existingKeyIndex.reload(endpoint.getEntityClass());
+                        }
+                    }
+                    result = owned.isEmpty()
+                            ? new ImportResponseDto("SUCCESS", "Empty partition", 0, 0, 0, new ArrayList<>())
+                            : importRelatedDocuments(owned, retries, true);
+                } catch (RuntimeException e) {
+                    partitionLeases.release(lease);
+                    throw e;
+                }
+                if (result.getErrors() != null) {
+                    errors.addAll(result.getErrors());
+                }
+                // importRelatedDocuments reports failed documents, not an ERROR status
+                if (!owned.isEmpty() && result.getSuccessfulImports() == 0 && result.getFailedImports() > 0) {
+                    // Nothing imported, likely the source or database is down here: leave the partition
+                    // to another instance instead of claiming it straight back
+                    partitionLeases.release(lease);
+                    failedImports += result.getFailedImports();
+                    break;
+                }
+                if (!partitionLeases.complete(lease, result.getSuccessfulImports(), result.getFailedImports())) {
+                    // Taken over while it ran; its new holder imports and reports it
+                    continue;
+                }
+                partitions++;
+                totalRecords += result.getTotalRecords();
+                successfulImports += result.getSuccessfulImports();
+                failedImports += result.getFailedImports();
+            }
+        } finally {
+            releaseKeyIndex(endpoints);
+        }
+
+        String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+        String message = String.format(
+            "Partitioned bulk import completed for run %s. Partitions imported here: %d of %d. "
+                + "Correspondences processed: %d (Success: %d, Failed: %d)",
+            partitionLeases.getRunId(), partitions, partitionLeases.getPartitionCount(),
+            totalRecords, successfulImports, failedImports
+        );
+        return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+    }
+
+    // Related rows are mostly new on a first run; the key index lets them skip the merge SELECT
+    private void loadKeyIndex(List<RelatedEndpoint<?>> endpoints) {
+        for (RelatedEndpoint<?> endpoint : endpoints) {
+            existingKeyIndex.load(endpoint.getEntityClass());
+        }
+    }
+
+    private void releaseKeyIndex(List<RelatedEndpoint<?>> endpoints) {
+        for (RelatedEndpoint<?> endpoint : endpoints) {
+            existingKeyIndex.release(endpoint.getEntityClass());
         }
     }
 
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW, timeout = 300)
     public ImportResponseDto importAllCorrespondenceRelated(String docGuid) {
-        logger.info("Starting import of all correspondence-related data for doc: {}", docGuid);
+        logger.debug("Starting import of all correspondence-related data for doc: {}", docGuid);
         
         List<String> errors = new ArrayList<>();
         int totalRecords = 0;
@@ -537,49 +649,107 @@ public class DataImportService {
         int failedImports = 0;
         
         try {
-            // Import all correspondence-related entities
-            ImportResponseDto attachmentsResult = importCorrespondenceAttachments(docGuid);
-            ImportResponseDto commentsResult = importCorrespondenceComments(docGuid);
-            ImportResponseDto copyTosResult = importCorrespondenceCopyTos(docGuid);
-            ImportResponseDto currentDepartmentsResult = importCorrespondenceCurrentDepartments(docGuid);
-            ImportResponseDto currentPositionsResult = importCorrespondenceCurrentPositions(docGuid);
-            ImportResponseDto currentUsersResult = importCorrespondenceCurrentUsers(docGuid);
-            ImportResponseDto customFieldsResult = importCorrespondenceCustomFields(docGuid);
-            ImportResponseDto linksResult = importCorrespondenceLinks(docGuid);
-            ImportResponseDto sendTosResult = importCorrespondenceSendTos(docGuid);
-            ImportResponseDto transactionsResult = importCorrespondenceTransactions(docGuid);
-            
-            // Aggregate results
-            List<ImportResponseDto> results = Arrays.asList(
-                attachmentsResult, commentsResult, copyTosResult, currentDepartmentsResult,
-                currentPositionsResult, currentUsersResult, customFieldsResult, 
-                linksResult, sendTosResult, transactionsResult
-            );
+            // Import all correspondence-related entities, each on its own bulkhead when running in virtual mode
+            Map<String, Supplier<ImportResponseDto>> imports = new LinkedHashMap<>();
+            imports.put(AttachmentLane.ENTITY_NAME, () -> importOrQueueAttachments(docGuid));
+            imports.put("CorrespondenceComments", () -> importCorrespondenceComments(docGuid));
+            imports.put("CorrespondenceCopyTos", () -> importCorrespondenceCopyTos(docGuid));
+            imports.put("CorrespondenceCurrentDepartments", () -> importCorrespondenceCurrentDepartments(docGuid));
+            imports.put("CorrespondenceCurrentPositions", () -> importCorrespondenceCurrentPositions(docGuid));
+            imports.put("CorrespondenceCurrentUsers", () -> importCorrespondenceCurrentUsers(docGuid));
+            imports.put("CorrespondenceCustomFields", () -> importCorrespondenceCustomFields(docGuid));
+            imports.put("CorrespondenceLinks", () -> importCorrespondenceLinks(docGuid));
+            imports.put("CorrespondenceSendTos", () -> importCorrespondenceSendTos(docGuid));
+            imports.put("CorrespondenceTransactions", () -> importCorrespondenceTransactions(docGuid));
+            List<ImportResponseDto> results = documentIoExecutor.invokeAll(imports);
             
+            int failedEndpoints = 0;
             for (ImportResponseDto result : results) {
                 totalRecords += result.getTotalRecords();
                 successfulImports += result.getSuccessfulImports();
                 failedImports += result.getFailedImports();
-                
+
+                // A fetch or API failure comes back as ERROR without failed rows; it still fails the document
+                if (!"SUCCESS".equals(result.getStatus())) {
+                    failedEndpoints++;
+                }
+                if ("ERROR".equals(result.getStatus())) {
+                    failedImports++;
+                }
                 if (result.getErrors() != null) {
                     errors.addAll(result.getErrors());
                 }
             }
             
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String status = failedEndpoints == results.size() ? "ERROR"
+                    : failedEndpoints == 0 && failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
             String message = String.format(
                 "All correspondence-related data import completed for doc %s. Total: %d, Success: %d, Failed: %d", 
                 docGuid, totalRecords, successfulImports, failedImports
             );
             
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            ImportResponseDto response = new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            documentCheckpoints.record(CORRESPONDENCE_RELATED_JOB, docGuid, response);
+            return response;
             
         } catch (Exception e) {
             logger.error("Failed to import all correspondence-related data for doc: {}", docGuid, e);
-            return new ImportResponseDto("ERROR", 
+            ImportResponseDto response = new ImportResponseDto("ERROR", 
                 "Failed to import all correspondence-related data for doc " + docGuid + ": " + e.getMessage(), 
                 0, 0, 0, Arrays.asList("Failed to import all correspondence-related data: " + e.getMessage()));
+            documentCheckpoints.record(CORRESPONDENCE_RELATED_JOB, docGuid, response);
+            return response;
+        }
+    }
+
+    /**
+     * The per-document endpoints imported by {@link #importAllCorrespondenceRelated(String)},
+     * for fetch engines that drive them directly.
+     */
+    public List<RelatedEndpoint<?>> getCorrespondenceRelatedEndpoints() {
+        return Arrays.<RelatedEndpoint<?>>asList(
+            new RelatedEndpoint<>(AttachmentLane.ENTITY_NAME, docGuid -> AttachmentLane.ATTACHMENTS_BASE_URL + docGuid,
+                    CorrespondenceAttachment.class, correspondenceAttachmentRepository::save),
+            relatedEndpoint("CorrespondenceComments", "/CorrespondenceComments/docGuid/",
+                    CorrespondenceComment.class, correspondenceCommentRepository::save),
+            relatedEndpoint("CorrespondenceCopyTos", "/CorrespondenceCopyTo/docGUId/",
+                    CorrespondenceCopyTo.class, correspondenceCopyToRepository::save),
+            new RelatedEndpoint<>("CorrespondenceCurrentDepartments",
+                    docGuid -> sourceApiBaseUrl + "/CorrespondenceCurrentDepartments/docGuid/" + docGuid,
+                    CorrespondenceCurrentDepartment.class, correspondenceCurrentDepartmentRepository::save,
+                    CorrespondenceCurrentDepartment::setDocGuid),
+            relatedEndpoint("CorrespondenceCurrentPositions", "/CorrespondenceCurrentPositions/docGuid/",
+                    CorrespondenceCurrentPosition.class, correspondenceCurrentPositionRepository::save),
+            relatedEndpoint("CorrespondenceCurrentUsers", "/CorrespondenceCurrentUsers/docGuid/",
+                    CorrespondenceCurrentUser.class, correspondenceCurrentUserRepository::save),
+            relatedEndpoint("CorrespondenceCustomFields", "/CorrespondenceCustomFields/docGuid/",
+                    CorrespondenceCustomField.class, correspondenceCustomFieldRepository::save),
+            relatedEndpoint("CorrespondenceLinks", "/CorrespondenceLinks/docGuid/",
+                    CorrespondenceLink.class, correspondenceLinkRepository::save),
+            relatedEndpoint("CorrespondenceSendTos", "/CorrespondenceSendTo/docGUId/",
+                    CorrespondenceSendTo.class, correspondenceSendToRepository::save),
+            relatedEndpoint("CorrespondenceTransactions", "/CorrespondenceTransactions/docGuid/",
+                    CorrespondenceTransaction.class, correspondenceTransactionRepository::save)
+        );
+    }
+
+    private <T> RelatedEndpoint<T> relatedEndpoint(String entityName, String path, Class<T> entityClass,
+                                                   ChunkedImportWriter.RowWriter<T> rowWriter) {
+        return new RelatedEndpoint<>(entityName, docGuid -> sourceApiBaseUrl + path + docGuid, entityClass,
+                existingKeyIndex.upsert(entityClass, rowWriter));
+    }
+
+    /**
+     * Imports the document's attachments now or, in deferred mode, queues them on the
+     * {@link AttachmentLane} so the rest of the document does not wait for the file data.
+     */
+    private ImportResponseDto importOrQueueAttachments(String docGuid) {
+        if (!attachmentLane.isDeferred() || ImportOptions.current().isDryRun()) {
+            return importCorrespondenceAttachments(docGuid);
         }
+        attachmentLane.enqueue(docGuid);
+        return new ImportResponseDto("SUCCESS", "CorrespondenceAttachments queued for the attachment lane",
+            0, 0, 0, new ArrayList<>());
     }
 
     // Helper method to process import results
@@ -628,88 +798,38 @@ public class DataImportService {
 
     private <T, ID> ImportResponseDto importGenericData(String endpoint, Class<T> entityClass, 
                                                        JpaRepository<T, ID> repository, String entityName) {
-        List<String> errors = new ArrayList<>();
-        int successfulImports = 0;
-        int failedImports = 0;
-        int totalRecords = 0;
-
         try {
             String url = sourceApiBaseUrl + endpoint;
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            // Check if response body is null
-            String responseBody = response.getBody();
-            if (responseBody == null || responseBody.trim().isEmpty()) {
-                logger.warn("Empty response body for {}, endpoint: {}", entityName, endpoint);
-                return new ImportResponseDto("SUCCESS", "No " + entityName + " found", 
-                    0, 0, 0, new ArrayList<>());
+            if (jdbcBulkLoader.canLoad(entityClass)) {
+                return importByJdbc(url, entityClass, entityName);
             }
-            
-            // Parse response body manually to handle generic types properly
-            logger.debug("Raw API response for {}: {}", entityName, responseBody);
-            
-            // First parse as generic ApiResponseDto
-            ApiResponseDto<Object> genericResponse = objectMapper.readValue(responseBody, 
-                new TypeReference<ApiResponseDto<Object>>() {});
-
-            if (genericResponse == null || !Boolean.TRUE.equals(genericResponse.getSuccess())) {
-                String message = genericResponse != null ? genericResponse.getMessage() : "Unknown API error";
-                return createErrorResponse("API returned failure: " + message);
+            ImportProgress progress = importProgressLogger.start(entityName, 0);
+            existingKeyIndex.load(entityClass);
+            PipelineResult result;
+            try {
+                result = importPipeline.run(new PipelineJob<>(entityName, url, entityClass,
+                        existingKeyIndex.upsert(entityClass, repository::save))
+                        .reportingTo(progress));
+            } finally {
+                existingKeyIndex.release(entityClass);
+                progress.finish();
             }
-
-            // Convert the data list to the specific entity type
-            List<T> entities = new ArrayList<>();
-            if (genericResponse.getData() != null) {
-                for (Object item : genericResponse.getData()) {
-                    try {
-                        if (item == null) {
-                            logger.warn("Null item found in {} data", entityName);
-                            continue;
-                        }
-                        T entityData = objectMapper.convertValue(item, entityClass);
-                        if (entityData != null) {
-                            entities.add(entityData);
-                        }
-                    } catch (Exception e) {
-                        logger.error("Failed to convert item to {}: {}", entityClass.getSimpleName(), e.getMessage());
-                        failedImports++;
-                        errors.add("Failed to parse " + entityName + " item: " + e.getMessage());
-                    }
-                }
-            } else {
-                logger.info("No data found for {}, endpoint: {}", entityName, endpoint);
+            if (result.isFailure()) {
+                return createErrorResponse("API returned failure: " + result.getFailureMessage());
+            }
+            if (result.isEmpty()) {
+                logger.info("No data found for {}, url: {}", entityName, url);
                 return new ImportResponseDto("SUCCESS", "No " + entityName + " found", 
                     0, 0, 0, new ArrayList<>());
             }
+            logger.info("Imported {} {}", result.getRecords(), entityName);
 
-            totalRecords = entities.size();
-            logger.info("Found {} {} to import", totalRecords, entityName);
-
-            for (T entityData : entities) {
-                try {
-                    if (entityData == null) {
-                        failedImports++;
-                        errors.add("Null " + entityName + " object received");
-                        continue;
-                    }
-                    repository.save(entityData);
-                    successfulImports++;
-                } catch (Exception e) {
-                    failedImports++;
-                    String errorMsg = "Failed to save " + entityName + ": " + e.getMessage();
-                    errors.add(errorMsg);
-                    logger.error(errorMsg, e);
-                }
-            }
-
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String status = result.getFailed() == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
             String message = String.format("%s import completed. Success: %d, Failed: %d", 
-                                         entityName, successfulImports, failedImports);
+                                         entityName, result.getSucceeded(), result.getFailed());
 
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            return new ImportResponseDto(status, message, result.getRecords(), result.getSucceeded(),
+                                         result.getFailed(), new ArrayList<>(result.getErrors()));
 
         } catch (Exception e) {
             logger.error("Failed to import {}", entityName, e);
@@ -719,96 +839,45 @@ public class DataImportService {
 
     private <T, ID> ImportResponseDto importCorrespondenceRelatedData(String endpoint, Class<T> entityClass, 
                                                                      JpaRepository<T, ID> repository, String entityName) {
-        List<String> errors = new ArrayList<>();
-        int successfulImports = 0;
-        int failedImports = 0;
-        int totalRecords = 0;
+        return ImportStageEvent.forDocument(ImportStageEvent.docGuidOf(endpoint),
+                () -> importCorrespondenceRelatedDataForDocument(endpoint, entityClass, repository, entityName));
+    }
 
+    private <T, ID> ImportResponseDto importCorrespondenceRelatedDataForDocument(String endpoint, Class<T> entityClass,
+                                                                                 JpaRepository<T, ID> repository,
+                                                                                 String entityName) {
         try {
             String url;
             if (endpoint.contains("/CorrespondenceAttachments/docGuid/")) {
                 // Special case for CorrespondenceAttachments - use different base URL
                 String docGuid = endpoint.substring(endpoint.lastIndexOf("/") + 1);
-                url = "https://itba.tarasol.cloud/Tarasol4ExtractorApi/docGuid/" + docGuid;
+                url = AttachmentLane.ATTACHMENTS_BASE_URL + docGuid;
             } else {
                 url = sourceApiBaseUrl + endpoint;
             }
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            // Check if response body is null
-            String responseBody = response.getBody();
-            if (responseBody == null || responseBody.trim().isEmpty()) {
-                logger.warn("Empty response body for {}, endpoint: {}", entityName, endpoint);
-                return new ImportResponseDto("SUCCESS", "No " + entityName + " found", 
-                    0, 0, 0, new ArrayList<>());
+            PipelineJob<T> job = new PipelineJob<>(entityName, url, entityClass,
+                    existingKeyIndex.upsert(entityClass, repository::save));
+            // Only documents imported concurrently share the buffer; a sequential one would wait out its delay
+            if (documentIoExecutor.isConcurrent()) {
+                job.writtenBehind();
             }
-            
-            // Parse response body manually to handle generic types properly
-            logger.debug("Raw API response for {}: {}", entityName, responseBody);
-            
-            // First parse as generic ApiResponseDto
-            ApiResponseDto<Object> genericResponse = objectMapper.readValue(responseBody, 
-                new TypeReference<ApiResponseDto<Object>>() {});
-            
-            if (genericResponse == null || !Boolean.TRUE.equals(genericResponse.getSuccess())) {
-                String message = genericResponse != null ? genericResponse.getMessage() : "Unknown API error";
-                return createErrorResponse("API returned failure: " + message);
+            PipelineResult result = importPipeline.run(job);
+            if (result.isFailure()) {
+                return createErrorResponse("API returned failure: " + result.getFailureMessage());
             }
-            
-            // Convert the data list to the specific entity type
-            List<T> entities = new ArrayList<>();
-            if (genericResponse.getData() != null) {
-                for (Object item : genericResponse.getData()) {
-                    try {
-                        if (item == null) {
-                            logger.warn("Null item found in {} data", entityName);
-                            continue;
-                        }
-                        T entityData = objectMapper.convertValue(item, entityClass);
-                        if (entityData != null) {
-                            entities.add(entityData);
-                        }
-                    } catch (Exception e) {
-                        logger.error("Failed to convert item to {}: {}", entityClass.getSimpleName(), e.getMessage());
-                        failedImports++;
-                        errors.add("Failed to parse " + entityName + " item: " + e.getMessage());
-                    }
-                }
-            } else {
-                logger.info("No data found for {}, endpoint: {}", entityName, endpoint);
+            if (result.isEmpty()) {
+                logger.debug("No data found for {}, endpoint: {}", entityName, endpoint);
                 return new ImportResponseDto("SUCCESS", "No " + entityName + " found", 
                     0, 0, 0, new ArrayList<>());
             }
+            logger.debug("Imported {} {}", result.getRecords(), entityName);
 
-            totalRecords = entities.size();
-            logger.info("Found {} {} to import", totalRecords, entityName);
-
-            for (T entityData : entities) {
-                try {
-                    if (entityData == null) {
-                        failedImports++;
-                        errors.add("Null " + entityName + " object received");
-                        continue;
-                    }
-                    repository.save(entityData);
-                    successfulImports++;
-                    logger.info("Successfully saved {}", entityName);
-                } catch (Exception e) {
-                    failedImports++;
-                    String errorMsg = "Failed to save " + entityName + ": " + e.getMessage();
-                    errors.add(errorMsg);
-                    logger.error(errorMsg, e);
-                }
-            }
-
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String status = result.getFailed() == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
             String message = String.format("%s import completed. Success: %d, Failed: %d", 
-                                         entityName, successfulImports, failedImports);
+                                         entityName, result.getSucceeded(), result.getFailed());
 
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            return new ImportResponseDto(status, message, result.getRecords(), result.getSucceeded(),
+                                         result.getFailed(), new ArrayList<>(result.getErrors()));
 
         } catch (Exception e) {
             logger.error("Failed to import {}", entityName, e);
@@ -817,98 +886,41 @@ public class DataImportService {
     }
 
     private ImportResponseDto importCorrespondenceData() {
-        List<String> errors = new ArrayList<>();
-        int successfulImports = 0;
-        int failedImports = 0;
-        int totalRecords = 0;
-
         try {
             String url = sourceApiBaseUrl + "/Correspondences/All/PageIndex/1/PageSize/10000";
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            // Check if response body is null
-            String responseBody = response.getBody();
-            if (responseBody == null || responseBody.trim().isEmpty()) {
-                logger.warn("Empty response body for Correspondences");
-                return new ImportResponseDto("SUCCESS", "No Correspondences found", 
-                    0, 0, 0, new ArrayList<>());
+            if (jdbcBulkLoader.canLoad(Correspondence.class)) {
+                return importByJdbc(url, Correspondence.class, "Correspondences");
             }
-            
-            // Parse the response manually to handle generic type properly
-            logger.debug("Raw API response for Correspondences: {}", responseBody);
-            
-            // First parse as generic ApiResponseDto
-            ApiResponseDto<Object> genericResponse = objectMapper.readValue(responseBody, 
-                new TypeReference<ApiResponseDto<Object>>() {});
-            
-            if (genericResponse == null || !Boolean.TRUE.equals(genericResponse.getSuccess())) {
-                String message = genericResponse != null ? genericResponse.getMessage() : "Unknown API error";
-                return createErrorResponse("API returned failure: " + message);
+            ImportProgress progress = importProgressLogger.start("Correspondences", 0);
+            existingKeyIndex.load(Correspondence.class);
+            PipelineResult result;
+            try {
+                result = importPipeline.run(new PipelineJob<>("Correspondences", url, Correspondence.class,
+                        this::saveCorrespondence)
+                        .writingAs("Correspondence")
+                        .enrichedBy(correspondence -> correspondence.getGuid() == null
+                                ? "Null correspondence or GUID received" : null)
+                        .reportingTo(progress));
+            } finally {
+                existingKeyIndex.release(Correspondence.class);
+                progress.finish();
             }
-            
-            // Convert the data list to the specific entity type
-            List<Correspondence> correspondences = new ArrayList<>();
-            if (genericResponse.getData() != null) {
-                for (Object item : genericResponse.getData()) {
-                    try {
-                        if (item == null) {
-                            logger.warn("Null item found in Correspondences data");
-                            continue;
-                        }
-                        Correspondence correspondence = objectMapper.convertValue(item, Correspondence.class);
-                        if (correspondence != null) {
-                            correspondences.add(correspondence);
-                        }
-                    } catch (Exception e) {
-                        logger.error("Failed to convert item to Correspondence: {}", e.getMessage());
-                        failedImports++;
-                        errors.add("Failed to parse Correspondence item: " + e.getMessage());
-                    }
-                }
-            } else {
+            if (result.isFailure()) {
+                return createErrorResponse("API returned failure: " + result.getFailureMessage());
+            }
+            if (result.isEmpty()) {
                 logger.info("No Correspondences data found in API response");
                 return new ImportResponseDto("SUCCESS", "No Correspondences found", 
                     0, 0, 0, new ArrayList<>());
             }
+            logger.info("Imported {} correspondences", result.getRecords());
 
-            totalRecords = correspondences.size();
-            logger.info("Found {} correspondences to import", totalRecords);
-
-            for (Correspondence correspondence : correspondences) {
-                try {
-                    if (correspondence == null || correspondence.getGuid() == null) {
-                        failedImports++;
-                        errors.add("Null correspondence or GUID received");
-                        continue;
-                    }
-                    Optional<Correspondence> existing = correspondenceRepository.findById(correspondence.getGuid());
-                    if (existing.isPresent()) {
-                        // Update existing record
-                        Correspondence existingCorr = existing.get();
-                        updateCorrespondenceFields(existingCorr, correspondence);
-                        correspondenceRepository.save(existingCorr);
-                    } else {
-                        // Insert new record
-                        correspondenceRepository.save(correspondence);
-                    }
-                    successfulImports++;
-                } catch (Exception e) {
-                    failedImports++;
-                    String corrGuid = correspondence != null ? correspondence.getGuid() : "unknown";
-                    String errorMsg = "Failed to save correspondence " + corrGuid + ": " + e.getMessage();
-                    errors.add(errorMsg);
-                    logger.error(errorMsg, e);
-                }
-            }
-
-            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String status = result.getFailed() == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
             String message = String.format("Correspondences import completed. Success: %d, Failed: %d", 
-                                         successfulImports, failedImports);
+                                         result.getSucceeded(), result.getFailed());
 
-            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            return new ImportResponseDto(status, message, result.getRecords(), result.getSucceeded(),
+                                         result.getFailed(), new ArrayList<>(result.getErrors()));
 
         } catch (Exception e) {
             logger.error("Failed to import correspondences", e);
@@ -916,6 +928,24 @@ public class DataImportService {
         }
     }
 
+    private void saveCorrespondence(Correspondence correspondence) {
+        if (Boolean.FALSE.equals(existingKeyIndex.exists(Correspondence.class, correspondence.getGuid()))) {
+            // Known to be new: insert without the lookup
+            existingKeyIndex.insert(Correspondence.class, correspondence.getGuid(), correspondence);
+            return;
+        }
+        Optional<Correspondence> existing = correspondenceRepository.findById(correspondence.getGuid());
+        if (existing.isPresent()) {
+            // Update existing record
+            Correspondence existingCorr = existing.get();
+            updateCorrespondenceFields(existingCorr, correspondence);
+            correspondenceRepository.save(existingCorr);
+        } else {
+            // Insert new record
+            correspondenceRepository.save(correspondence);
+        }
+    }
+
     private void updateCorrespondenceFields(Correspondence existing, Correspondence newData) {
         existing.setSystemNo(newData.getSystemNo());
         existing.setSerialNumber(newData.getSerialNumber());
@@ -935,11 +965,45 @@ public class DataImportService {
         // Add other fields as needed
     }
 
-    private HttpHeaders createHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Accept", "*/*");
-        headers.set("X-API-KEY", sourceApiKey);
-        return headers;
+    /**
+     * First-time load of a whole table straight from the response JSON, without entities.
+     * Only called when {@link JdbcBulkLoader#canLoad(Class)} holds.
+     */
+    private ImportResponseDto importByJdbc(String url, Class<?> entityClass, String entityName) throws IOException {
+        List<String> errors = new ArrayList<>();
+        String responseBody = sourceApiClient.fetchBody(entityName, url);
+        SourceResult<Object[]> source = jdbcBulkLoader.readRows(entityName, responseBody, entityClass);
+        if (source.isFailure()) {
+            return createErrorResponse("API returned failure: " + source.getFailureMessage());
+        }
+        if (source.isEmpty()) {
+            logger.info("No data found for {}, url: {}", entityName, url);
+            return new ImportResponseDto("SUCCESS", "No " + entityName + " found",
+                0, 0, 0, new ArrayList<>());
+        }
+        int failedImports = source.getParseErrors().size();
+        errors.addAll(source.getParseErrors());
+
+        List<Object[]> rows = source.getItems();
+        int totalRecords = rows.size();
+        logger.info("Found {} {} to load over JDBC", totalRecords, entityName);
+
+        ImportProgress progress = importProgressLogger.start(entityName, totalRecords);
+        ChunkWriteResult writeResult;
+        try {
+            writeResult = jdbcBulkLoader.insert(entityName, entityClass, rows, progress);
+        } finally {
+            progress.finish();
+        }
+        int successfulImports = writeResult.getSucceeded();
+        failedImports += writeResult.getFailed();
+        errors.addAll(writeResult.getErrors());
+
+        String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+        String message = String.format("%s load completed. Success: %d, Failed: %d",
+                                     entityName, successfulImports, failedImports);
+
+        return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
     }
 
     private ImportResponseDto createErrorResponse(String errorMessage) {
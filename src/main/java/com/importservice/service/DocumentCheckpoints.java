@@ -0,0 +1,94 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportResponseDto;
+import com.importservice.entity.DocumentCheckpoint;
+import com.importservice.repository.DocumentCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records a {@link DocumentCheckpoint} for each document once all of its related rows have been
+ * committed. With the {@link WriteBehindBuffer} enabled the checkpoints are buffered too, so they
+ * are committed in batches like the rows they describe.
+ * <p>
+ * With {@code import.checkpoints.resume=true} a bulk run skips the documents an earlier run
+ * completed, so a run that stopped part way through picks up where it left off. Documents that
+ * failed or were imported in part are imported again.
+ */
+@Component
+public class DocumentCheckpoints {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentCheckpoints.class);
+
+    static final String ENTITY_NAME = "DocumentCheckpoint";
+
+    @Value("${import.checkpoints.enabled:true}")
+    private boolean enabled;
+
+    @Value("${import.checkpoints.resume:false}")
+    private boolean resume;
+
+    @Autowired
+    private DocumentCheckpointRepository documentCheckpointRepository;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private ChunkedImportWriter chunkedImportWriter;
+
+    public boolean isResuming() {
+        return enabled && resume;
+    }
+
+    /**
+     * The documents of {@code jobName} that an earlier run completed.
+     */
+    public Set<String> completed(String jobName) {
+        return new HashSet<>(documentCheckpointRepository.findCompletedDocGuids(jobName));
+    }
+
+    public void record(String jobName, String docGuid, ImportResponseDto result) {
+        if (!enabled || ImportOptions.current().isDryRun()) {
+            return;
+        }
+        DocumentCheckpoint checkpoint = new DocumentCheckpoint();
+        checkpoint.setDocGuid(docGuid);
+        checkpoint.setJobName(jobName);
+        int failed = result.getFailedImports() != null ? result.getFailedImports() : 0;
+        // Only a document with no failed endpoint or row counts as completed, since resumed runs skip it
+        checkpoint.setStatus("ERROR".equals(result.getStatus()) ? DocumentCheckpoint.FAILED
+                : "SUCCESS".equals(result.getStatus()) && failed == 0 ? DocumentCheckpoint.COMPLETED
+                : DocumentCheckpoint.PARTIAL);
+        checkpoint.setRowsWritten(result.getSuccessfulImports());
+        checkpoint.setRowsFailed(result.getFailedImports());
+        List<String> errors = result.getErrors();
+        checkpoint.setLastError(errors != null && !errors.isEmpty() ? errors.get(errors.size() - 1) : null);
+        checkpoint.setCompletedAt(LocalDateTime.now());
+
+        List<DocumentCheckpoint> rows = Collections.singletonList(checkpoint);
+        if (writeBehindBuffer.isEnabled()) {
+            writeBehindBuffer.submit(ENTITY_NAME, rows, documentCheckpointRepository::save)
+                    .whenComplete((written, e) -> {
+                        if (e != null || written.getFailed() > 0) {
+                            logger.warn("Could not record the checkpoint of document {}: {}", docGuid,
+                                        e != null ? e.getMessage() : written.getErrors());
+                        }
+                    });
+        } else {
+            ChunkWriteResult written = chunkedImportWriter.write(ENTITY_NAME, rows, documentCheckpointRepository::save);
+            if (written.getFailed() > 0) {
+                logger.warn("Could not record the checkpoint of document {}: {}", docGuid, written.getErrors());
+            }
+        }
+    }
+}
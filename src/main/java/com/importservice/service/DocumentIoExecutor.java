@@ -0,0 +1,193 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the per-document import loop and each document's related-endpoint fan-out.
+ * <p>
+ * With {@code import.io.execution-mode=virtual} every document gets its own virtual thread on
+ * JDK 21+, or a task on a fixed platform pool on older JDKs, and each of its endpoint imports
+ * runs on the {@link Bulkhead} of its entity type. The default, {@code sequential}, keeps the
+ * original one-at-a-time behaviour. Load on the source API and the database is bounded by
+ * {@link IoPermits} in either case.
+ */
+@Component
+public class DocumentIoExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIoExecutor.class);
+
+    @Value("${import.io.execution-mode:sequential}")
+    private String executionMode;
+
+    @Value("${import.io.platform-threads:32}")
+    private int platformThreads;
+
+    @Value("${import.io.max-documents-in-flight:1000}")
+    private int maxDocumentsInFlight;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    @Autowired
+    private LatencyTracker latencyTracker;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    private ExecutorService documentExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (!isConcurrent()) {
+            return;
+        }
+        documentExecutor = newVirtualThreadExecutor();
+        if (documentExecutor != null) {
+            logger.info("Per-document imports run on virtual threads");
+        } else {
+            // Endpoint imports run on their bulkheads, so documents waiting on them cannot starve them
+            int threads = Math.max(1, platformThreads);
+            documentExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("doc-io-"));
+            logger.info("Virtual threads unavailable on Java {}, per-document imports use {} platform threads",
+                        System.getProperty("java.version"), threads);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (documentExecutor != null) {
+            documentExecutor.shutdown();
+        }
+    }
+
+    public boolean isConcurrent() {
+        return "virtual".equalsIgnoreCase(executionMode);
+    }
+
+    /**
+     * Runs the given imports, keyed by entity name, and returns their results in order. In
+     * virtual mode each runs on its entity's bulkhead, waiting for space in a full one; one that
+     * its bulkhead refuses, because it is shut down, comes back as an ERROR result without being run.
+     */
+    public List<ImportResponseDto> invokeAll(Map<String, Supplier<ImportResponseDto>> importsByEntity) {
+        List<ImportResponseDto> results = new ArrayList<>(importsByEntity.size());
+        if (!isConcurrent()) {
+            for (Supplier<ImportResponseDto> importFunction : importsByEntity.values()) {
+                results.add(importFunction.get());
+            }
+            return results;
+        }
+
+        List<CompletableFuture<ImportResponseDto>> futures = new ArrayList<>(importsByEntity.size());
+        for (Map.Entry<String, Supplier<ImportResponseDto>> entry : importsByEntity.entrySet()) {
+            try {
+                futures.add(bulkheadRegistry.get(entry.getKey()).submit(entry.getValue()));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(rejected(entry.getKey(), e)));
+            }
+        }
+        for (CompletableFuture<ImportResponseDto> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+        }
+        return results;
+    }
+
+    static ImportResponseDto rejected(String entityName, RejectedExecutionException e) {
+        return new ImportResponseDto("ERROR", "Skipped " + entityName + " import: " + e.getMessage(),
+                0, 0, 0, Collections.singletonList(e.getMessage()));
+    }
+
+    /**
+     * Imports every document concurrently, at most {@code import.io.max-documents-in-flight}
+     * at a time, and records one success or failure per document on {@code progress}.
+     */
+    public ImportResponseDto importDocuments(String jobName, List<String> docGuids,
+                                             Function<String, ImportResponseDto> importDocument,
+                                             ImportProgress progress) {
+        int permits = Math.max(1, maxDocumentsInFlight);
+        Semaphore inFlight = new Semaphore(permits);
+        AtomicInteger successfulDocuments = new AtomicInteger();
+        AtomicInteger failedDocuments = new AtomicInteger();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            for (String docGuid : docGuids) {
+                inFlight.acquire();
+                CompletableFuture.runAsync(ImportOptions.propagate(() -> {
+                    try {
+                        ImportResponseDto result = latencyTracker.timeDocument(jobName, docGuid,
+                                () -> importDocument.apply(docGuid));
+                        if ("ERROR".equals(result.getStatus()) || "PARTIAL_SUCCESS".equals(result.getStatus())) {
+                            failedDocuments.incrementAndGet();
+                            progress.recordFailure();
+                            if (result.getErrors() != null) {
+                                errors.addAll(result.getErrors());
+                            }
+                        } else {
+                            successfulDocuments.incrementAndGet();
+                            progress.recordSuccess();
+                        }
+                    } catch (Exception e) {
+                        failedDocuments.incrementAndGet();
+                        progress.recordFailure();
+                        String errorMsg = "Error processing correspondence " + docGuid + ": " + e.getMessage();
+                        errors.add(errorMsg);
+                        errorLogThrottle.error(logger, jobName, errorMsg, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                }), documentExecutor);
+            }
+            // Every permit back means every document has finished
+            inFlight.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing documents", e);
+        }
+
+        int failed = failedDocuments.get();
+        String status = failed == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+        String message = String.format("%s completed. Documents processed: %d (Success: %d, Failed: %d)",
+                                       jobName, docGuids.size(), successfulDocuments.get(), failed);
+        return new ImportResponseDto(status, message, docGuids.size(), successfulDocuments.get(), failed,
+                                     new ArrayList<>(errors));
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        // Looked up reflectively so the service still compiles and runs on Java 8
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
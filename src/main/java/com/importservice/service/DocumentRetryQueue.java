@@ -0,0 +1,415 @@
+package com.importservice.service;
+
+import com.importservice.dto.DocumentRetryStatusDto;
+import com.importservice.dto.ImportResponseDto;
+import com.importservice.entity.DocumentRetryTask;
+import com.importservice.repository.DocumentRetryTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Retries failed per-document imports later instead of on the spot. A document whose import
+ * fails is recorded in {@code document_retry_tasks} with its attempt count and the time its
+ * next attempt is due, and the worker moves on to the next document, so a run keeps importing
+ * healthy documents while the source fails for some of them.
+ * <p>
+ * The retries run on a pool of their own, with the wait between attempts doubling from
+ * {@code import.retry.backoff-seconds}. At the end of a run, {@link Pass#finish} retries the
+ * run's failed documents for up to {@code import.retry.end-of-run-seconds}; a background pass
+ * picks up whatever is still queued then, as well as tasks left over from before a restart.
+ * Tasks are claimed with a conditional UPDATE, so instances sharing the table never retry the
+ * same document at once.
+ */
+@Component
+public class DocumentRetryQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentRetryQueue.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int DISPATCH_BATCH_SIZE = 100;
+    private static final long MAX_BACKOFF_SECONDS = TimeUnit.HOURS.toSeconds(6);
+    // A claimed task is due again after this long, in case its instance stops before recording the outcome
+    private static final long CLAIM_SECONDS = TimeUnit.MINUTES.toSeconds(15);
+
+    private static final String DEFER_SQL =
+            "INSERT INTO document_retry_tasks (doc_guid, job_name, status, attempts, last_error, next_attempt_at, created_at, updated_at) "
+            + "VALUES (?, ?, 'PENDING', 1, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE job_name = VALUES(job_name), status = 'PENDING', attempts = 1, "
+            + "last_error = VALUES(last_error), next_attempt_at = VALUES(next_attempt_at), updated_at = VALUES(updated_at)";
+
+    @Value("${import.retry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${import.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${import.retry.backoff-seconds:15}")
+    private long backoffSeconds;
+
+    @Value("${import.retry.end-of-run-seconds:300}")
+    private long endOfRunSeconds;
+
+    @Value("${import.retry.concurrency:4}")
+    private int concurrency;
+
+    @Value("${import.retry.poll-seconds:60}")
+    private long pollSeconds;
+
+    @Autowired
+    private DocumentRetryTaskRepository documentRetryTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    private final Map<String, Function<String, ImportResponseDto>> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong deferred = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    private ExecutorService workers;
+    private ScheduledExecutorService dispatcher;
+
+    @PostConstruct
+    public void init() {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("import.retry.max-attempts must be at least 1, was: " + maxAttempts);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("import.retry.concurrency must be at least 1, was: " + concurrency);
+        }
+        if (!enabled) {
+            return;
+        }
+        workers = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("doc-retry-"));
+        if (pollSeconds > 0) {
+            dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "doc-retry-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dispatcher.scheduleWithFixedDelay(this::retryDue, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+        }
+        logger.info("Failed documents are retried later: {} attempts, first retry after {}s, background pass {}",
+                    maxAttempts, Math.max(1, backoffSeconds), pollSeconds > 0 ? "every " + pollSeconds + "s" : "off");
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+        if (workers != null) {
+            // Interrupted retries stay claimed and are due again after the claim runs out
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers how the documents of {@code jobName} are imported, for retries run in the background.
+     */
+    public void register(String jobName, Function<String, ImportResponseDto> importDocument) {
+        jobs.put(jobName, importDocument);
+    }
+
+    /**
+     * Starts a run over the documents of a registered job. A dry run queues nothing.
+     */
+    public Pass startPass(String jobName) {
+        if (!jobs.containsKey(jobName)) {
+            throw new IllegalArgumentException("No document import registered for job " + jobName);
+        }
+        return new Pass(jobName, enabled && !ImportOptions.current().isDryRun());
+    }
+
+    public DocumentRetryStatusDto status() {
+        DocumentRetryStatusDto status = new DocumentRetryStatusDto();
+        status.setEnabled(enabled);
+        status.setMaxAttempts(maxAttempts);
+        status.setPending(ioPermits.withDatabase(() -> documentRetryTaskRepository.countByStatus(DocumentRetryTask.PENDING)));
+        status.setDone(ioPermits.withDatabase(() -> documentRetryTaskRepository.countByStatus(DocumentRetryTask.DONE)));
+        status.setFailed(ioPermits.withDatabase(() -> documentRetryTaskRepository.countByStatus(DocumentRetryTask.FAILED)));
+        status.setDeferred(deferred.get());
+        status.setRetried(retried.get());
+        status.setRecovered(recovered.get());
+        return status;
+    }
+
+    /**
+     * The documents of one run that failed and were queued, and their retries at the end of it.
+     */
+    public final class Pass {
+
+        private final String jobName;
+        private final boolean active;
+        private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+        private Pass(String jobName, boolean active) {
+            this.jobName = jobName;
+            this.active = active;
+        }
+
+        /**
+         * Imports one document. If it fails, the document is queued for a later retry and the
+         * failed result is returned as it is.
+         */
+        public ImportResponseDto attempt(String docGuid, Supplier<ImportResponseDto> importDocument) {
+            ImportResponseDto result;
+            try {
+                result = importDocument.get();
+            } catch (RuntimeException e) {
+                defer(docGuid, messageOf(e));
+                throw e;
+            }
+            record(docGuid, result);
+            return result;
+        }
+
+        /**
+         * Queues a document imported elsewhere, such as by the reactive engine, if its result
+         * failed, as {@link #attempt} does for the documents it imports itself.
+         */
+        public void record(String docGuid, ImportResponseDto result) {
+            if (isFailure(result)) {
+                defer(docGuid, firstError(result));
+            }
+        }
+
+        /**
+         * Retries the run's queued documents until they are imported, give up, or the next one is
+         * not due within {@code import.retry.end-of-run-seconds}, and counts those imported as
+         * successes in {@code result}. The rest are left to the background pass.
+         */
+        public ImportResponseDto finish(ImportResponseDto result) {
+            if (queued.isEmpty()) {
+                return result;
+            }
+            int queuedDocuments = queued.size();
+            int[] outcome = drain();
+            int recoveredDocuments = outcome[0];
+            int exhaustedDocuments = outcome[1];
+            logger.info("{}: {} of {} failed documents imported by deferred retries, {} gave up, {} still queued",
+                        jobName, recoveredDocuments, queuedDocuments, exhaustedDocuments, queued.size());
+
+            int succeeded = valueOf(result.getSuccessfulImports()) + recoveredDocuments;
+            int failed = Math.max(0, valueOf(result.getFailedImports()) - recoveredDocuments);
+            String status = "ERROR".equals(result.getStatus()) ? result.getStatus()
+                    : failed == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String message = result.getMessage() + String.format(
+                " Deferred retries: %d of %d failed documents recovered, %d gave up, %d still queued.",
+                recoveredDocuments, queuedDocuments, exhaustedDocuments, queued.size());
+            return new ImportResponseDto(status, message, result.getTotalRecords(), succeeded, failed,
+                                         result.getErrors());
+        }
+
+        private void defer(String docGuid, String error) {
+            if (!active) {
+                return;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            Timestamp due = Timestamp.valueOf(now.toLocalDateTime().plusSeconds(delaySeconds(1)));
+            try {
+                ioPermits.withDatabase(() -> jdbcTemplate.update(DEFER_SQL, docGuid, jobName, error, due, now, now));
+                queued.add(docGuid);
+                deferred.incrementAndGet();
+            } catch (RuntimeException e) {
+                logger.warn("Could not queue document {} of {} for a retry: {}", docGuid, jobName, e.getMessage());
+            }
+        }
+
+        // Returns the documents recovered and the ones that gave up; those still pending stay in queued
+        private int[] drain() {
+            int recoveredDocuments = 0;
+            int exhaustedDocuments = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(0, endOfRunSeconds));
+            try {
+                while (!queued.isEmpty() && System.nanoTime() - deadline < 0) {
+                    LocalDateTime now = LocalDateTime.now();
+                    List<DocumentRetryTask> due = new ArrayList<>();
+                    LocalDateTime nextDue = null;
+                    Set<String> found = new HashSet<>();
+                    for (DocumentRetryTask task : load(queued)) {
+                        found.add(task.getDocGuid());
+                        if (DocumentRetryTask.DONE.equals(task.getStatus())) {
+                            recoveredDocuments++;
+                            queued.remove(task.getDocGuid());
+                        } else if (DocumentRetryTask.FAILED.equals(task.getStatus())) {
+                            exhaustedDocuments++;
+                            queued.remove(task.getDocGuid());
+                        } else if (!task.getNextAttemptAt().isAfter(now)) {
+                            due.add(task);
+                        } else if (nextDue == null || task.getNextAttemptAt().isBefore(nextDue)) {
+                            nextDue = task.getNextAttemptAt();
+                        }
+                    }
+                    queued.retainAll(found);
+                    if (!due.isEmpty()) {
+                        runAll(due);
+                        continue;
+                    }
+                    if (nextDue == null) {
+                        break;
+                    }
+                    long waitNanos = Duration.between(now, nextDue).toNanos();
+                    if (System.nanoTime() + waitNanos - deadline > 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.warn("Deferred retries of {} stopped: {}", jobName, e.getMessage());
+            }
+            return new int[] {recoveredDocuments, exhaustedDocuments};
+        }
+    }
+
+    private List<DocumentRetryTask> load(Set<String> docGuids) {
+        List<DocumentRetryTask> tasks = new ArrayList<>(docGuids.size());
+        List<String> batch = new ArrayList<>(Math.min(docGuids.size(), LOAD_BATCH_SIZE));
+        for (String docGuid : docGuids) {
+            batch.add(docGuid);
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                List<String> ids = new ArrayList<>(batch);
+                tasks.addAll(ioPermits.withDatabase(() -> documentRetryTaskRepository.findAllById(ids)));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            tasks.addAll(ioPermits.withDatabase(() -> documentRetryTaskRepository.findAllById(batch)));
+        }
+        return tasks;
+    }
+
+    // Runs on the dispatcher thread only
+    private void retryDue() {
+        try {
+            List<DocumentRetryTask> due;
+            do {
+                due = ioPermits.withDatabase(() -> documentRetryTaskRepository
+                        .findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(DocumentRetryTask.PENDING,
+                                LocalDateTime.now(), PageRequest.of(0, DISPATCH_BATCH_SIZE)));
+            } while (!due.isEmpty() && runAll(due) > 0);
+        } catch (Exception e) {
+            logger.warn("Background document retry pass failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims the given due tasks, retries them on the retry workers and waits for them. Tasks of
+     * jobs not registered here, or claimed elsewhere first, are skipped. Returns the number run.
+     */
+    private int runAll(List<DocumentRetryTask> due) {
+        List<CompletableFuture<Void>> retries = new ArrayList<>(due.size());
+        for (DocumentRetryTask task : due) {
+            Function<String, ImportResponseDto> importDocument = jobs.get(task.getJobName());
+            if (importDocument == null) {
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = ioPermits.withDatabase(() -> documentRetryTaskRepository.claim(task.getDocGuid(), now,
+                    now.plusSeconds(CLAIM_SECONDS)));
+            if (claimed == 1) {
+                retries.add(CompletableFuture.runAsync(ImportOptions.propagate(() -> retry(task, importDocument)), workers));
+            }
+        }
+        for (CompletableFuture<Void> retry : retries) {
+            retry.join();
+        }
+        return retries.size();
+    }
+
+    private void retry(DocumentRetryTask task, Function<String, ImportResponseDto> importDocument) {
+        retried.incrementAndGet();
+        int attempts = task.getAttempts() + 1;
+        String error;
+        try {
+            ImportResponseDto result = importDocument.apply(task.getDocGuid());
+            error = isFailure(result) ? firstError(result) : null;
+        } catch (RuntimeException e) {
+            error = messageOf(e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            recovered.incrementAndGet();
+            task.setStatus(DocumentRetryTask.DONE);
+        } else if (attempts >= maxAttempts) {
+            logger.warn("{} document {} failed its last attempt ({} of {}): {}", task.getJobName(), task.getDocGuid(),
+                        attempts, maxAttempts, error);
+            task.setStatus(DocumentRetryTask.FAILED);
+        } else {
+            logger.debug("{} document {} failed attempt {} of {}: {}", task.getJobName(), task.getDocGuid(),
+                         attempts, maxAttempts, error);
+            task.setStatus(DocumentRetryTask.PENDING);
+            task.setNextAttemptAt(now.plusSeconds(delaySeconds(attempts)));
+        }
+        task.setAttempts(attempts);
+        task.setLastError(error);
+        task.setUpdatedAt(now);
+        try {
+            ioPermits.withDatabase(() -> documentRetryTaskRepository.save(task));
+        } catch (Exception e) {
+            // The task stays claimed and is retried once the claim runs out
+            logger.warn("Could not record the retry of document {}: {}", task.getDocGuid(), e.getMessage());
+        }
+    }
+
+    // The wait after the given number of failed attempts
+    private long delaySeconds(int attempts) {
+        return Math.min(MAX_BACKOFF_SECONDS, Math.max(1, backoffSeconds) << Math.min(attempts - 1, 16));
+    }
+
+    private static boolean isFailure(ImportResponseDto result) {
+        return "ERROR".equals(result.getStatus()) || "PARTIAL_SUCCESS".equals(result.getStatus());
+    }
+
+    private static String firstError(ImportResponseDto result) {
+        List<String> errors = result.getErrors();
+        if (errors != null && !errors.isEmpty() && errors.get(0) != null) {
+            return errors.get(0);
+        }
+        return result.getMessage() != null ? result.getMessage() : result.getStatus();
+    }
+
+    private static String messageOf(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.toString();
+    }
+
+    private static int valueOf(Integer count) {
+        return count != null ? count : 0;
+    }
+}
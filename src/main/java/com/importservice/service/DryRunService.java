@@ -0,0 +1,82 @@
+package com.importservice.service;
+
+import com.importservice.dto.DryRunEntityStatsDto;
+import com.importservice.dto.DryRunReportDto;
+import com.importservice.dto.ImportResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs an import call as a dry run and/or on a sample of documents and attaches a report of
+ * source volume and parse throughput per entity type. A dry run performs the full fetch and
+ * bind but skips every repository write, so it sizes the source side of a long import and
+ * surfaces parse failures before anything is committed.
+ */
+@Service
+public class DryRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DryRunService.class);
+
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    public <T extends ImportResponseDto> T run(boolean dryRun, double samplePercent, Supplier<T> importCall) {
+        if (!dryRun && samplePercent >= 100) {
+            return importCall.get();
+        }
+        ImportOptions options = new ImportOptions(dryRun, samplePercent);
+        long start = System.nanoTime();
+        T response = ImportOptions.callWith(options, importCall);
+        long wallClockMillis = (System.nanoTime() - start) / 1_000_000;
+
+        DryRunReportDto report = buildReport(options, wallClockMillis);
+        response.setDryRunReport(report);
+        if (dryRun) {
+            response.setMessage("Dry run, nothing written. " + response.getMessage());
+        }
+        logger.info("{} run finished in {} ms: {} records, {} MB from source ({} MB/s)",
+                    dryRun ? "Dry" : "Sampled", wallClockMillis, report.getTotalRecords(),
+                    String.format("%.1f", report.getTotalBytes() / MEGABYTE),
+                    String.format("%.1f", report.getMegabytesPerSecond()));
+        return response;
+    }
+
+    private DryRunReportDto buildReport(ImportOptions options, long wallClockMillis) {
+        DryRunReportDto report = new DryRunReportDto();
+        report.setDryRun(options.isDryRun());
+        report.setSamplePercent(options.getSamplePercent());
+        report.setDocumentsSampled(options.getDocumentsSampled());
+        report.setDocumentsSkipped(options.getDocumentsSkipped());
+        report.setWallClockMillis(wallClockMillis);
+
+        long totalBytes = 0;
+        long totalRecords = 0;
+        for (Map.Entry<String, ImportOptions.EntityStats> entry : options.getEntityStats().entrySet()) {
+            ImportOptions.EntityStats stats = entry.getValue();
+            DryRunEntityStatsDto entity = new DryRunEntityStatsDto();
+            entity.setEntityName(entry.getKey());
+            entity.setResponses(stats.getResponses());
+            entity.setBytes(stats.getBytes());
+            entity.setRecords(stats.getRecords());
+            entity.setParseFailures(stats.getParseFailures());
+            entity.setValidationFailures(stats.getValidationFailures());
+            entity.setFetchMillis(stats.getFetchNanos() / 1_000_000.0);
+            entity.setParseMillis(stats.getParseNanos() / 1_000_000.0);
+            double parseSeconds = stats.getParseNanos() / 1_000_000_000.0;
+            entity.setParseRecordsPerSecond(parseSeconds > 0 ? stats.getRecords() / parseSeconds : 0.0);
+            entity.setParseMegabytesPerSecond(parseSeconds > 0 ? stats.getBytes() / MEGABYTE / parseSeconds : 0.0);
+            report.getEntities().add(entity);
+            totalBytes += stats.getBytes();
+            totalRecords += stats.getRecords();
+        }
+        report.getEntities().sort(Comparator.comparing(DryRunEntityStatsDto::getBytes).reversed());
+        report.setTotalBytes(totalBytes);
+        report.setTotalRecords(totalRecords);
+        report.setMegabytesPerSecond(wallClockMillis > 0 ? totalBytes / MEGABYTE / (wallClockMillis / 1000.0) : 0.0);
+        return report;
+    }
+}
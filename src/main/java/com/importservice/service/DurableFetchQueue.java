@@ -0,0 +1,177 @@
+package com.importservice.service;
+
+import com.importservice.dto.DurableQueueStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps fetched responses on local disk, in a {@link MappedSegmentQueue}, between the fetch and
+ * bind stages of the {@link ImportPipeline}. Each response is appended when it arrives and
+ * acknowledged once its rows have been written, so the bind queue holds small handles rather
+ * than response bodies, and the fetch stage can run ahead of a slow database.
+ * <p>
+ * A response not acknowledged when the process stopped, or whose run failed, is kept for the
+ * next import of the same list, which binds it instead of fetching it again. Responses older
+ * than {@code import.durable-queue.max-replay-age-minutes} are fetched again instead.
+ */
+@Component
+public class DurableFetchQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurableFetchQueue.class);
+
+    @Value("${import.durable-queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${import.durable-queue.directory:fetch-queue}")
+    private String directory;
+
+    @Value("${import.durable-queue.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${import.durable-queue.force-on-append:false}")
+    private boolean forceOnAppend;
+
+    @Value("${import.durable-queue.max-replay-age-minutes:1440}")
+    private long maxReplayAgeMinutes;
+
+    private MappedSegmentQueue queue;
+
+    // Responses waiting for the next import of their list, by list
+    private final Map<String, MappedSegmentQueue.Record> parked = new ConcurrentHashMap<>();
+
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (segmentSizeMb < 1) {
+            throw new IllegalArgumentException("import.durable-queue.segment-size-mb must be at least 1, was: " + segmentSizeMb);
+        }
+        if (segmentSizeMb > 1024) {
+            throw new IllegalArgumentException("import.durable-queue.segment-size-mb must be at most 1024, was: " + segmentSizeMb);
+        }
+        if (maxReplayAgeMinutes < 0) {
+            throw new IllegalArgumentException("import.durable-queue.max-replay-age-minutes must not be negative, was: " + maxReplayAgeMinutes);
+        }
+        if (!enabled) {
+            return;
+        }
+        List<MappedSegmentQueue.Record> pending = new ArrayList<>();
+        queue = MappedSegmentQueue.open(Paths.get(directory), segmentSizeMb * 1024 * 1024, forceOnAppend, pending::add);
+        recovered.addAndGet(pending.size());
+        for (MappedSegmentQueue.Record record : pending) {
+            keep(record);
+        }
+        expireParked();
+        logger.info("Durable fetch queue in {}: {} segments, {} responses recovered for replay",
+                    Paths.get(directory).toAbsolutePath(), queue.segmentCount(), parked.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes the response kept for {@code key} by an earlier run, or returns {@code null} if there
+     * is none young enough to bind.
+     */
+    MappedSegmentQueue.Record replay(String key) {
+        MappedSegmentQueue.Record record = parked.remove(key);
+        if (record == null) {
+            return null;
+        }
+        if (isExpired(record, System.currentTimeMillis())) {
+            expired.incrementAndGet();
+            queue.acknowledge(record);
+            return null;
+        }
+        replayed.incrementAndGet();
+        return record;
+    }
+
+    MappedSegmentQueue.Record append(String key, String body) throws IOException {
+        return queue.append(key, body);
+    }
+
+    /**
+     * Releases a response whose rows have all been written.
+     */
+    void acknowledge(MappedSegmentQueue.Record record) {
+        queue.acknowledge(record);
+    }
+
+    /**
+     * Keeps the response of a failed run for the next import of its list.
+     */
+    void park(MappedSegmentQueue.Record record) {
+        keep(record);
+        expireParked();
+    }
+
+    public DurableQueueStatsDto stats() {
+        DurableQueueStatsDto stats = new DurableQueueStatsDto();
+        stats.setEnabled(enabled);
+        stats.setDirectory(Paths.get(directory).toAbsolutePath().toString());
+        if (queue != null) {
+            stats.setSegments(queue.segmentCount());
+            stats.setBytesOnDisk(queue.bytesOnDisk());
+            stats.setPending(queue.pendingRecords());
+            stats.setAppended(queue.getAppended());
+            stats.setAcknowledged(queue.getAcknowledged());
+            stats.setRolledSegments(queue.getRolledSegments());
+            stats.setDeletedSegments(queue.getDeletedSegments());
+        }
+        stats.setParked(parked.size());
+        stats.setRecovered(recovered.get());
+        stats.setReplayed(replayed.get());
+        stats.setExpired(expired.get());
+        return stats;
+    }
+
+    // Only the newest response of a list is worth binding again
+    private void keep(MappedSegmentQueue.Record record) {
+        MappedSegmentQueue.Record previous = parked.put(record.getKey(), record);
+        if (previous != null && previous != record) {
+            queue.acknowledge(previous);
+        }
+    }
+
+    // Parked responses nobody imports again would otherwise hold their segments forever
+    private void expireParked() {
+        long now = System.currentTimeMillis();
+        Iterator<MappedSegmentQueue.Record> records = parked.values().iterator();
+        while (records.hasNext()) {
+            MappedSegmentQueue.Record record = records.next();
+            if (isExpired(record, now) && parked.remove(record.getKey(), record)) {
+                expired.incrementAndGet();
+                queue.acknowledge(record);
+            }
+        }
+    }
+
+    private boolean isExpired(MappedSegmentQueue.Record record, long now) {
+        return now - record.getAppendedAt() > TimeUnit.MINUTES.toMillis(maxReplayAgeMinutes);
+    }
+}
@@ -0,0 +1,172 @@
+package com.importservice.service;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suppresses repeated identical errors on the import hot path. The first occurrences of an
+ * error signature in a time window are logged in full with their stack traces; after the
+ * threshold, repeats are only counted. A summary line with the count and the last few suppressed
+ * messages (which name the documents) is logged every Nth repeat, and once more when the window
+ * ends, so a flood of identical failures costs one line per N documents instead of one each.
+ * The counts start over with the next window, so a later job hitting the same error gets its
+ * stack traces again.
+ */
+@Component
+public class ErrorLogThrottle {
+
+    private static final int MAX_TRACKED_SIGNATURES = 10_000;
+
+    // Suppressed messages kept per signature for the summary line
+    private static final int RECENT_MESSAGES = 5;
+
+    @Value("${import.logging.error-repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${import.logging.error-summary-every:1000}")
+    private int summaryEvery;
+
+    @Value("${import.logging.error-window-seconds:600}")
+    private long windowSeconds;
+
+    private long windowNanos;
+    private ScheduledExecutorService sweeper;
+
+    private static final class Occurrences {
+        private final Logger logger;
+        private long windowStart;
+        private long count;
+        // Repeats counted since the last summary line
+        private long unreported;
+        private final Deque<String> recent = new ArrayDeque<>(RECENT_MESSAGES);
+
+        Occurrences(Logger logger, long now) {
+            this.logger = logger;
+            this.windowStart = now;
+        }
+
+        void suppress(String message) {
+            unreported++;
+            if (recent.size() == RECENT_MESSAGES) {
+                recent.removeFirst();
+            }
+            recent.addLast(message);
+        }
+
+        // Summary arguments of the repeats not reported yet, or null when there are none
+        Object[] takeSummary(String signature) {
+            if (unreported == 0) {
+                return null;
+            }
+            Object[] summary = {count, unreported, signature, new ArrayList<>(recent)};
+            unreported = 0;
+            recent.clear();
+            return summary;
+        }
+    }
+
+    private final ConcurrentMap<String, Occurrences> occurrences = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("import.logging.error-window-seconds must be positive, was: " + windowSeconds);
+        }
+        windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "error-log-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Report the suppressed tail of windows whose errors stopped, which no later repeat would close
+        sweeper.scheduleAtFixedRate(this::closeExpiredWindows, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        sweeper.shutdownNow();
+        occurrences.forEach((signature, entry) -> {
+            synchronized (entry) {
+                logSummary(entry.logger, entry.takeSummary(signature));
+            }
+        });
+    }
+
+    public void error(Logger logger, String entityName, String message, Throwable error) {
+        String signature = signatureOf(entityName, error);
+        if (occurrences.size() > MAX_TRACKED_SIGNATURES) {
+            occurrences.clear();
+        }
+        long now = System.nanoTime();
+        Occurrences entry = occurrences.computeIfAbsent(signature, key -> new Occurrences(logger, now));
+        long count;
+        Object[] previousWindow = null;
+        Object[] summary = null;
+        synchronized (entry) {
+            if (now - entry.windowStart >= windowNanos) {
+                previousWindow = entry.takeSummary(signature);
+                entry.windowStart = now;
+                entry.count = 0;
+            }
+            count = ++entry.count;
+            if (count > repeatThreshold) {
+                entry.suppress(message);
+                if (summaryEvery > 0 && entry.unreported >= summaryEvery) {
+                    summary = entry.takeSummary(signature);
+                }
+            }
+        }
+
+        logSummary(logger, previousWindow);
+        if (count < repeatThreshold) {
+            logger.error(message, error);
+        } else if (count == repeatThreshold) {
+            logger.error(message, error);
+            logger.error("Error repeated {} times for {}; further identical errors are counted and summarized every {}",
+                         count, signature, summaryEvery);
+        }
+        logSummary(logger, summary);
+    }
+
+    private void closeExpiredWindows() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Occurrences> tracked : occurrences.entrySet()) {
+            Occurrences entry = tracked.getValue();
+            Object[] summary = null;
+            synchronized (entry) {
+                if (now - entry.windowStart >= windowNanos) {
+                    summary = entry.takeSummary(tracked.getKey());
+                    occurrences.remove(tracked.getKey(), entry);
+                }
+            }
+            logSummary(entry.logger, summary);
+        }
+    }
+
+    private static void logSummary(Logger logger, Object[] summary) {
+        if (summary != null) {
+            logger.error("Error repeated {} times ({} suppressed since the last summary) for {}; latest: {}", summary);
+        }
+    }
+
+    private static String signatureOf(String entityName, Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return entityName + ": " + root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+}
@@ -0,0 +1,248 @@
+package com.importservice.service;
+
+import com.importservice.entity.GuidType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManager;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of which primary keys already exist, per entity type, so the write path
+ * can choose INSERT or UPDATE without a SELECT per row.
+ * <p>
+ * {@link #load(Class)} reads all keys of the entity's table with one keyset-paged scan at
+ * job start, once for all jobs that overlap, and {@link #release(Class)} drops them when the
+ * last of those jobs ends. Writers built by {@link #upsert(Class, ChunkedImportWriter.RowWriter)} then
+ * {@code persist} rows whose key is unknown and {@code merge} the rest, adding new keys as
+ * they go. Only entities with an assigned String id are indexed; for any other entity, or
+ * one that has not been loaded, the fallback writer is used unchanged.
+ */
+@Component
+public class ExistingKeyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExistingKeyIndex.class);
+
+    // Binary GUID columns come back as byte[], VARCHAR ones as String
+    private static final RowMapper<Object> KEY_MAPPER = (rs, rowNum) -> rs.getObject(1);
+
+    @Value("${import.key-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${import.key-index.scan-page-size:10000}")
+    private int scanPageSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Class<?>, GuidKeySet> loaded = new ConcurrentHashMap<>();
+    // Jobs holding each loaded index; guarded by itself
+    private final Map<Class<?>, Integer> references = new HashMap<>();
+    private final Map<Class<?>, Optional<Field>> idFields = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the keys of {@code entityClass} for one job; pair every call with
+     * {@link #release(Class)}. Jobs that overlap share one index per entity: only the first load
+     * scans the table, and the index is dropped when the last of them releases it. Does nothing
+     * for entities that are not keyed by an assigned String id.
+     */
+    public void load(Class<?> entityClass) {
+        if (!isIndexable(entityClass)) {
+            return;
+        }
+        synchronized (references) {
+            int count = references.getOrDefault(entityClass, 0);
+            references.put(entityClass, count + 1);
+            if (count > 0) {
+                // Loaded, or being loaded, by an overlapping job; upsert writers pick it up per row
+                return;
+            }
+        }
+
+        GuidKeySet keys;
+        try {
+            keys = scan(entityClass, null);
+        } catch (RuntimeException e) {
+            release(entityClass);
+            throw e;
+        }
+        synchronized (references) {
+            // Every job may have released it while the table was being scanned
+            if (references.containsKey(entityClass)) {
+                loaded.put(entityClass, keys);
+            }
+        }
+    }
+
+    /**
+     * Adds the keys committed since {@code entityClass} was loaded, such as rows another instance
+     * wrote before this one took over its work. Keys already in the index stay, so rows written
+     * but not yet committed by overlapping jobs are still known. Does nothing if it is not loaded.
+     */
+    public void reload(Class<?> entityClass) {
+        if (!isIndexable(entityClass)) {
+            return;
+        }
+        GuidKeySet keys = loaded.get(entityClass);
+        if (keys != null) {
+            scan(entityClass, keys);
+        }
+    }
+
+    public void release(Class<?> entityClass) {
+        if (!isIndexable(entityClass)) {
+            return;
+        }
+        synchronized (references) {
+            Integer count = references.get(entityClass);
+            if (count == null || count <= 1) {
+                references.remove(entityClass);
+                loaded.remove(entityClass);
+            } else {
+                references.put(entityClass, count - 1);
+            }
+        }
+    }
+
+    // The conditions under which load and release count a reference; they must agree
+    private boolean isIndexable(Class<?> entityClass) {
+        return enabled && !ImportOptions.current().isDryRun()
+                && idField(entityClass) != null && entityClass.getAnnotation(Table.class) != null;
+    }
+
+    // Reads every key of the entity's table into keys, or into a new set sized for the table
+    private GuidKeySet scan(Class<?> entityClass, GuidKeySet keys) {
+        long start = System.nanoTime();
+        String column = columnName(idField(entityClass));
+        String tableName = entityClass.getAnnotation(Table.class).name();
+        if (keys == null) {
+            Integer rowCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tableName, Integer.class);
+            keys = new GuidKeySet(rowCount != null ? rowCount : 0);
+        }
+
+        // Keyset pagination: each page is an index range scan on the primary key
+        String firstPage = "SELECT " + column + " FROM " + tableName + " ORDER BY " + column + " LIMIT ?";
+        String nextPage = "SELECT " + column + " FROM " + tableName + " WHERE " + column + " > ? ORDER BY " + column + " LIMIT ?";
+        int pageSize = Math.max(1, scanPageSize);
+        List<Object> page = jdbcTemplate.query(firstPage, KEY_MAPPER, pageSize);
+        while (!page.isEmpty()) {
+            for (Object key : page) {
+                keys.add(key instanceof byte[] ? GuidType.toGuid((byte[]) key) : (String) key);
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            // Bound as read, so binary keys compare as bytes rather than as their string form
+            page = jdbcTemplate.query(nextPage, KEY_MAPPER, page.get(page.size() - 1), pageSize);
+        }
+
+        logger.info("Loaded {} existing {} keys in {} ms (~{} KB)", keys.size(), entityClass.getSimpleName(),
+                    (System.nanoTime() - start) / 1_000_000, keys.memoryBytes() / 1024);
+        return keys;
+    }
+
+    /**
+     * Returns {@code null} when the entity is not indexed, so callers fall back to a lookup.
+     */
+    public Boolean exists(Class<?> entityClass, String key) {
+        GuidKeySet keys = loaded.get(entityClass);
+        return keys != null ? keys.contains(key) : null;
+    }
+
+    /**
+     * Inserts a row whose key {@link #exists} reported as absent, without a merge SELECT.
+     */
+    public <T> void insert(Class<T> entityClass, String key, T row) {
+        entityManager.persist(row);
+        GuidKeySet keys = loaded.get(entityClass);
+        if (keys != null) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Wraps {@code fallback} with an index-driven persist/merge writer for {@code entityClass}.
+     * The index is checked per row, so a writer built before {@link #load(Class)} still benefits.
+     */
+    public <T> ChunkedImportWriter.RowWriter<T> upsert(Class<T> entityClass, ChunkedImportWriter.RowWriter<T> fallback) {
+        Field idField = idField(entityClass);
+        if (idField == null) {
+            return fallback;
+        }
+        return row -> {
+            String key = readKey(idField, row);
+            GuidKeySet keys = loaded.get(entityClass);
+            if (keys == null || key == null) {
+                fallback.write(row);
+            } else if (keys.contains(key)) {
+                entityManager.merge(row);
+            } else {
+                entityManager.persist(row);
+                // Added before commit: if the chunk rolls back, the retry merges, which is still correct
+                keys.add(key);
+            }
+        };
+    }
+
+    /**
+     * True for a row of an assigned-String-id entity whose id is null or blank.
+     */
+    public boolean isMissingKey(Object row) {
+        Field idField = idField(row.getClass());
+        if (idField == null) {
+            return false;
+        }
+        String key = readKey(idField, row);
+        return key == null || key.trim().isEmpty();
+    }
+
+    private Field idField(Class<?> entityClass) {
+        return idFields.computeIfAbsent(entityClass, ExistingKeyIndex::findAssignedStringId).orElse(null);
+    }
+
+    private static Optional<Field> findAssignedStringId(Class<?> entityClass) {
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    if (field.getType() != String.class || field.isAnnotationPresent(GeneratedValue.class)) {
+                        return Optional.empty();
+                    }
+                    field.setAccessible(true);
+                    return Optional.of(field);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String columnName(Field idField) {
+        Column column = idField.getAnnotation(Column.class);
+        return column != null && !column.name().isEmpty() ? column.name() : idField.getName();
+    }
+
+    private static String readKey(Field idField, Object row) {
+        try {
+            return (String) idField.get(row);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
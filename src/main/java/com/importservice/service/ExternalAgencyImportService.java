@@ -2,6 +2,7 @@ package com.importservice.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.importservice.dto.DestinationRequestDto;
 import com.importservice.dto.ExternalAgencyDto;
 import com.importservice.dto.ExternalAgencyInfoDto;
@@ -40,11 +41,11 @@ public class ExternalAgencyImportService {
 
     @Autowired
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader agenciesReader;
 
-    public ExternalAgencyImportService(RestTemplate restTemplate) {
+    public ExternalAgencyImportService(RestTemplate restTemplate, ObjectMapper objectMapper) {
         this.restTemplate = restTemplate;
-        this.objectMapper = new ObjectMapper();
+        this.agenciesReader = objectMapper.readerFor(new TypeReference<List<ExternalAgencyDto>>() {});
     }
 
     public ImportResponseDto importExternalAgencies() {
@@ -94,8 +95,7 @@ public class ExternalAgencyImportService {
         ClassPathResource resource = new ClassPathResource("externalAgencies.json");
         InputStream inputStream = resource.getInputStream();
         
-        TypeReference<List<ExternalAgencyDto>> typeReference = new TypeReference<List<ExternalAgencyDto>>() {};
-        return objectMapper.readValue(inputStream, typeReference);
+        return agenciesReader.readValue(inputStream);
     }
 
     private boolean importSingleAgency(ExternalAgencyDto agency) {
@@ -0,0 +1,136 @@
+package com.importservice.service;
+
+import com.importservice.dto.FlightRecordingDto;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops one Flight Recorder recording at a time with the import stage events
+ * enabled, and dumps it to a .jfr file for download. The JVM's own events follow the chosen
+ * settings ({@code default} is low overhead, {@code profile} adds method sampling and more).
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${import.jfr.dir:./jfr}")
+    private String recordingDir;
+
+    @Value("${import.jfr.settings:default}")
+    private String defaultSettings;
+
+    @Value("${import.jfr.stage-threshold-ms:0}")
+    private long stageThresholdMs;
+
+    @Value("${import.jfr.max-age-minutes:120}")
+    private long maxAgeMinutes;
+
+    private Recording recording;
+    private final FlightRecordingDto state = new FlightRecordingDto();
+
+    public FlightRecordingService() {
+        state.setStatus("NONE");
+    }
+
+    public synchronized FlightRecordingDto start(String settings) throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available on this JVM");
+        }
+        if (recording != null) {
+            throw new IllegalStateException("Recording " + state.getName() + " is already running");
+        }
+        String settingsName = settings != null && !settings.isEmpty() ? settings : defaultSettings;
+        LocalDateTime now = LocalDateTime.now();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settingsName));
+        newRecording.setName("import-" + now.format(NAME_FORMAT));
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        newRecording.enable(ImportStageEvent.NAME).withThreshold(Duration.ofMillis(stageThresholdMs));
+        newRecording.start();
+        recording = newRecording;
+
+        state.setStatus("RECORDING");
+        state.setName(newRecording.getName());
+        state.setSettings(settingsName);
+        state.setStartedAt(now);
+        state.setStoppedAt(null);
+        state.setFile(null);
+        state.setSizeBytes(null);
+        logger.info("Started Flight Recorder recording {} with {} settings", state.getName(), settingsName);
+        return copyState();
+    }
+
+    public synchronized FlightRecordingDto stop() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Path directory = Paths.get(recordingDir);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(recording.getName() + ".jfr");
+        try {
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+
+        state.setStatus("STOPPED");
+        state.setStoppedAt(LocalDateTime.now());
+        state.setFile(file.toString());
+        state.setSizeBytes(Files.size(file));
+        logger.info("Stopped Flight Recorder recording {}, written to {} ({} KB)",
+                    state.getName(), file, state.getSizeBytes() / 1024);
+        return copyState();
+    }
+
+    public synchronized FlightRecordingDto getStatus() {
+        return copyState();
+    }
+
+    /**
+     * The file of the last stopped recording, or {@code null} if there is none.
+     */
+    public synchronized Path getLastRecordingFile() {
+        return state.getFile() != null ? Paths.get(state.getFile()) : null;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private FlightRecordingDto copyState() {
+        FlightRecordingDto copy = new FlightRecordingDto();
+        copy.setStatus(state.getStatus());
+        copy.setName(state.getName());
+        copy.setSettings(state.getSettings());
+        copy.setStartedAt(state.getStartedAt());
+        copy.setStoppedAt(state.getStoppedAt());
+        copy.setFile(state.getFile());
+        copy.setSizeBytes(state.getSizeBytes());
+        return copy;
+    }
+}
@@ -0,0 +1,147 @@
+package com.importservice.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Set of GUID keys stored as two longs per key in open-addressing arrays (linear probing).
+ * The capacity is a power of two kept above size / 0.6, so the 16 bytes per slot come to
+ * 27-53 bytes per key instead of ~100 for a HashSet of strings.
+ * Keys that are not canonical 36-character GUIDs are kept in a small fallback set, so the
+ * set is exact for any string key. All methods are synchronized; the critical sections are
+ * a few array reads.
+ */
+public class GuidKeySet {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] high;
+    private long[] low;
+    private int size;
+    // (0, 0) marks a free slot, so the all-zero GUID is tracked separately
+    private boolean containsZero;
+    private final Set<String> nonGuidKeys = new HashSet<>();
+
+    public GuidKeySet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        high = new long[capacity];
+        low = new long[capacity];
+    }
+
+    public synchronized boolean contains(String key) {
+        if (key == null) {
+            return false;
+        }
+        long[] parsed = parse(key);
+        if (parsed == null) {
+            return nonGuidKeys.contains(key);
+        }
+        if (parsed[0] == 0 && parsed[1] == 0) {
+            return containsZero;
+        }
+        int mask = high.length - 1;
+        for (int slot = slot(parsed[0], parsed[1], mask); ; slot = (slot + 1) & mask) {
+            if (high[slot] == 0 && low[slot] == 0) {
+                return false;
+            }
+            if (high[slot] == parsed[0] && low[slot] == parsed[1]) {
+                return true;
+            }
+        }
+    }
+
+    public synchronized void add(String key) {
+        if (key == null) {
+            return;
+        }
+        long[] parsed = parse(key);
+        if (parsed == null) {
+            nonGuidKeys.add(key);
+        } else if (parsed[0] == 0 && parsed[1] == 0) {
+            containsZero = true;
+        } else {
+            insert(parsed[0], parsed[1]);
+        }
+    }
+
+    public synchronized int size() {
+        return size + (containsZero ? 1 : 0) + nonGuidKeys.size();
+    }
+
+    /**
+     * Approximate heap used by the key arrays, for diagnostics.
+     */
+    public synchronized long memoryBytes() {
+        return (long) high.length * 16;
+    }
+
+    private void insert(long hi, long lo) {
+        if (size + 1 > high.length * LOAD_FACTOR) {
+            resize();
+        }
+        int mask = high.length - 1;
+        for (int slot = slot(hi, lo, mask); ; slot = (slot + 1) & mask) {
+            if (high[slot] == 0 && low[slot] == 0) {
+                high[slot] = hi;
+                low[slot] = lo;
+                size++;
+                return;
+            }
+            if (high[slot] == hi && low[slot] == lo) {
+                return;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldHigh = high;
+        long[] oldLow = low;
+        high = new long[oldHigh.length * 2];
+        low = new long[oldLow.length * 2];
+        size = 0;
+        for (int i = 0; i < oldHigh.length; i++) {
+            if (oldHigh[i] != 0 || oldLow[i] != 0) {
+                insert(oldHigh[i], oldLow[i]);
+            }
+        }
+    }
+
+    private static int slot(long hi, long lo, int mask) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 32;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return (int) h & mask;
+    }
+
+    /**
+     * Parses a canonical GUID (8-4-4-4-12 hex digits, either case) into two longs,
+     * or returns {@code null} for anything else.
+     */
+    static long[] parse(String key) {
+        if (key.length() != 36 || key.charAt(8) != '-' || key.charAt(13) != '-'
+                || key.charAt(18) != '-' || key.charAt(23) != '-') {
+            return null;
+        }
+        long hi = 0;
+        long lo = 0;
+        int digits = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = key.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            int value = c < 128 ? Character.digit(c, 16) : -1;
+            if (value < 0) {
+                return null;
+            }
+            if (digits < 16) {
+                hi = (hi << 4) | value;
+            } else {
+                lo = (lo << 4) | value;
+            }
+            digits++;
+        }
+        return digits == 32 ? new long[] {hi, lo} : null;
+    }
+}
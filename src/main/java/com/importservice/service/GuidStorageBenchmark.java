@@ -0,0 +1,199 @@
+package com.importservice.service;
+
+import com.importservice.dto.GuidStorageReportDto;
+import com.importservice.dto.GuidTableStatsDto;
+import com.importservice.entity.GuidType;
+import org.hibernate.annotations.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManager;
+import javax.persistence.Id;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures what the GUID storage mode costs: clustered and secondary index sizes from
+ * information_schema, and point lookup latency by primary key and by doc_guid for a sample
+ * of existing keys. Run it once per mode on the same data to compare string and binary storage.
+ * It analyzes every table and issues thousands of lookups, so it only runs when
+ * import.diagnostics.guid-benchmark.enabled is set, and an unindexed doc_guid (a full scan per
+ * lookup) is sampled at most UNINDEXED_DOC_GUID_SAMPLES times.
+ */
+@Service
+public class GuidStorageBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuidStorageBenchmark.class);
+
+    private static final String DOC_GUID_COLUMN = "doc_guid";
+
+    static final int UNINDEXED_DOC_GUID_SAMPLES = 20;
+
+    // Keys are sampled and bound in their stored form (String or byte[])
+    private static final RowMapper<Object> KEY_MAPPER = (rs, rowNum) -> rs.getObject(1);
+
+    @Value("${import.diagnostics.guid-benchmark.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public GuidStorageReportDto run(int samples) {
+        if (!enabled) {
+            throw new IllegalStateException("GUID storage benchmark is disabled; set import.diagnostics.guid-benchmark.enabled=true");
+        }
+        GuidStorageReportDto report = new GuidStorageReportDto();
+        report.setStorageMode(GuidType.isBinaryStorage() ? "binary" : "string");
+        long totalData = 0;
+        long totalIndex = 0;
+
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            Class<?> entityClass = entity.getJavaType();
+            Table table = entityClass.getAnnotation(Table.class);
+            Field idField = guidIdField(entityClass);
+            if (table == null || idField == null) {
+                continue;
+            }
+            try {
+                GuidTableStatsDto stats = measure(table.name(), columnName(idField), hasDocGuid(entityClass), samples);
+                totalData += stats.getDataBytes() != null ? stats.getDataBytes() : 0;
+                totalIndex += stats.getIndexBytes() != null ? stats.getIndexBytes() : 0;
+                report.getTables().add(stats);
+            } catch (Exception e) {
+                logger.warn("Could not benchmark table {}: {}", table.name(), e.getMessage());
+            }
+        }
+
+        report.getTables().sort(Comparator.comparing(GuidTableStatsDto::getTableName));
+        report.setTotalDataBytes(totalData);
+        report.setTotalIndexBytes(totalIndex);
+        return report;
+    }
+
+    private GuidTableStatsDto measure(String tableName, String keyColumn, boolean hasDocGuid, int samples) {
+        GuidTableStatsDto stats = new GuidTableStatsDto();
+        stats.setTableName(tableName);
+        stats.setKeyColumn(keyColumn);
+
+        // ANALYZE refreshes the InnoDB statistics that information_schema reports
+        jdbcTemplate.execute("ANALYZE TABLE " + tableName);
+        Map<String, Object> sizes = jdbcTemplate.queryForList(
+                "SELECT TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", tableName).get(0);
+        stats.setRowEstimate(toLong(sizes.get("TABLE_ROWS")));
+        stats.setDataBytes(toLong(sizes.get("DATA_LENGTH")));
+        stats.setIndexBytes(toLong(sizes.get("INDEX_LENGTH")));
+        stats.setKeyColumnType(jdbcTemplate.queryForObject(
+                "SELECT COLUMN_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                String.class, tableName, keyColumn));
+
+        List<Object> keys = jdbcTemplate.query(
+                "SELECT " + keyColumn + " FROM " + tableName + " LIMIT ?", KEY_MAPPER, samples);
+        stats.setSamples(keys.size());
+        long[] keyTimes = time("SELECT COUNT(*) FROM " + tableName + " WHERE " + keyColumn + " = ?", keys);
+        stats.setKeyLookupAvgMicros(average(keyTimes));
+        stats.setKeyLookupP95Micros(p95(keyTimes));
+
+        if (hasDocGuid) {
+            boolean indexed = isIndexed(tableName, DOC_GUID_COLUMN);
+            int docSamples = indexed ? samples : Math.min(samples, UNINDEXED_DOC_GUID_SAMPLES);
+            List<Object> docGuids = jdbcTemplate.query(
+                    "SELECT DISTINCT " + DOC_GUID_COLUMN + " FROM " + tableName + " LIMIT ?", KEY_MAPPER, docSamples);
+            stats.setDocGuidIndexed(indexed);
+            stats.setDocGuidSamples(docGuids.size());
+            long[] docTimes = time("SELECT COUNT(*) FROM " + tableName + " WHERE " + DOC_GUID_COLUMN + " = ?", docGuids);
+            stats.setDocGuidLookupAvgMicros(average(docTimes));
+            stats.setDocGuidLookupP95Micros(p95(docTimes));
+        }
+        return stats;
+    }
+
+    // True when the column leads some index, so equality lookups on it do not scan the table
+    private boolean isIndexed(String tableName, String column) {
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ? AND SEQ_IN_INDEX = 1",
+                Integer.class, tableName, column);
+        return indexes != null && indexes > 0;
+    }
+
+    private long[] time(String sql, List<Object> keys) {
+        List<Object> shuffled = new ArrayList<>(keys);
+        // Random order, so lookups do not walk the index leaf by leaf
+        Collections.shuffle(shuffled);
+        long[] nanos = new long[shuffled.size()];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            jdbcTemplate.queryForObject(sql, Long.class, shuffled.get(i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static Double average(long[] nanos) {
+        if (nanos.length == 0) {
+            return null;
+        }
+        return Arrays.stream(nanos).average().orElse(0) / 1000.0;
+    }
+
+    private static Double p95(long[] nanos) {
+        if (nanos.length == 0) {
+            return null;
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)] / 1000.0;
+    }
+
+    private static Field guidIdField(Class<?> entityClass) {
+        for (Field field : entityClass.getDeclaredFields()) {
+            Type type = field.getAnnotation(Type.class);
+            if (field.isAnnotationPresent(Id.class) && type != null && GuidType.TYPE.equals(type.type())) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasDocGuid(Class<?> entityClass) {
+        for (Field field : entityClass.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null && DOC_GUID_COLUMN.equals(column.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        return column != null && !column.name().isEmpty() ? column.name() : field.getName();
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+}
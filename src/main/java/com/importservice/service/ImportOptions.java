@@ -0,0 +1,206 @@
+package com.importservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Per-run import options: dry run (fetch and bind, never write) and document sampling.
+ * <p>
+ * Options are bound to the calling thread by {@link #callWith} and carried across executor
+ * hand-offs with {@link #propagate}, so the services keep their signatures. Without options
+ * in scope, {@link #current()} is a normal full import.
+ */
+public class ImportOptions {
+
+    private static final ImportOptions DEFAULT = new ImportOptions(false, 100);
+    private static final ThreadLocal<ImportOptions> CURRENT = new ThreadLocal<>();
+
+    private final boolean dryRun;
+    private final double samplePercent;
+    private final Map<String, EntityStats> entityStats = new ConcurrentHashMap<>();
+    private final LongAdder documentsSampled = new LongAdder();
+    private final LongAdder documentsSkipped = new LongAdder();
+
+    /**
+     * Source volume and bind outcome for one entity type during a run.
+     */
+    public static class EntityStats {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder records = new LongAdder();
+        private final LongAdder parseFailures = new LongAdder();
+        private final LongAdder validationFailures = new LongAdder();
+        private final LongAdder fetchNanos = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+
+        public long getResponses() {
+            return responses.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getRecords() {
+            return records.sum();
+        }
+
+        public long getParseFailures() {
+            return parseFailures.sum();
+        }
+
+        public long getValidationFailures() {
+            return validationFailures.sum();
+        }
+
+        public long getFetchNanos() {
+            return fetchNanos.sum();
+        }
+
+        public long getParseNanos() {
+            return parseNanos.sum();
+        }
+    }
+
+    public ImportOptions(boolean dryRun, double samplePercent) {
+        this.dryRun = dryRun;
+        this.samplePercent = Math.max(0, Math.min(100, samplePercent));
+    }
+
+    public static ImportOptions current() {
+        ImportOptions options = CURRENT.get();
+        return options != null ? options : DEFAULT;
+    }
+
+    public static <T> T callWith(ImportOptions options, Supplier<T> work) {
+        ImportOptions previous = CURRENT.get();
+        CURRENT.set(options);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Wraps {@code work} so that it runs with the caller's options on whichever thread executes it.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        ImportOptions options = CURRENT.get();
+        if (options == null) {
+            return work;
+        }
+        return () -> callWith(options, work);
+    }
+
+    public static Runnable propagate(Runnable work) {
+        ImportOptions options = CURRENT.get();
+        if (options == null) {
+            return work;
+        }
+        return () -> callWith(options, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public double getSamplePercent() {
+        return samplePercent;
+    }
+
+    /**
+     * Whether {@code docGuid} is in the sample. The choice hashes the GUID, so the same
+     * percentage picks the same documents on every run and runs stay comparable.
+     */
+    public boolean includesDocument(String docGuid) {
+        boolean included;
+        if (samplePercent >= 100) {
+            included = true;
+        } else if (docGuid == null || samplePercent <= 0) {
+            included = false;
+        } else {
+            CRC32 crc = new CRC32();
+            byte[] bytes = docGuid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+            crc.update(bytes, 0, bytes.length);
+            included = crc.getValue() % 10000 < samplePercent * 100;
+        }
+        if (this != DEFAULT) {
+            (included ? documentsSampled : documentsSkipped).increment();
+        }
+        return included;
+    }
+
+    public void recordFetch(String entityName, String responseBody, long nanos) {
+        if (this == DEFAULT) {
+            return;
+        }
+        EntityStats stats = stats(entityName);
+        stats.responses.increment();
+        stats.bytes.add(responseBody != null ? utf8Length(responseBody) : 0);
+        stats.fetchNanos.add(nanos);
+    }
+
+    public void recordParse(String entityName, long records, long parseFailures, long nanos) {
+        if (this == DEFAULT) {
+            return;
+        }
+        EntityStats stats = stats(entityName);
+        stats.records.add(records);
+        stats.parseFailures.add(parseFailures);
+        stats.parseNanos.add(nanos);
+    }
+
+    public void recordValidationFailure(String entityName) {
+        if (this != DEFAULT) {
+            stats(entityName).validationFailures.increment();
+        }
+    }
+
+    public Map<String, EntityStats> getEntityStats() {
+        return entityStats;
+    }
+
+    public long getDocumentsSampled() {
+        return documentsSampled.sum();
+    }
+
+    public long getDocumentsSkipped() {
+        return documentsSkipped.sum();
+    }
+
+    private EntityStats stats(String entityName) {
+        return entityStats.computeIfAbsent(entityName, name -> new EntityStats());
+    }
+
+    // Encoded size without encoding the whole response again
+    private static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,362 @@
+package com.importservice.service;
+
+import com.importservice.dto.PipelineStageStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs entity imports as four stages joined by bounded queues: fetch the response, decode and
+ * bind its items in chunk-sized batches, enrich and validate each batch, and write it in chunk
+ * transactions. Every stage has its own threads, so one import is written while others are
+ * being fetched, and the first rows of a large response are written while the rest are still
+ * being bound. A full queue makes the stage before it wait, so a slow database holds back
+ * binding and then fetching instead of letting responses pile up in memory.
+ * <p>
+ * Each stage task runs with the submitter's {@link ImportOptions} and document, so dry runs,
+ * stage events and per-run statistics behave as they do on the calling thread. Jobs marked
+ * {@link PipelineJob#writtenBehind()} are written through the {@link WriteBehindBuffer}. With
+ * the {@link DurableFetchQueue} enabled, fetched responses wait for binding on local disk.
+ * <p>
+ * The {@link ReactiveSourceFetchEngine} does not run through the pipeline: its responses are
+ * bound and written in its own Reactor stages, bounded by flatMap concurrency rather than these
+ * queues. Its imports therefore report no stage statistics here, are not held back by this
+ * pipeline's queue depth, and never pass through the durable fetch queue, so an interrupted
+ * reactive run fetches its unwritten responses again. It does share the write-behind buffer.
+ */
+@Component
+public class ImportPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportPipeline.class);
+
+    // Each fetch waits on the source API, so this is sized like the source API permits
+    @Value("${import.pipeline.fetch-threads:64}")
+    private int fetchThreads;
+
+    @Value("${import.pipeline.bind-threads:4}")
+    private int bindThreads;
+
+    @Value("${import.pipeline.enrich-threads:2}")
+    private int enrichThreads;
+
+    // Each write holds a pooled connection for a chunk transaction
+    @Value("${import.pipeline.write-threads:8}")
+    private int writeThreads;
+
+    @Value("${import.pipeline.queue-depth:256}")
+    private int queueDepth;
+
+    @Autowired
+    private SourceApiClient sourceApiClient;
+
+    @Autowired
+    private ChunkedImportWriter chunkedImportWriter;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private DurableFetchQueue durableFetchQueue;
+
+    private PipelineStage fetchStage;
+    private PipelineStage bindStage;
+    private PipelineStage enrichStage;
+    private PipelineStage writeStage;
+
+    @PostConstruct
+    public void init() {
+        requirePositive("import.pipeline.fetch-threads", fetchThreads);
+        requirePositive("import.pipeline.bind-threads", bindThreads);
+        requirePositive("import.pipeline.enrich-threads", enrichThreads);
+        requirePositive("import.pipeline.write-threads", writeThreads);
+        requirePositive("import.pipeline.queue-depth", queueDepth);
+        fetchStage = new PipelineStage("fetch", fetchThreads, queueDepth);
+        bindStage = new PipelineStage("bind", bindThreads, queueDepth);
+        enrichStage = new PipelineStage("enrich", enrichThreads, queueDepth);
+        writeStage = new PipelineStage("write", writeThreads, queueDepth);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (PipelineStage stage : stages()) {
+            stage.shutdown();
+        }
+    }
+
+    /**
+     * Runs {@code job} through every stage and waits for its last batch to be written. Waits
+     * for space first if the fetch queue is full. Transport and JSON syntax errors are thrown,
+     * as {@link SourceApiClient#fetchList} throws them.
+     */
+    public <T> PipelineResult run(PipelineJob<T> job) throws IOException {
+        Run<T> run = new Run<>(job);
+        fetchStage.submit(run.inContext(() -> fetch(run)));
+        try {
+            PipelineResult result = run.future.join();
+            if (run.payload != null) {
+                durableFetchQueue.acknowledge(run.payload);
+            }
+            return result;
+        } catch (CompletionException e) {
+            // A fresh response stays on disk for the next import of this list; a replayed one
+            // that failed again is fetched anew next time
+            if (run.payload != null && run.replayed) {
+                durableFetchQueue.acknowledge(run.payload);
+            } else if (run.payload != null) {
+                durableFetchQueue.park(run.payload);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    public List<PipelineStageStatsDto> stats() {
+        List<PipelineStageStatsDto> stats = new ArrayList<>();
+        for (PipelineStage stage : stages()) {
+            stats.add(stage.stats());
+        }
+        return stats;
+    }
+
+    private <T> void fetch(Run<T> run) {
+        try {
+            Supplier<String> responseBody;
+            if (isDurable()) {
+                String key = run.job.getEntityName() + " " + run.job.getUrl();
+                MappedSegmentQueue.Record payload = durableFetchQueue.replay(key);
+                if (payload == null) {
+                    payload = durableFetchQueue.append(key, sourceApiClient.fetchBody(run.job.getEntityName(), run.job.getUrl()));
+                } else {
+                    logger.debug("Binding the kept response of {} instead of fetching it", key);
+                    run.replayed = true;
+                }
+                run.payload = payload;
+                responseBody = payload::read;
+            } else {
+                String body = sourceApiClient.fetchBody(run.job.getEntityName(), run.job.getUrl());
+                responseBody = () -> body;
+            }
+            bindStage.submit(run.inContext(() -> bind(run, responseBody)));
+        } catch (Throwable e) {
+            run.fail(e);
+            run.release();
+        }
+    }
+
+    private <T> void bind(Run<T> run, Supplier<String> responseBody) {
+        try {
+            int batchSize = chunkedImportWriter.getChunkSize();
+            SourceResult<T> source = sourceApiClient.parseList(run.job.getEntityName(), responseBody.get(),
+                    run.job.getEntityClass(), batchSize, batch -> {
+                        int offset = run.nextOffset(batch.size());
+                        // Anything past the first chunk makes the job a multi-chunk one
+                        boolean multiChunkJob = offset > 0 || batch.size() == batchSize;
+                        run.retain();
+                        try {
+                            enrichStage.submit(run.inContext(() -> enrich(run, offset, batch, multiChunkJob)));
+                        } catch (RuntimeException e) {
+                            run.release();
+                            throw e;
+                        }
+                    });
+            run.finishBinding(source);
+        } catch (Throwable e) {
+            run.fail(e);
+        } finally {
+            run.release();
+        }
+    }
+
+    private <T> void enrich(Run<T> run, int offset, List<T> batch, boolean multiChunkJob) {
+        try {
+            PipelineJob.Enricher<T> enricher = run.job.getEnricher();
+            List<T> rows = batch;
+            if (enricher != null) {
+                rows = new ArrayList<>(batch.size());
+                for (T row : batch) {
+                    String rejection = enricher.enrich(row);
+                    if (rejection == null) {
+                        rows.add(row);
+                    } else {
+                        run.reject(rejection);
+                    }
+                }
+            }
+            if (rows.isEmpty()) {
+                run.release();
+                return;
+            }
+            List<T> accepted = rows;
+            writeStage.submit(run.inContext(() -> write(run, offset, accepted, multiChunkJob)));
+        } catch (Throwable e) {
+            run.fail(e);
+            run.release();
+        }
+    }
+
+    private <T> void write(Run<T> run, int offset, List<T> rows, boolean multiChunkJob) {
+        if (isWrittenBehind(run.job)) {
+            writeBehind(run, rows);
+            return;
+        }
+        try {
+            ChunkWriteResult result = new ChunkWriteResult();
+            chunkedImportWriter.writeBatch(run.runId, run.job.getWriteEntityName(), offset, rows,
+                    run.job.getRowWriter(), run.job.getProgress(), multiChunkJob, result);
+            run.addWriteResult(result);
+        } catch (Throwable e) {
+            run.fail(e);
+        } finally {
+            run.release();
+        }
+    }
+
+    // The write thread moves on; the batch is released when the buffer's flush commits it
+    private <T> void writeBehind(Run<T> run, List<T> rows) {
+        try {
+            writeBehindBuffer.submit(run.job.getWriteEntityName(), rows, run.job.getRowWriter())
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            run.fail(e);
+                        } else {
+                            run.addWriteResult(result);
+                        }
+                        run.release();
+                    });
+        } catch (Throwable e) {
+            run.fail(e);
+            run.release();
+        }
+    }
+
+    private boolean isDurable() {
+        return durableFetchQueue.isEnabled() && !ImportOptions.current().isDryRun();
+    }
+
+    private boolean isWrittenBehind(PipelineJob<?> job) {
+        return job.isWrittenBehind() && job.getProgress() == null
+                && writeBehindBuffer.isEnabled() && !ImportOptions.current().isDryRun();
+    }
+
+    private List<PipelineStage> stages() {
+        return Arrays.asList(fetchStage, bindStage, enrichStage, writeStage);
+    }
+
+    private static void requirePositive(String property, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(property + " must be at least 1, was: " + value);
+        }
+    }
+
+    /**
+     * One job on its way through the stages. The fetch and bind tasks hold one reference and
+     * every batch in flight another; the job completes when the last one is released.
+     */
+    private static final class Run<T> {
+
+        private final PipelineJob<T> job;
+        private final ImportOptions options = ImportOptions.current();
+        private final String docGuid = ImportStageEvent.currentDocGuid();
+        private final String runId = UUID.randomUUID().toString();
+        private final CompletableFuture<PipelineResult> future = new CompletableFuture<>();
+        private final AtomicInteger references = new AtomicInteger(1);
+        private volatile MappedSegmentQueue.Record payload;
+        private volatile boolean replayed;
+
+        private final ChunkWriteResult written = new ChunkWriteResult();
+        private final List<String> rejections = new ArrayList<>();
+        private SourceResult<T> source;
+        private Throwable failure;
+        private int bound;
+
+        Run(PipelineJob<T> job) {
+            this.job = job;
+        }
+
+        Runnable inContext(Runnable task) {
+            return () -> ImportOptions.callWith(options, () -> ImportStageEvent.forDocument(docGuid, () -> {
+                task.run();
+                return null;
+            }));
+        }
+
+        synchronized int nextOffset(int batchSize) {
+            int offset = bound;
+            bound += batchSize;
+            return offset;
+        }
+
+        synchronized void finishBinding(SourceResult<T> source) {
+            this.source = source;
+            if (job.getProgress() != null) {
+                job.getProgress().setExpectedTotal(bound);
+            }
+        }
+
+        synchronized void reject(String error) {
+            rejections.add(error);
+            if (job.getProgress() != null) {
+                job.getProgress().recordFailure();
+            }
+        }
+
+        synchronized void addWriteResult(ChunkWriteResult result) {
+            written.add(result);
+        }
+
+        synchronized void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        void retain() {
+            references.incrementAndGet();
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        private synchronized void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else if (source.isFailure()) {
+                future.complete(PipelineResult.failure(source.getFailureMessage()));
+            } else if (source.isEmpty()) {
+                future.complete(PipelineResult.empty());
+            } else {
+                List<String> errors = new ArrayList<>(source.getParseErrors());
+                errors.addAll(rejections);
+                errors.addAll(written.getErrors());
+                int failed = source.getParseErrors().size() + rejections.size() + written.getFailed();
+                future.complete(PipelineResult.of(bound, written.getSucceeded(), failed, errors));
+            }
+        }
+    }
+}
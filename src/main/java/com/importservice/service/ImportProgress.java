@@ -0,0 +1,135 @@
+package com.importservice.service;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of a single import job. Counters are updated on the hot path without locking;
+ * a progress line (rows/s and ETA) is written at most once per log interval. Readers such
+ * as the progress stream only sum the counters, so observing a run costs the workers nothing.
+ */
+public class ImportProgress {
+
+    private final Logger logger;
+    private final String runId;
+    private final String jobName;
+    private final long logIntervalNanos;
+    private final long startNanos;
+    private final AtomicLong nextLogAt;
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    // 0 while the job runs, then the nanoTime it finished at
+    private final AtomicLong finishedNanos = new AtomicLong();
+    private volatile long expectedTotal;
+
+    ImportProgress(Logger logger, String runId, String jobName, long expectedTotal, long logIntervalSeconds) {
+        this.logger = logger;
+        this.runId = runId;
+        this.jobName = jobName;
+        this.expectedTotal = expectedTotal;
+        this.logIntervalNanos = TimeUnit.SECONDS.toNanos(Math.max(1, logIntervalSeconds));
+        this.startNanos = System.nanoTime();
+        this.nextLogAt = new AtomicLong(startNanos + logIntervalNanos);
+    }
+
+    public void setExpectedTotal(long expectedTotal) {
+        this.expectedTotal = expectedTotal;
+    }
+
+    public void recordSuccess() {
+        succeeded.increment();
+        maybeLog();
+    }
+
+    public void recordSuccess(long count) {
+        succeeded.add(count);
+        maybeLog();
+    }
+
+    public void recordFailure() {
+        failed.increment();
+        maybeLog();
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getProcessed() {
+        return succeeded.sum() + failed.sum();
+    }
+
+    public long getExpectedTotal() {
+        return expectedTotal;
+    }
+
+    public boolean isFinished() {
+        return finishedNanos.get() != 0;
+    }
+
+    public double getElapsedSeconds() {
+        long finishedAt = finishedNanos.get();
+        long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+        return (end - startNanos) / 1_000_000_000.0;
+    }
+
+    public double getRatePerSecond() {
+        double elapsedSeconds = getElapsedSeconds();
+        return elapsedSeconds > 0 ? getProcessed() / elapsedSeconds : 0;
+    }
+
+    /**
+     * Estimated seconds remaining, or -1 when the total is unknown or no rate is available yet.
+     */
+    public long getEtaSeconds() {
+        long remaining = expectedTotal - getProcessed();
+        double rate = getRatePerSecond();
+        if (expectedTotal <= 0 || remaining <= 0 || rate <= 0) {
+            return -1;
+        }
+        return (long) (remaining / rate);
+    }
+
+    public void finish() {
+        long now = System.nanoTime();
+        if (!finishedNanos.compareAndSet(0, now)) {
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(now - startNanos);
+        logger.info("[{}] finished: {} succeeded, {} failed in {} ms ({} rows/s)",
+                jobName, getSucceeded(), getFailed(), elapsedMillis, String.format("%.1f", getRatePerSecond()));
+    }
+
+    private void maybeLog() {
+        long now = System.nanoTime();
+        long due = nextLogAt.get();
+        if (now < due || !nextLogAt.compareAndSet(due, now + logIntervalNanos)) {
+            return;
+        }
+        long processed = getProcessed();
+        String total = expectedTotal > 0 ? String.valueOf(expectedTotal) : "?";
+        long eta = getEtaSeconds();
+        logger.info("[{}] progress: {}/{} rows, {} failed, {} rows/s, ETA {}",
+                jobName, processed, total, getFailed(), String.format("%.1f", getRatePerSecond()),
+                eta >= 0 ? formatDuration(eta) : "unknown");
+    }
+
+    private static String formatDuration(long seconds) {
+        return String.format("%02d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60);
+    }
+}
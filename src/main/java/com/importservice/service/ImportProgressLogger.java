@@ -0,0 +1,27 @@
+package com.importservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImportProgressLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportProgressLogger.class);
+
+    @Value("${import.progress.log-interval-seconds:10}")
+    private long logIntervalSeconds;
+
+    @Autowired
+    private ImportProgressRegistry importProgressRegistry;
+
+    public ImportProgress start(String jobName, long expectedTotal) {
+        String runId = importProgressRegistry.nextRunId();
+        logger.info("[{}] started as {}, {} rows expected", jobName, runId, expectedTotal > 0 ? expectedTotal : "unknown");
+        ImportProgress progress = new ImportProgress(logger, runId, jobName, expectedTotal, logIntervalSeconds);
+        importProgressRegistry.register(progress);
+        return progress;
+    }
+}
@@ -0,0 +1,143 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportProgressEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running and recently finished import runs, plus process-wide row counters per entity type.
+ * <p>
+ * Workers only add to {@link LongAdder}s; snapshots sum them on demand. Row counters are kept
+ * per entity type rather than per run because the write path does not know which run a row
+ * belongs to, so a run reports the change since it started. With two runs writing the same
+ * entity type at once, both see the combined rows.
+ */
+@Component
+public class ImportProgressRegistry {
+
+    @Value("${import.progress.retained-runs:20}")
+    private int retainedRuns;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, Run> runs = new ConcurrentSkipListMap<>();
+    private final Map<String, EntityCounters> entityCounters = new ConcurrentHashMap<>();
+
+    private static class Run {
+        private final ImportProgress progress;
+        private final Map<String, long[]> baseline;
+
+        Run(ImportProgress progress, Map<String, long[]> baseline) {
+            this.progress = progress;
+            this.baseline = baseline;
+        }
+    }
+
+    private static class EntityCounters {
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+
+    public String nextRunId() {
+        return "run-" + sequence.incrementAndGet();
+    }
+
+    public void register(ImportProgress progress) {
+        runs.put(sequenceOf(progress.getRunId()), new Run(progress, entityTotals()));
+        prune();
+    }
+
+    /**
+     * Hot path: called after every committed chunk.
+     */
+    public void recordRows(String entityName, long succeeded, long failed) {
+        EntityCounters counters = entityCounters.computeIfAbsent(entityName, name -> new EntityCounters());
+        if (succeeded > 0) {
+            counters.succeeded.add(succeeded);
+        }
+        if (failed > 0) {
+            counters.failed.add(failed);
+        }
+    }
+
+    public ImportProgressEventDto snapshot(String runId) {
+        if ("latest".equals(runId)) {
+            Map.Entry<Long, Run> latest = runs.lastEntry();
+            return latest != null ? snapshot(latest.getValue()) : null;
+        }
+        Run run = runs.get(sequenceOf(runId));
+        return run != null ? snapshot(run) : null;
+    }
+
+    public List<ImportProgressEventDto> snapshots() {
+        List<ImportProgressEventDto> snapshots = new ArrayList<>();
+        for (Run run : runs.descendingMap().values()) {
+            snapshots.add(snapshot(run));
+        }
+        return snapshots;
+    }
+
+    private ImportProgressEventDto snapshot(Run run) {
+        ImportProgress progress = run.progress;
+        ImportProgressEventDto event = new ImportProgressEventDto();
+        event.setRunId(progress.getRunId());
+        event.setJobName(progress.getJobName());
+        event.setStatus(progress.isFinished() ? "FINISHED" : "RUNNING");
+        long succeeded = progress.getSucceeded();
+        long failed = progress.getFailed();
+        event.setSucceeded(succeeded);
+        event.setFailed(failed);
+        event.setProcessed(succeeded + failed);
+        event.setExpectedTotal(progress.getExpectedTotal());
+        event.setRatePerSecond(progress.getRatePerSecond());
+        event.setEtaSeconds(progress.isFinished() ? 0 : progress.getEtaSeconds());
+        event.setElapsedSeconds(progress.getElapsedSeconds());
+
+        for (Map.Entry<String, long[]> entry : new TreeMap<>(entityTotals()).entrySet()) {
+            long[] before = run.baseline.getOrDefault(entry.getKey(), new long[2]);
+            long rows = entry.getValue()[0] - before[0];
+            long failedRows = entry.getValue()[1] - before[1];
+            if (rows > 0 || failedRows > 0) {
+                event.getRowsByEntity().put(entry.getKey(), rows);
+                event.getFailedRowsByEntity().put(entry.getKey(), failedRows);
+            }
+        }
+        event.setTimestamp(LocalDateTime.now());
+        return event;
+    }
+
+    private Map<String, long[]> entityTotals() {
+        Map<String, long[]> totals = new HashMap<>();
+        for (Map.Entry<String, EntityCounters> entry : entityCounters.entrySet()) {
+            totals.put(entry.getKey(), new long[] {entry.getValue().succeeded.sum(), entry.getValue().failed.sum()});
+        }
+        return totals;
+    }
+
+    private void prune() {
+        int finished = 0;
+        for (Map.Entry<Long, Run> entry : runs.descendingMap().entrySet()) {
+            if (entry.getValue().progress.isFinished() && ++finished > Math.max(0, retainedRuns)) {
+                runs.remove(entry.getKey());
+            }
+        }
+    }
+
+    private static long sequenceOf(String runId) {
+        try {
+            return Long.parseLong(runId.substring(runId.indexOf('-') + 1));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
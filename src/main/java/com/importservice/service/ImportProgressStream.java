@@ -0,0 +1,131 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportProgressEventDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes progress snapshots of import runs to Server-Sent Event subscribers. One ticker
+ * thread takes a single snapshot per watched run per interval and sends it to every
+ * subscriber of that run, so the number of watchers does not add work for the import.
+ * When a run finishes a last {@code finished} event is sent and the streams are completed.
+ */
+@Component
+public class ImportProgressStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportProgressStream.class);
+
+    @Value("${import.progress.stream-interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${import.progress.stream-timeout-minutes:720}")
+    private long timeoutMinutes;
+
+    @Autowired
+    private ImportProgressRegistry importProgressRegistry;
+
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void init() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(100, intervalMs);
+        ticker.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+        for (List<SseEmitter> emitters : subscribers.values()) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Subscribes to {@code runId} ({@code latest} for the most recently started run).
+     * Returns {@code null} if there is no such run.
+     */
+    public SseEmitter subscribe(String runId) {
+        ImportProgressEventDto current = importProgressRegistry.snapshot(runId);
+        if (current == null) {
+            return null;
+        }
+        String resolvedRunId = current.getRunId();
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        // compute() so the add cannot race with tick() dropping an empty list
+        List<SseEmitter> emitters = subscribers.compute(resolvedRunId, (id, list) -> {
+            List<SseEmitter> target = list != null ? list : new CopyOnWriteArrayList<>();
+            target.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        // The first event goes out immediately; a finished run gets just that one
+        send(emitter, current);
+        if ("FINISHED".equals(current.getStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void tick() {
+        try {
+            for (Map.Entry<String, List<SseEmitter>> entry : subscribers.entrySet()) {
+                List<SseEmitter> emitters = entry.getValue();
+                ImportProgressEventDto event = importProgressRegistry.snapshot(entry.getKey());
+                if (event == null) {
+                    // The run was pruned from the registry
+                    subscribers.remove(entry.getKey());
+                    emitters.forEach(SseEmitter::complete);
+                    continue;
+                }
+                if (subscribers.computeIfPresent(entry.getKey(), (id, list) -> list.isEmpty() ? null : list) == null) {
+                    continue;
+                }
+                for (SseEmitter emitter : emitters) {
+                    send(emitter, event);
+                    if ("FINISHED".equals(event.getStatus())) {
+                        emitter.complete();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled ticker
+            logger.warn("Progress stream tick failed: {}", e.getMessage());
+        }
+    }
+
+    private static void send(SseEmitter emitter, ImportProgressEventDto event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(event.getRunId() + "-" + System.currentTimeMillis())
+                    .name("FINISHED".equals(event.getStatus()) ? "finished" : "progress")
+                    .data(event));
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; completing triggers onCompletion, which unsubscribes it
+            emitter.completeWithError(e);
+        }
+    }
+}
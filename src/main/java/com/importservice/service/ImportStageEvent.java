@@ -0,0 +1,137 @@
+package com.importservice.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+/**
+ * Flight Recorder event timing one stage of an import: fetch, parse, bind, write, flush or
+ * commit, tagged with the entity type and, for per-document imports, the docGuid.
+ * <p>
+ * When no recording has the event enabled, {@link #start} and {@link #finish} cost a field
+ * check and two nanoTime reads, so the instrumentation stays in place in production. The
+ * docGuid comes from a thread-local scope opened by the per-document import methods, see
+ * {@link #forDocument}. Every finished stage is also passed to the {@link StageListener},
+ * which keeps the latency histograms whether or not a recording is running.
+ */
+@Name(ImportStageEvent.NAME)
+@Label("Import Stage")
+@Category("Data Import")
+@Description("Duration of one stage of an entity import")
+@StackTrace(false)
+public class ImportStageEvent extends Event {
+
+    public static final String NAME = "com.importservice.ImportStage";
+
+    public static final String FETCH = "fetch";
+    public static final String PARSE = "parse";
+    public static final String BIND = "bind";
+    public static final String WRITE = "write";
+    public static final String FLUSH = "flush";
+    public static final String COMMIT = "commit";
+
+    private static final ThreadLocal<String> CURRENT_DOC_GUID = new ThreadLocal<>();
+
+    private static volatile StageListener listener;
+
+    @FunctionalInterface
+    public interface StageListener {
+        void onStage(String stage, String entity, String docGuid, long nanos);
+    }
+
+    @Label("Stage")
+    private String stage;
+
+    @Label("Entity")
+    private String entity;
+
+    @Label("Doc GUID")
+    private String docGuid;
+
+    @Label("Rows")
+    private int rows;
+
+    @Label("Size")
+    @Description("Response length in characters, for fetch events")
+    private long size;
+
+    // Transient fields are not written to the recording
+    private transient long startNanos;
+
+    public static void setListener(StageListener stageListener) {
+        listener = stageListener;
+    }
+
+    public static ImportStageEvent start(String stage, String entity) {
+        return start(stage, entity, CURRENT_DOC_GUID.get());
+    }
+
+    public static ImportStageEvent start(String stage, String entity, String docGuid) {
+        ImportStageEvent event = new ImportStageEvent();
+        event.stage = stage;
+        event.entity = entity;
+        event.docGuid = docGuid;
+        event.startNanos = System.nanoTime();
+        if (event.isEnabled()) {
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(int rows) {
+        finish(rows, 0);
+    }
+
+    public void finish(int rows, long size) {
+        StageListener stageListener = listener;
+        if (stageListener != null) {
+            stageListener.onStage(stage, entity, docGuid, System.nanoTime() - startNanos);
+        }
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.size = size;
+            commit();
+        }
+    }
+
+    /**
+     * Runs {@code work} with {@code docGuid} attached to every stage event it emits on this thread.
+     */
+    public static <T> T forDocument(String docGuid, Supplier<T> work) {
+        String previous = CURRENT_DOC_GUID.get();
+        CURRENT_DOC_GUID.set(docGuid);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_DOC_GUID.set(previous);
+            } else {
+                CURRENT_DOC_GUID.remove();
+            }
+        }
+    }
+
+    /**
+     * The docGuid stage events on this thread are attached to, or {@code null}.
+     */
+    public static String currentDocGuid() {
+        return CURRENT_DOC_GUID.get();
+    }
+
+    /**
+     * The docGuid of a per-document source URL (.../docGuid/{guid}), or {@code null}.
+     */
+    public static String docGuidOf(String url) {
+        int index = url.lastIndexOf("/docGuid/");
+        return index >= 0 ? url.substring(index + "/docGuid/".length()) : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.importservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent calls to the source API and concurrent database work independently of
+ * how many threads are running imports. With virtual threads there can be thousands of
+ * them, so these permits, not the thread count, are what bound the load on each side.
+ * Database permits default to the Hikari pool size so callers queue here instead of
+ * timing out in {@code getConnection()}.
+ */
+@Component
+public class IoPermits {
+
+    @Value("${import.io.source-api-permits:64}")
+    private int sourceApiPermits;
+
+    @Value("${import.io.database-permits:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int databasePermits;
+
+    private Semaphore sourceApi;
+    private Semaphore database;
+
+    @PostConstruct
+    public void init() {
+        sourceApi = new Semaphore(Math.max(1, sourceApiPermits), true);
+        database = new Semaphore(Math.max(1, databasePermits), true);
+    }
+
+    public <T> T withSourceApi(Supplier<T> call) {
+        return withPermit(sourceApi, "source API", call);
+    }
+
+    public <T> T withDatabase(Supplier<T> call) {
+        return withPermit(database, "database", call);
+    }
+
+    private static <T> T withPermit(Semaphore semaphore, String resource, Supplier<T> call) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + resource + " permit", e);
+        }
+        try {
+            return call.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,525 @@
+package com.importservice.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.importservice.codegen.JsonReaderSupport;
+import com.importservice.config.CustomDateTimeDeserializer;
+import com.importservice.entity.BaseEntity;
+import com.importservice.entity.GuidType;
+import org.hibernate.annotations.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads a source list response straight into its table with multi-row INSERTs, without
+ * entity objects, the persistence context or lifecycle callbacks. Used for first-time loads
+ * of whole tables when {@code import.load-mode=jdbc}.
+ * <p>
+ * The column mapping of each entity is read once from its JPA annotations: {@code @Table},
+ * {@code @Column}, {@code @Id} and the GUID {@code @Type}. JSON values are read from the
+ * streaming parser into JDBC values with the same coercions as the generated readers. The
+ * loader sets {@code creation_date}, {@code last_modified_date} and {@code migrate_status}
+ * itself. Columns without a JSON value get the entity's field default.
+ * <p>
+ * Rows are plain INSERTs, so a table is only loaded this way while it is empty; see
+ * {@link #canLoad(Class)}. Each statement commits on its own. A statement that fails is
+ * retried one row per statement, so one bad row does not discard its neighbours.
+ */
+@Component
+public class JdbcBulkLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBulkLoader.class);
+
+    // MySQL's limit on placeholders in one prepared statement
+    private static final int MAX_PLACEHOLDERS = 65_535;
+
+    private enum ValueKind {
+        STRING(Types.VARCHAR), GUID(Types.VARCHAR), INTEGER(Types.INTEGER), LONG(Types.BIGINT),
+        BOOLEAN(Types.BOOLEAN), DATE_TIME(Types.TIMESTAMP);
+
+        private final int sqlType;
+
+        ValueKind(int sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    private static final class ColumnMapping {
+        private final String name;
+        private final ValueKind kind;
+        // Set by the loader on every statement rather than read from JSON
+        private final boolean loadTimestamp;
+
+        ColumnMapping(String name, ValueKind kind, boolean loadTimestamp) {
+            this.name = name;
+            this.kind = kind;
+            this.loadTimestamp = loadTimestamp;
+        }
+
+        int sqlType() {
+            return kind == ValueKind.GUID && GuidType.isBinaryStorage() ? Types.VARBINARY : kind.sqlType;
+        }
+    }
+
+    private static final class TableMapping {
+        private final Class<?> entityClass;
+        private final String table;
+        private final List<ColumnMapping> columns = new ArrayList<>();
+        // JSON property to column index; -1 for properties that are accepted but not loaded
+        private final Map<String, Integer> properties = new HashMap<>();
+        private final List<Object> defaults = new ArrayList<>();
+        private int keyColumn = -1;
+
+        TableMapping(Class<?> entityClass, String table) {
+            this.entityClass = entityClass;
+            this.table = table;
+        }
+
+        String insertSql(int rows) {
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (");
+            StringBuilder values = new StringBuilder("(");
+            for (int i = 0; i < columns.size(); i++) {
+                sql.append(i > 0 ? ", " : "").append(columns.get(i).name);
+                values.append(i > 0 ? ", ?" : "?");
+            }
+            values.append(')');
+            sql.append(") VALUES ");
+            for (int row = 0; row < rows; row++) {
+                sql.append(row > 0 ? ", " : "").append(values);
+            }
+            return sql.toString();
+        }
+    }
+
+    @Value("${import.load-mode:entity}")
+    private String loadMode;
+
+    @Value("${import.load.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${import.load.max-statement-kb:4096}")
+    private int maxStatementKb;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    @Autowired
+    private ImportProgressRegistry importProgressRegistry;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    private final Map<Class<?>, TableMapping> mappings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (!"entity".equals(loadMode) && !"jdbc".equals(loadMode)) {
+            throw new IllegalArgumentException("import.load-mode must be entity or jdbc, was: " + loadMode);
+        }
+    }
+
+    /**
+     * True when {@code entityClass} is loaded here: load mode jdbc, not a dry run, and its
+     * table has no rows yet. Anything else takes the entity path, which can update rows.
+     */
+    public boolean canLoad(Class<?> entityClass) {
+        if (!"jdbc".equals(loadMode) || ImportOptions.current().isDryRun()) {
+            return false;
+        }
+        TableMapping mapping = mappingFor(entityClass);
+        if (mapping == null) {
+            return false;
+        }
+        List<Integer> anyRow = ioPermits.withDatabase(
+                () -> jdbcTemplate.queryForList("SELECT 1 FROM " + mapping.table + " LIMIT 1", Integer.class));
+        if (!anyRow.isEmpty()) {
+            logger.info("{} already has rows, loading {} through entities", mapping.table, entityClass.getSimpleName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the Data items of {@code responseBody} into rows of JDBC values. An item that does
+     * not bind, or has no key, is reported as a parse error; JSON syntax errors are thrown.
+     */
+    public SourceResult<Object[]> readRows(String entityName, String responseBody, Class<?> entityClass) throws IOException {
+        if (responseBody == null || responseBody.trim().isEmpty()) {
+            logger.warn("Empty response body for {}", entityName);
+            return SourceResult.empty();
+        }
+        TableMapping mapping = mappingFor(entityClass);
+        if (mapping == null) {
+            throw new IllegalArgumentException(entityClass.getName() + " is not a table-mapped entity");
+        }
+        boolean failOnUnknownProperties = objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        long parseStart = System.nanoTime();
+        ImportStageEvent parseEvent = ImportStageEvent.start(ImportStageEvent.PARSE, entityName);
+        List<Object[]> rows = null;
+        List<String> parseErrors = new ArrayList<>();
+        int itemCount = 0;
+        Boolean success = null;
+        String message = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(responseBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object but found " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("Data".equals(field) && value == JsonToken.START_ARRAY) {
+                    rows = new ArrayList<>();
+                    itemCount = readItems(parser, entityName, mapping, failOnUnknownProperties, rows, parseErrors);
+                } else if ("Success".equals(field)) {
+                    success = value == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean();
+                } else if ("Message".equals(field)) {
+                    message = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            ImportOptions.current().recordParse(entityName, 0, 1, System.nanoTime() - parseStart);
+            throw e;
+        }
+        parseEvent.finish(rows != null ? rows.size() : 0);
+
+        if (!Boolean.TRUE.equals(success)) {
+            return SourceResult.failure(message != null ? message : "Unknown API error");
+        }
+        if (rows == null) {
+            logger.debug("No data found for {}", entityName);
+            return SourceResult.empty();
+        }
+        ImportOptions.current().recordParse(entityName, rows.size(), parseErrors.size(), System.nanoTime() - parseStart);
+        return SourceResult.of(rows, parseErrors, itemCount);
+    }
+
+    /**
+     * Inserts {@code rows} read by {@link #readRows} for {@code entityClass}.
+     */
+    public ChunkWriteResult insert(String entityName, Class<?> entityClass, List<Object[]> rows, ImportProgress progress) {
+        ChunkWriteResult result = new ChunkWriteResult();
+        TableMapping mapping = mappingFor(entityClass);
+        if (rows.isEmpty() || mapping == null) {
+            return result;
+        }
+        int maxRows = Math.max(1, Math.min(rowsPerStatement, MAX_PLACEHOLDERS / mapping.columns.size()));
+        long maxBytes = Math.max(1, maxStatementKb) * 1024L;
+        String fullSql = mapping.insertSql(maxRows);
+
+        int offset = 0;
+        while (offset < rows.size()) {
+            // Cut the statement at the row limit or when the estimated packet would grow too large
+            int end = offset;
+            long bytes = 0;
+            while (end < rows.size() && end - offset < maxRows) {
+                bytes += estimateBytes(rows.get(end));
+                if (end > offset && bytes > maxBytes) {
+                    break;
+                }
+                end++;
+            }
+            List<Object[]> statementRows = rows.subList(offset, end);
+            String sql = statementRows.size() == maxRows ? fullSql : mapping.insertSql(statementRows.size());
+            result.incrementChunks();
+            try {
+                int inserted = execute(entityName, mapping, sql, statementRows);
+                result.addSucceeded(inserted);
+                importProgressRegistry.recordRows(entityName, inserted, 0);
+                if (progress != null) {
+                    progress.recordSuccess(inserted);
+                }
+            } catch (Exception e) {
+                logger.warn("{} insert of rows {}-{} failed, retrying it row by row: {}",
+                            entityName, offset, end - 1, e.getMessage());
+                insertRowByRow(entityName, mapping, statementRows, result, progress);
+            }
+            offset = end;
+        }
+        return result;
+    }
+
+    private void insertRowByRow(String entityName, TableMapping mapping, List<Object[]> rows,
+                                ChunkWriteResult result, ImportProgress progress) {
+        String sql = mapping.insertSql(1);
+        for (Object[] row : rows) {
+            try {
+                execute(entityName, mapping, sql, Collections.singletonList(row));
+                result.addSucceeded(1);
+                importProgressRegistry.recordRows(entityName, 1, 0);
+                if (progress != null) {
+                    progress.recordSuccess();
+                }
+            } catch (Exception e) {
+                String errorMsg = "Failed to insert " + entityName + " " + keyOf(mapping, row) + ": " + e.getMessage();
+                result.addFailed(errorMsg);
+                importProgressRegistry.recordRows(entityName, 0, 1);
+                if (progress != null) {
+                    progress.recordFailure();
+                }
+                errorLogThrottle.error(logger, entityName, errorMsg, e);
+            }
+        }
+    }
+
+    private int execute(String entityName, TableMapping mapping, String sql, List<Object[]> rows) {
+        return ioPermits.withDatabase(() -> {
+            ImportStageEvent writeEvent = ImportStageEvent.start(ImportStageEvent.WRITE, entityName);
+            Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (Object[] row : rows) {
+                        for (int column = 0; column < row.length; column++) {
+                            ColumnMapping columnMapping = mapping.columns.get(column);
+                            Object value = columnMapping.loadTimestamp ? now : row[column];
+                            if (value == null) {
+                                statement.setNull(index++, columnMapping.sqlType());
+                            } else {
+                                statement.setObject(index++, value);
+                            }
+                        }
+                    }
+                    return statement.executeUpdate();
+                }
+            });
+            int count = inserted != null ? inserted : 0;
+            writeEvent.finish(count);
+            return count;
+        });
+    }
+
+    // Returns the number of items in the array, null ones included
+    private int readItems(JsonParser parser, String entityName, TableMapping mapping, boolean failOnUnknownProperties,
+                          List<Object[]> rows, List<String> parseErrors) throws IOException {
+        JsonStreamContext items = parser.getParsingContext();
+        int itemCount = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            itemCount++;
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                logger.warn("Null item found in {} data", entityName);
+                continue;
+            }
+            try {
+                rows.add(readRow(parser, mapping, failOnUnknownProperties));
+            } catch (JsonParseException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Failed to read {} item: {}", entityName, e.getMessage());
+                parseErrors.add("Failed to parse " + entityName + " item: " + e.getMessage());
+                // Skip the rest of the bad item, up to the Data array
+                if (parser.currentToken() == JsonToken.START_OBJECT || parser.currentToken() == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                }
+                while (parser.getParsingContext() != items) {
+                    parser.nextToken();
+                }
+            }
+        }
+        return itemCount;
+    }
+
+    private Object[] readRow(JsonParser parser, TableMapping mapping, boolean failOnUnknownProperties) throws IOException {
+        if (!JsonReaderSupport.startObject(parser, mapping.entityClass)) {
+            throw new IOException("Null " + mapping.entityClass.getSimpleName() + " item");
+        }
+        Object[] row = mapping.defaults.toArray();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            Integer column = mapping.properties.get(name);
+            if (column == null) {
+                JsonReaderSupport.unknownProperty(parser, mapping.entityClass, name, failOnUnknownProperties);
+            } else if (column < 0) {
+                parser.skipChildren();
+            } else {
+                row[column] = readValue(parser, mapping.columns.get(column).kind);
+            }
+        }
+        if (mapping.keyColumn >= 0) {
+            Object key = row[mapping.keyColumn];
+            if (key == null || (key instanceof String && ((String) key).trim().isEmpty())) {
+                throw new IOException(mapping.entityClass.getSimpleName() + " without a key received");
+            }
+        }
+        return row;
+    }
+
+    private static Object readValue(JsonParser parser, ValueKind kind) throws IOException {
+        switch (kind) {
+            case GUID:
+                return guidValue(JsonReaderSupport.readString(parser));
+            case INTEGER:
+                return JsonReaderSupport.readInteger(parser);
+            case LONG:
+                return JsonReaderSupport.readLong(parser);
+            case BOOLEAN:
+                return JsonReaderSupport.readBoolean(parser);
+            case DATE_TIME:
+                return timestampValue(CustomDateTimeDeserializer.parseDateTime(JsonReaderSupport.readDateTimeText(parser)));
+            default:
+                return JsonReaderSupport.readString(parser);
+        }
+    }
+
+    // Same packing as GuidType, which the entity path binds GUID columns with
+    private static Object guidValue(String guid) {
+        return guid != null && GuidType.isBinaryStorage() ? GuidType.toBytes(guid) : guid;
+    }
+
+    private static Timestamp timestampValue(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static long estimateBytes(Object[] row) {
+        long bytes = 0;
+        for (Object value : row) {
+            // Up to three bytes per character for the mostly Arabic text, plus quoting
+            bytes += value instanceof String ? ((String) value).length() * 3L + 2 : 16;
+        }
+        return bytes;
+    }
+
+    private static String keyOf(TableMapping mapping, Object[] row) {
+        if (mapping.keyColumn < 0) {
+            return null;
+        }
+        Object key = row[mapping.keyColumn];
+        return key instanceof byte[] ? GuidType.toGuid((byte[]) key) : (String) key;
+    }
+
+    private TableMapping mappingFor(Class<?> entityClass) {
+        return mappings.computeIfAbsent(entityClass, JdbcBulkLoader::buildMapping);
+    }
+
+    /**
+     * Maps the entity's persistent fields to columns, its JSON properties to those columns,
+     * and records a default value per column from a new instance. Returns {@code null} for a
+     * class without a {@code @Table} or with a field type this loader does not bind.
+     */
+    private static TableMapping buildMapping(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table == null) {
+            return null;
+        }
+        Object defaults;
+        try {
+            defaults = entityClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            logger.warn("{} has no usable no-argument constructor, not loading it over JDBC", entityClass.getSimpleName());
+            return null;
+        }
+
+        TableMapping mapping = new TableMapping(entityClass, table.name());
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(Transient.class)) {
+                    continue;
+                }
+                JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+                String jsonName = jsonProperty != null && !jsonProperty.value().isEmpty()
+                        ? jsonProperty.value() : field.getName();
+                if (field.isAnnotationPresent(GeneratedValue.class)) {
+                    // Assigned by the database
+                    mapping.properties.put(jsonName, -1);
+                    continue;
+                }
+                ValueKind kind = valueKind(field);
+                if (kind == null) {
+                    logger.warn("{}.{} has type {}, not loading {} over JDBC", entityClass.getSimpleName(),
+                                field.getName(), field.getType().getSimpleName(), entityClass.getSimpleName());
+                    return null;
+                }
+                boolean managed = type == BaseEntity.class;
+                boolean loadTimestamp = managed && kind == ValueKind.DATE_TIME;
+                int index = mapping.columns.size();
+                mapping.columns.add(new ColumnMapping(columnName(field), kind, loadTimestamp));
+                mapping.defaults.add(loadTimestamp ? null : defaultValue(field, kind, defaults));
+                // Audit columns are the loader's to set; their JSON properties are accepted and ignored
+                mapping.properties.put(jsonName, managed ? -1 : index);
+                if (field.isAnnotationPresent(Id.class)) {
+                    mapping.keyColumn = index;
+                }
+            }
+        }
+        return mapping;
+    }
+
+    private static ValueKind valueKind(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            Type hibernateType = field.getAnnotation(Type.class);
+            return hibernateType != null && GuidType.TYPE.equals(hibernateType.type()) ? ValueKind.GUID : ValueKind.STRING;
+        }
+        if (type == Integer.class) {
+            return ValueKind.INTEGER;
+        }
+        if (type == Long.class) {
+            return ValueKind.LONG;
+        }
+        if (type == Boolean.class) {
+            return ValueKind.BOOLEAN;
+        }
+        if (type == LocalDateTime.class) {
+            return ValueKind.DATE_TIME;
+        }
+        return null;
+    }
+
+    private static Object defaultValue(Field field, ValueKind kind, Object instance) {
+        try {
+            field.setAccessible(true);
+            Object value = field.get(instance);
+            if (kind == ValueKind.GUID) {
+                return guidValue((String) value);
+            }
+            return kind == ValueKind.DATE_TIME ? timestampValue((LocalDateTime) value) : value;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static String columnName(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        return column != null && !column.name().isEmpty() ? column.name() : field.getName();
+    }
+}
@@ -0,0 +1,199 @@
+package com.importservice.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.importservice.config.JacksonConfig;
+import com.importservice.dto.ApiResponseDto;
+import com.importservice.dto.BindingBenchmarkReportDto;
+import com.importservice.dto.BindingBenchmarkResultDto;
+import com.importservice.entity.Correspondence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Compares data binding paths on a synthetic Correspondence payload shaped like the source
+ * API's: the previous path (generic envelope to maps, then {@code convertValue} per item on a
+ * mapper without Afterburner), the streaming envelope with cached readers on the same mapper,
+ * the same with Afterburner as the shared mapper has it, and the build-time generated reader.
+ * Every variant binds the same payload.
+ */
+@Service
+public class JsonBindingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonBindingBenchmark.class);
+
+    private static final TypeReference<ApiResponseDto<Object>> GENERIC_RESPONSE_TYPE =
+            new TypeReference<ApiResponseDto<Object>>() {};
+
+    // The source API's own date format, so the custom date deserializer is part of the cost
+    private static final DateTimeFormatter SOURCE_DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy h:mm:ss a", Locale.US);
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2015, 1, 1, 8, 0);
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    private interface Binder {
+        int bind(String responseBody) throws IOException;
+    }
+
+    public BindingBenchmarkReportDto run(int records, int iterations) throws IOException {
+        int recordCount = Math.max(1, records);
+        int timedIterations = Math.max(1, iterations);
+        int warmupIterations = Math.max(5, timedIterations / 2);
+
+        ObjectMapper plainMapper = JacksonConfig.createObjectMapper(false);
+        ObjectMapper tunedMapper = JacksonConfig.createObjectMapper(true);
+        String payload = samplePayload(tunedMapper, Correspondence.class, recordCount);
+        long payloadBytes = payload.getBytes(StandardCharsets.UTF_8).length;
+
+        BindingBenchmarkReportDto report = new BindingBenchmarkReportDto();
+        report.setEntityName(Correspondence.class.getSimpleName());
+        report.setRecords(recordCount);
+        report.setPayloadBytes(payloadBytes);
+        report.setWarmupIterations(warmupIterations);
+        report.setIterations(timedIterations);
+
+        SourceBinder plainBinder = new SourceBinder(plainMapper, false);
+        SourceBinder tunedBinder = new SourceBinder(tunedMapper, false);
+        SourceBinder generatedBinder = new SourceBinder(tunedMapper, true);
+        BindingBenchmarkResultDto baseline = measure("convertValue", body -> bindWithConvertValue(plainMapper, body),
+                payload, recordCount, payloadBytes, warmupIterations, timedIterations, null);
+        report.getResults().add(baseline);
+        report.getResults().add(measure("cached-readers", body -> bindWithReaders(plainBinder, body),
+                payload, recordCount, payloadBytes, warmupIterations, timedIterations, baseline));
+        report.getResults().add(measure("cached-readers+afterburner", body -> bindWithReaders(tunedBinder, body),
+                payload, recordCount, payloadBytes, warmupIterations, timedIterations, baseline));
+        if (generatedBinder.generatedReaderFor(Correspondence.class) != null) {
+            report.getResults().add(measure("generated-reader", body -> bindWithReaders(generatedBinder, body),
+                    payload, recordCount, payloadBytes, warmupIterations, timedIterations, baseline));
+        }
+
+        for (BindingBenchmarkResultDto result : report.getResults()) {
+            logger.info("Binding {} x {} Correspondences with {}: {} ms per payload, {}x",
+                        timedIterations, recordCount, result.getVariant(),
+                        String.format("%.2f", result.getMillisPerIteration()), String.format("%.2f", result.getSpeedup()));
+        }
+        return report;
+    }
+
+    private static BindingBenchmarkResultDto measure(String variant, Binder binder, String payload, int records,
+                                                     long payloadBytes, int warmupIterations, int iterations,
+                                                     BindingBenchmarkResultDto baseline) throws IOException {
+        for (int i = 0; i < warmupIterations; i++) {
+            checkCount(variant, binder.bind(payload), records);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checkCount(variant, binder.bind(payload), records);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        BindingBenchmarkResultDto result = new BindingBenchmarkResultDto();
+        result.setVariant(variant);
+        result.setMillisPerIteration(seconds * 1000 / iterations);
+        result.setRecordsPerSecond((double) records * iterations / seconds);
+        result.setMegabytesPerSecond(payloadBytes * iterations / MEGABYTE / seconds);
+        result.setSpeedup(baseline != null ? result.getRecordsPerSecond() / baseline.getRecordsPerSecond() : 1.0);
+        return result;
+    }
+
+    private static void checkCount(String variant, int bound, int expected) {
+        if (bound != expected) {
+            throw new IllegalStateException(variant + " bound " + bound + " of " + expected + " records");
+        }
+    }
+
+    // The binding path SourceApiClient used before readers were cached
+    private static int bindWithConvertValue(ObjectMapper mapper, String responseBody) throws IOException {
+        ApiResponseDto<Object> response = mapper.readValue(responseBody, GENERIC_RESPONSE_TYPE);
+        int bound = 0;
+        for (Object item : response.getData()) {
+            if (mapper.convertValue(item, Correspondence.class) != null) {
+                bound++;
+            }
+        }
+        return bound;
+    }
+
+    private static int bindWithReaders(SourceBinder binder, String responseBody) throws IOException {
+        ApiResponseDto<TokenBuffer> response = binder.readEnvelope(responseBody);
+        int bound = 0;
+        for (TokenBuffer item : response.getData()) {
+            if (binder.bind(item, Correspondence.class) != null) {
+                bound++;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * A Success envelope with {@code records} items carrying every mapped property of
+     * {@code entityClass}. The values are seeded, so each run binds the same payload.
+     */
+    private static String samplePayload(ObjectMapper mapper, Class<?> entityClass, int records) throws IOException {
+        Random random = new Random(42);
+        ObjectNode envelope = mapper.createObjectNode();
+        ArrayNode data = envelope.putArray("Data");
+        for (int i = 0; i < records; i++) {
+            ObjectNode item = data.addObject();
+            for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    JsonProperty property = field.getAnnotation(JsonProperty.class);
+                    if (property != null) {
+                        putSampleValue(item, property.value(), field, random);
+                    }
+                }
+            }
+        }
+        envelope.put("Success", true);
+        envelope.put("Message", "Data retrieved successfully");
+        return mapper.writeValueAsString(envelope);
+    }
+
+    private static void putSampleValue(ObjectNode item, String name, Field field, Random random) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            if (name.toLowerCase(Locale.ROOT).endsWith("guid")) {
+                item.put(name, new UUID(random.nextLong(), random.nextLong()).toString().toUpperCase(Locale.ROOT));
+            } else {
+                item.put(name, sampleText(random, 8 + random.nextInt(120)));
+            }
+        } else if (type == Integer.class || type == int.class) {
+            item.put(name, random.nextInt(10000));
+        } else if (type == Long.class || type == long.class) {
+            item.put(name, random.nextInt(Integer.MAX_VALUE));
+        } else if (type == Boolean.class || type == boolean.class) {
+            item.put(name, random.nextBoolean());
+        } else if (type == LocalDateTime.class) {
+            item.put(name, BASE_DATE.plusMinutes(random.nextInt(5_000_000)).format(SOURCE_DATE_FORMAT));
+        }
+    }
+
+    private static String sampleText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Mix Arabic letters and spaces in, as subjects and notes mostly are
+            int pick = random.nextInt(10);
+            if (pick == 0) {
+                text.append(' ');
+            } else if (pick < 6) {
+                text.append((char) (0x0627 + random.nextInt(26)));
+            } else {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return text.toString();
+    }
+}
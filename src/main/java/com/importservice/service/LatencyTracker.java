@@ -0,0 +1,219 @@
+package com.importservice.service;
+
+import com.importservice.dto.LatencyReportDto;
+import com.importservice.dto.LatencyStatsDto;
+import com.importservice.dto.SlowDocumentDto;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latency per import stage and entity type (fetch latency per source endpoint, write, flush
+ * and commit latency per write target) in sliding-window HdrHistograms, plus the slowest
+ * documents with the stage that dominated each. Fed by {@link ImportStageEvent} on the hot
+ * path through wait-free recorders; percentiles are only computed when a report is requested.
+ */
+@Component
+public class LatencyTracker implements ImportStageEvent.StageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyTracker.class);
+
+    private static final Comparator<SlowDocumentDto> BY_WALL_TIME = Comparator.comparing(SlowDocumentDto::getWallMillis);
+
+    @Value("${import.latency.window-minutes:5}")
+    private int windowMinutes;
+
+    @Value("${import.latency.buckets:5}")
+    private int bucketCount;
+
+    @Value("${import.latency.top-documents:20}")
+    private int topDocuments;
+
+    private final Map<String, SlidingHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, DocumentTiming> openDocuments = new ConcurrentHashMap<>();
+    // Min-heap on wall time: the head is the fastest of the slow documents kept
+    private final PriorityQueue<SlowDocumentDto> slowestDocuments = new PriorityQueue<>(BY_WALL_TIME);
+    private long bucketNanos;
+    private ScheduledExecutorService roller;
+
+    private static class DocumentTiming {
+        private final String jobName;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, LongAdder> stageNanos = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> entityNanos = new ConcurrentHashMap<>();
+
+        DocumentTiming(String jobName) {
+            this.jobName = jobName;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        bucketNanos = Math.max(1, TimeUnit.MINUTES.toNanos(Math.max(1, windowMinutes)) / Math.max(1, bucketCount));
+        roller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Drain the recorders every interval so values land in the right bucket even when nobody reads
+        roller.scheduleAtFixedRate(this::rollAll, bucketNanos, bucketNanos, TimeUnit.NANOSECONDS);
+        ImportStageEvent.setListener(this);
+    }
+
+    @PreDestroy
+    public void close() {
+        ImportStageEvent.setListener(null);
+        roller.shutdownNow();
+    }
+
+    @Override
+    public void onStage(String stage, String entity, String docGuid, long nanos) {
+        histograms.computeIfAbsent(stage + "|" + entity, key -> new SlidingHistogram(bucketCount, bucketNanos))
+                .record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (docGuid != null) {
+            DocumentTiming timing = openDocuments.get(docGuid);
+            if (timing != null) {
+                timing.stageNanos.computeIfAbsent(stage, key -> new LongAdder()).add(nanos);
+                timing.entityNanos.computeIfAbsent(entity, key -> new LongAdder()).add(nanos);
+            }
+        }
+    }
+
+    /**
+     * Runs the import of one document and offers it to the slowest-documents list. Stage
+     * timings are attributed to the document by docGuid, on whichever thread they run.
+     */
+    public <T> T timeDocument(String jobName, String docGuid, Supplier<T> importDocument) {
+        if (docGuid == null) {
+            return importDocument.get();
+        }
+        DocumentTiming timing = new DocumentTiming(jobName);
+        openDocuments.put(docGuid, timing);
+        try {
+            return importDocument.get();
+        } finally {
+            openDocuments.remove(docGuid, timing);
+            complete(docGuid, timing);
+        }
+    }
+
+    public void openDocument(String jobName, String docGuid) {
+        openDocuments.put(docGuid, new DocumentTiming(jobName));
+    }
+
+    public void completeDocument(String docGuid) {
+        DocumentTiming timing = openDocuments.remove(docGuid);
+        if (timing != null) {
+            complete(docGuid, timing);
+        }
+    }
+
+    public LatencyReportDto report() {
+        long now = System.nanoTime();
+        LatencyReportDto report = new LatencyReportDto();
+        report.setWindowSeconds(TimeUnit.NANOSECONDS.toSeconds(bucketNanos * Math.max(1, bucketCount)));
+
+        for (Map.Entry<String, SlidingHistogram> entry : histograms.entrySet()) {
+            Histogram window = entry.getValue().snapshot(now);
+            if (window.getTotalCount() == 0) {
+                continue;
+            }
+            String[] key = entry.getKey().split("\\|", 2);
+            LatencyStatsDto stats = new LatencyStatsDto();
+            stats.setStage(key[0]);
+            stats.setEntityName(key[1]);
+            stats.setCount(window.getTotalCount());
+            stats.setP50Millis(window.getValueAtPercentile(50) / 1000.0);
+            stats.setP90Millis(window.getValueAtPercentile(90) / 1000.0);
+            stats.setP99Millis(window.getValueAtPercentile(99) / 1000.0);
+            stats.setMaxMillis(window.getMaxValue() / 1000.0);
+            stats.setMeanMillis(window.getMean() / 1000.0);
+            report.getStages().add(stats);
+        }
+        report.getStages().sort(Comparator.comparing(LatencyStatsDto::getP99Millis).reversed());
+
+        List<SlowDocumentDto> slowest;
+        synchronized (slowestDocuments) {
+            slowest = new ArrayList<>(slowestDocuments);
+        }
+        slowest.sort(BY_WALL_TIME.reversed());
+        report.setSlowestDocuments(slowest);
+        return report;
+    }
+
+    public void reset() {
+        histograms.values().forEach(SlidingHistogram::reset);
+        synchronized (slowestDocuments) {
+            slowestDocuments.clear();
+        }
+    }
+
+    private void complete(String docGuid, DocumentTiming timing) {
+        double wallMillis = (System.nanoTime() - timing.startNanos) / 1_000_000.0;
+        synchronized (slowestDocuments) {
+            if (slowestDocuments.size() >= Math.max(1, topDocuments)
+                    && slowestDocuments.peek().getWallMillis() >= wallMillis) {
+                return;
+            }
+        }
+
+        SlowDocumentDto document = new SlowDocumentDto();
+        document.setDocGuid(docGuid);
+        document.setJobName(timing.jobName);
+        document.setWallMillis(wallMillis);
+        document.setDominantStage(largest(timing.stageNanos));
+        document.setDominantEntity(largest(timing.entityNanos));
+        for (Map.Entry<String, LongAdder> stage : timing.stageNanos.entrySet()) {
+            document.getStageMillis().put(stage.getKey(), stage.getValue().sum() / 1_000_000.0);
+        }
+        document.setCompletedAt(LocalDateTime.now());
+
+        synchronized (slowestDocuments) {
+            slowestDocuments.add(document);
+            while (slowestDocuments.size() > Math.max(1, topDocuments)) {
+                slowestDocuments.poll();
+            }
+        }
+    }
+
+    private void rollAll() {
+        try {
+            long now = System.nanoTime();
+            for (SlidingHistogram histogram : histograms.values()) {
+                histogram.roll(now);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Latency window roll failed: {}", e.getMessage());
+        }
+    }
+
+    private static String largest(Map<String, LongAdder> totals) {
+        String largest = null;
+        long largestNanos = -1;
+        for (Map.Entry<String, LongAdder> entry : totals.entrySet()) {
+            long nanos = entry.getValue().sum();
+            if (nanos > largestNanos) {
+                largest = entry.getKey();
+                largestNanos = nanos;
+            }
+        }
+        return largest;
+    }
+}
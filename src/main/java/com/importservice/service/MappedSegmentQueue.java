@@ -0,0 +1,320 @@
+package com.importservice.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only queue of keyed payloads kept in memory-mapped segment files on local disk.
+ * Records are appended at the write cursor of the newest segment; a record that does not fit
+ * rolls over to a new one. Each record is read back from the mapping through its
+ * {@link Record} handle, and acknowledged once it has been processed. A segment whose records
+ * are all acknowledged is deleted as soon as it is no longer the one being appended to.
+ * <p>
+ * A record's header is written last, so a record torn by a crash reads as the end of its
+ * segment. Acknowledgements are a flag in the record itself, so {@link #open} can find every
+ * record still pending after a restart. Written pages survive a crash of the process; they are
+ * only forced to the device on every append when {@code forceOnAppend} is set.
+ */
+class MappedSegmentQueue implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // length, crc, state, appended-at, key length
+    private static final int HEADER_BYTES = 4 + 4 + 1 + 8 + 4;
+    private static final int CRC_OFFSET = 4;
+    private static final int STATE_OFFSET = 8;
+    private static final int APPENDED_AT_OFFSET = 9;
+    private static final int KEY_LENGTH_OFFSET = 17;
+
+    private static final byte PENDING = 0;
+    private static final byte ACKNOWLEDGED = 1;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong rolledSegments = new AtomicLong();
+    private final AtomicLong deletedSegments = new AtomicLong();
+
+    private MappedSegmentQueue(Path directory, int segmentBytes, boolean forceOnAppend) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    /**
+     * Maps the segments already in {@code directory}, passing every record still pending to
+     * {@code pending} in append order, and places the write cursor after the last whole record.
+     */
+    static MappedSegmentQueue open(Path directory, int segmentBytes, boolean forceOnAppend,
+                                   Consumer<Record> pending) throws IOException {
+        Files.createDirectories(directory);
+        MappedSegmentQueue queue = new MappedSegmentQueue(directory, segmentBytes, forceOnAppend);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            queue.segments.put(id, Segment.map(id, file, Files.size(file)));
+        }
+        for (Segment segment : queue.segments.values()) {
+            segment.writeCursor = segment.recover(pending);
+        }
+        if (!queue.segments.isEmpty()) {
+            queue.active = queue.segments.lastEntry().getValue();
+        }
+        // Segments with nothing pending left are not needed past startup
+        for (Segment segment : new ArrayList<>(queue.segments.values())) {
+            if (segment != queue.active && segment.pending.get() == 0) {
+                queue.delete(segment);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Appends {@code payload} under {@code key} and returns its handle.
+     */
+    synchronized Record append(String key, String payload) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        int length = keyBytes.length + payloadBytes.length;
+        int recordBytes = HEADER_BYTES + length;
+        if (active == null || active.capacity() - active.writeCursor < recordBytes) {
+            roll(recordBytes);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        crc.update(payloadBytes);
+        int position = active.writeCursor;
+        long appendedAt = System.currentTimeMillis();
+        ByteBuffer buffer = active.buffer.duplicate();
+        buffer.position(position + CRC_OFFSET);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(PENDING);
+        buffer.putLong(appendedAt);
+        buffer.putInt(keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.put(payloadBytes);
+        // The length goes in last: until it does, the record reads as the end of the segment
+        active.buffer.putInt(position, length);
+        if (forceOnAppend) {
+            active.buffer.force();
+        }
+        active.writeCursor = position + recordBytes;
+        active.pending.incrementAndGet();
+        appended.incrementAndGet();
+        return new Record(active, position, key, payloadBytes.length, appendedAt);
+    }
+
+    /**
+     * Marks {@code record} as processed, deleting its segment if that was its last pending record.
+     */
+    void acknowledge(Record record) {
+        Segment segment = record.segment;
+        if (segment.buffer.get(record.position + STATE_OFFSET) == ACKNOWLEDGED) {
+            return;
+        }
+        segment.buffer.put(record.position + STATE_OFFSET, ACKNOWLEDGED);
+        acknowledged.incrementAndGet();
+        if (segment.pending.decrementAndGet() == 0) {
+            synchronized (this) {
+                if (segment != active && segments.containsKey(segment.id)) {
+                    delete(segment);
+                }
+            }
+        }
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    synchronized long bytesOnDisk() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    long pendingRecords() {
+        long pending = 0;
+        synchronized (this) {
+            for (Segment segment : segments.values()) {
+                pending += segment.pending.get();
+            }
+        }
+        return pending;
+    }
+
+    long getAppended() {
+        return appended.get();
+    }
+
+    long getAcknowledged() {
+        return acknowledged.get();
+    }
+
+    long getRolledSegments() {
+        return rolledSegments.get();
+    }
+
+    long getDeletedSegments() {
+        return deletedSegments.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    private void roll(int recordBytes) throws IOException {
+        Segment previous = active;
+        long id = previous == null ? 0 : previous.id + 1;
+        // A payload larger than a segment gets a segment of its own size
+        long size = Math.max(segmentBytes, recordBytes + 4);
+        active = Segment.map(id, directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX)), size);
+        segments.put(id, active);
+        rolledSegments.incrementAndGet();
+        if (previous != null && previous.pending.get() == 0) {
+            delete(previous);
+        }
+    }
+
+    private void delete(Segment segment) {
+        segments.remove(segment.id);
+        try {
+            Files.deleteIfExists(segment.file);
+            deletedSegments.incrementAndGet();
+        } catch (IOException e) {
+            // Left for the next startup, which deletes segments with nothing pending
+        }
+    }
+
+    /**
+     * A record's place in its segment. The payload stays on disk until {@link #read} is called.
+     */
+    static final class Record {
+
+        private final Segment segment;
+        private final int position;
+        private final String key;
+        private final int payloadBytes;
+        private final long appendedAt;
+
+        private Record(Segment segment, int position, String key, int payloadBytes, long appendedAt) {
+            this.segment = segment;
+            this.position = position;
+            this.key = key;
+            this.payloadBytes = payloadBytes;
+            this.appendedAt = appendedAt;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        long getAppendedAt() {
+            return appendedAt;
+        }
+
+        String read() {
+            byte[] bytes = new byte[payloadBytes];
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(position + HEADER_BYTES + segment.buffer.getInt(position + KEY_LENGTH_OFFSET));
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger pending = new AtomicInteger();
+        private int writeCursor;
+
+        private Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        static Segment map(long id, Path file, long size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                return new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Reads the segment from the start and returns where its last whole record ends.
+         */
+        int recover(Consumer<Record> pendingRecords) {
+            int position = 0;
+            while (position + HEADER_BYTES <= capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > capacity()) {
+                    break;
+                }
+                int keyLength = buffer.getInt(position + KEY_LENGTH_OFFSET);
+                if (keyLength < 0 || keyLength > length) {
+                    break;
+                }
+                byte[] keyBytes = new byte[keyLength];
+                byte[] payloadBytes = new byte[length - keyLength];
+                ByteBuffer record = buffer.duplicate();
+                record.position(position + HEADER_BYTES);
+                record.get(keyBytes);
+                record.get(payloadBytes);
+                CRC32 crc = new CRC32();
+                crc.update(keyBytes);
+                crc.update(payloadBytes);
+                if ((int) crc.getValue() != buffer.getInt(position + CRC_OFFSET)) {
+                    break;
+                }
+                if (buffer.get(position + STATE_OFFSET) == PENDING) {
+                    pending.incrementAndGet();
+                    pendingRecords.accept(new Record(this, position,
+                            new String(keyBytes, StandardCharsets.UTF_8), payloadBytes.length,
+                            buffer.getLong(position + APPENDED_AT_OFFSET)));
+                }
+                position += HEADER_BYTES + length;
+            }
+            return position;
+        }
+    }
+}
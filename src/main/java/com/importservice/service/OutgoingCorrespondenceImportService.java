@@ -0,0 +1,501 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportResponseDto;
+import com.importservice.entity.OutgoingCorrespondence;
+import com.importservice.entity.OutgoingCorrespondenceBusinessLog;
+import com.importservice.entity.OutgoingCorrespondenceClosing;
+import com.importservice.entity.OutgoingCorrespondenceComment;
+import com.importservice.repository.OutgoingCorrespondenceBusinessLogRepository;
+import com.importservice.repository.OutgoingCorrespondenceClosingRepository;
+import com.importservice.repository.OutgoingCorrespondenceCommentRepository;
+import com.importservice.repository.OutgoingCorrespondenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Imports outgoing correspondences and their business logs, comments and closings.
+ * Correspondences are fetched page by page and each page is written while the next one is
+ * being fetched, so memory stays bounded by the page size. Related data is imported for
+ * several documents at once, and the three related endpoints of a document are fetched
+ * concurrently, each on its own {@link Bulkhead}.
+ */
+@Service
+public class OutgoingCorrespondenceImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutgoingCorrespondenceImportService.class);
+
+    private static final String CORRESPONDENCES_PAGE_PATH = "/OutgoingCorrespondences/All/PageIndex/%d/PageSize/%d";
+    private static final String BUSINESS_LOGS_PATH = "/OutgoingCorrespondenceBusinessLogs/docGuid/";
+    private static final String COMMENTS_PATH = "/OutgoingCorrespondenceComments/docGuid/";
+    private static final String CLOSINGS_PATH = "/OutgoingCorrespondenceClosings/docGuid/";
+    private static final String OUTGOING_RELATED_JOB = "OutgoingCorrespondencesWithRelated";
+
+    @Value("${import.outgoing.page-size:1000}")
+    private int pageSize;
+
+    @Value("${import.outgoing.max-pages:10000}")
+    private int maxPages;
+
+    @Value("${import.fetch.engine:blocking}")
+    private String fetchEngine;
+
+    @Autowired
+    private SourceApiClient sourceApiClient;
+
+    @Autowired
+    private ReactiveSourceFetchEngine reactiveSourceFetchEngine;
+
+    @Autowired
+    private ImportProgressLogger importProgressLogger;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    @Autowired
+    private ChunkedImportWriter chunkedImportWriter;
+
+    @Autowired
+    private ExistingKeyIndex existingKeyIndex;
+
+    @Autowired
+    private LatencyTracker latencyTracker;
+
+    @Autowired
+    @Qualifier("outgoingDocumentExecutor")
+    private ThreadPoolTaskExecutor outgoingDocumentExecutor;
+
+    @Autowired
+    @Qualifier("outgoingPrefetchExecutor")
+    private ThreadPoolTaskExecutor outgoingPrefetchExecutor;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private DocumentRetryQueue documentRetryQueue;
+
+    @Autowired
+    private DocumentCheckpoints documentCheckpoints;
+
+    @Autowired
+    private ImportPipeline importPipeline;
+
+    @Autowired
+    private OutgoingCorrespondenceRepository outgoingCorrespondenceRepository;
+
+    @Autowired
+    private OutgoingCorrespondenceBusinessLogRepository outgoingCorrespondenceBusinessLogRepository;
+
+    @Autowired
+    private OutgoingCorrespondenceCommentRepository outgoingCorrespondenceCommentRepository;
+
+    @Autowired
+    private OutgoingCorrespondenceClosingRepository outgoingCorrespondenceClosingRepository;
+
+    @PostConstruct
+    public void registerRetries() {
+        documentRetryQueue.register(OUTGOING_RELATED_JOB, this::importAllOutgoingCorrespondenceRelated);
+    }
+
+    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
+    public ImportResponseDto importOutgoingCorrespondences() {
+        logger.info("Starting outgoing correspondences import");
+
+        List<String> errors = new ArrayList<>();
+        int successfulImports = 0;
+        int failedImports = 0;
+        int totalRecords = 0;
+        int size = Math.max(1, pageSize);
+
+        ImportProgress progress = importProgressLogger.start("OutgoingCorrespondences", 0);
+        existingKeyIndex.load(OutgoingCorrespondence.class);
+        ChunkedImportWriter.RowWriter<OutgoingCorrespondence> rowWriter =
+                existingKeyIndex.upsert(OutgoingCorrespondence.class, outgoingCorrespondenceRepository::save);
+        try {
+            CompletableFuture<SourceResult<OutgoingCorrespondence>> nextPage = fetchCorrespondencePage(1, size);
+            for (int pageIndex = 1; pageIndex <= maxPages; pageIndex++) {
+                SourceResult<OutgoingCorrespondence> page = await(nextPage);
+                if (page.isFailure()) {
+                    if (pageIndex == 1) {
+                        return createErrorResponse("API returned failure: " + page.getFailureMessage());
+                    }
+                    failedImports++;
+                    errors.add("API returned failure for page " + pageIndex + ": " + page.getFailureMessage());
+                    break;
+                }
+                // A page of only skipped items is not the end; the item count includes them
+                if (page.getItemCount() == 0) {
+                    break;
+                }
+
+                List<OutgoingCorrespondence> correspondences = page.getItems();
+                boolean lastPage = page.getItemCount() < size;
+                // Fetch the following page while this one is being written
+                nextPage = lastPage ? null : fetchCorrespondencePage(pageIndex + 1, size);
+
+                totalRecords += correspondences.size() + page.getParseErrors().size();
+                failedImports += page.getParseErrors().size();
+                errors.addAll(page.getParseErrors());
+
+                List<OutgoingCorrespondence> validCorrespondences = new ArrayList<>(correspondences.size());
+                for (OutgoingCorrespondence correspondence : correspondences) {
+                    if (correspondence.getGuid() == null) {
+                        failedImports++;
+                        progress.recordFailure();
+                        errors.add("Outgoing correspondence without GUID received");
+                    } else {
+                        validCorrespondences.add(correspondence);
+                    }
+                }
+                ChunkWriteResult writeResult = chunkedImportWriter.write("OutgoingCorrespondence",
+                        validCorrespondences, rowWriter, progress);
+                successfulImports += writeResult.getSucceeded();
+                failedImports += writeResult.getFailed();
+                errors.addAll(writeResult.getErrors());
+                logger.debug("Imported outgoing correspondences page {} ({} rows)", pageIndex, correspondences.size());
+
+                if (lastPage) {
+                    break;
+                }
+            }
+            progress.finish();
+
+            if (totalRecords == 0 && errors.isEmpty()) {
+                return new ImportResponseDto("SUCCESS", "No OutgoingCorrespondences found",
+                    0, 0, 0, new ArrayList<>());
+            }
+
+            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String message = String.format("OutgoingCorrespondences import completed. Success: %d, Failed: %d",
+                                         successfulImports, failedImports);
+
+            return new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+
+        } catch (Exception e) {
+            progress.finish();
+            logger.error("Failed to import outgoing correspondences", e);
+            return createErrorResponse("Failed to import outgoing correspondences: " + e.getMessage());
+        } finally {
+            existingKeyIndex.release(OutgoingCorrespondence.class);
+        }
+    }
+
+    public ImportResponseDto importOutgoingCorrespondenceBusinessLogs(String docGuid) {
+        logger.debug("Starting outgoing correspondence business logs import for doc: {}", docGuid);
+        return importRelatedData(BUSINESS_LOGS_PATH + docGuid, OutgoingCorrespondenceBusinessLog.class,
+                                 outgoingCorrespondenceBusinessLogRepository, "OutgoingCorrespondenceBusinessLogs");
+    }
+
+    public ImportResponseDto importOutgoingCorrespondenceComments(String docGuid) {
+        logger.debug("Starting outgoing correspondence comments import for doc: {}", docGuid);
+        return importRelatedData(COMMENTS_PATH + docGuid, OutgoingCorrespondenceComment.class,
+                                 outgoingCorrespondenceCommentRepository, "OutgoingCorrespondenceComments");
+    }
+
+    public ImportResponseDto importOutgoingCorrespondenceClosings(String docGuid) {
+        logger.debug("Starting outgoing correspondence closings import for doc: {}", docGuid);
+        return importRelatedData(CLOSINGS_PATH + docGuid, OutgoingCorrespondenceClosing.class,
+                                 outgoingCorrespondenceClosingRepository, "OutgoingCorrespondenceClosings");
+    }
+
+    public ImportResponseDto importAllOutgoingCorrespondenceRelated(String docGuid) {
+        logger.debug("Starting import of all outgoing correspondence-related data for doc: {}", docGuid);
+
+        List<String> errors = new ArrayList<>();
+        int totalRecords = 0;
+        int successfulImports = 0;
+        int failedImports = 0;
+
+        try {
+            // The three endpoints are independent, so fetch and write them concurrently, each on its own bulkhead
+            CompletableFuture<ImportResponseDto> businessLogs = submitRelated("OutgoingCorrespondenceBusinessLogs",
+                    () -> importOutgoingCorrespondenceBusinessLogs(docGuid));
+            CompletableFuture<ImportResponseDto> comments = submitRelated("OutgoingCorrespondenceComments",
+                    () -> importOutgoingCorrespondenceComments(docGuid));
+            CompletableFuture<ImportResponseDto> closings = submitRelated("OutgoingCorrespondenceClosings",
+                    () -> importOutgoingCorrespondenceClosings(docGuid));
+
+            List<ImportResponseDto> results = Arrays.asList(await(businessLogs), await(comments), await(closings));
+
+            int failedEndpoints = 0;
+            for (ImportResponseDto result : results) {
+                totalRecords += result.getTotalRecords();
+                successfulImports += result.getSuccessfulImports();
+                failedImports += result.getFailedImports();
+
+                // A fetch or API failure comes back as ERROR without failed rows; it still fails the document
+                if (!"SUCCESS".equals(result.getStatus())) {
+                    failedEndpoints++;
+                }
+                if ("ERROR".equals(result.getStatus())) {
+                    failedImports++;
+                }
+                if (result.getErrors() != null) {
+                    errors.addAll(result.getErrors());
+                }
+            }
+
+            String status = failedEndpoints == results.size() ? "ERROR"
+                    : failedEndpoints == 0 && failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String message = String.format(
+                "All outgoing correspondence-related data import completed for doc %s. Total: %d, Success: %d, Failed: %d",
+                docGuid, totalRecords, successfulImports, failedImports
+            );
+
+            ImportResponseDto response = new ImportResponseDto(status, message, totalRecords, successfulImports, failedImports, errors);
+            documentCheckpoints.record(OUTGOING_RELATED_JOB, docGuid, response);
+            return response;
+
+        } catch (Exception e) {
+            logger.error("Failed to import all outgoing correspondence-related data for doc: {}", docGuid, e);
+            ImportResponseDto response = new ImportResponseDto("ERROR",
+                "Failed to import all outgoing correspondence-related data for doc " + docGuid + ": " + e.getMessage(),
+                0, 0, 0, Arrays.asList("Failed to import all outgoing correspondence-related data: " + e.getMessage()));
+            documentCheckpoints.record(OUTGOING_RELATED_JOB, docGuid, response);
+            return response;
+        }
+    }
+
+    public ImportResponseDto importAllOutgoingCorrespondencesWithRelated() {
+        logger.info("Starting bulk import of all outgoing correspondences with related data");
+
+        List<String> errors = new ArrayList<>();
+        int successfulImports = 0;
+        int failedImports = 0;
+        int totalRecords = 0;
+
+        try {
+            long expectedTotal = outgoingCorrespondenceRepository.count();
+            if (expectedTotal == 0) {
+                logger.info("No outgoing correspondences found in database");
+                return new ImportResponseDto("SUCCESS", "No outgoing correspondences found to process",
+                    0, 0, 0, new ArrayList<>());
+            }
+
+            ImportOptions options = ImportOptions.current();
+            if (options.getSamplePercent() < 100) {
+                expectedTotal = Math.round(expectedTotal * options.getSamplePercent() / 100);
+            }
+            Set<String> completed = documentCheckpoints.isResuming()
+                    ? documentCheckpoints.completed(OUTGOING_RELATED_JOB) : Collections.<String>emptySet();
+            if (!completed.isEmpty()) {
+                logger.info("Resuming: skipping {} outgoing correspondences completed by an earlier run", completed.size());
+                expectedTotal = Math.max(0, expectedTotal - completed.size());
+            }
+            ImportProgress progress = importProgressLogger.start(OUTGOING_RELATED_JOB, expectedTotal);
+            // Documents that fail are retried at the end instead of holding up the rest
+            DocumentRetryQueue.Pass retries = documentRetryQueue.startPass(OUTGOING_RELATED_JOB);
+            List<RelatedEndpoint<?>> endpoints = getOutgoingRelatedEndpoints();
+            for (RelatedEndpoint<?> endpoint : endpoints) {
+                existingKeyIndex.load(endpoint.getEntityClass());
+            }
+            try {
+                int size = Math.max(1, pageSize);
+                Page<OutgoingCorrespondence> page;
+                int pageIndex = 0;
+                do {
+                    page = outgoingCorrespondenceRepository.findAll(PageRequest.of(pageIndex++, size, Sort.by("guid")));
+
+                    if ("reactive".equalsIgnoreCase(fetchEngine)) {
+                        List<String> docGuids = new ArrayList<>(page.getNumberOfElements());
+                        for (OutgoingCorrespondence correspondence : page.getContent()) {
+                            if (options.includesDocument(correspondence.getGuid())
+                                    && !completed.contains(correspondence.getGuid())) {
+                                docGuids.add(correspondence.getGuid());
+                            }
+                        }
+                        ImportResponseDto result = reactiveSourceFetchEngine.importRelated("Outgoing page " + pageIndex,
+                                docGuids, endpoints, progress,
+                                (docGuid, outcome) -> {
+                                    documentCheckpoints.record(OUTGOING_RELATED_JOB, docGuid, outcome);
+                                    retries.record(docGuid, outcome);
+                                });
+                        totalRecords += result.getTotalRecords();
+                        successfulImports += result.getSuccessfulImports();
+                        failedImports += result.getFailedImports();
+                        errors.addAll(result.getErrors());
+                        continue;
+                    }
+
+                    // Documents of one page run concurrently; the next page is read once they are all done
+                    List<String> docGuids = new ArrayList<>(page.getNumberOfElements());
+                    List<CompletableFuture<ImportResponseDto>> futures = new ArrayList<>(page.getNumberOfElements());
+                    for (OutgoingCorrespondence correspondence : page.getContent()) {
+                        String docGuid = correspondence.getGuid();
+                        if (!options.includesDocument(docGuid) || completed.contains(docGuid)) {
+                            continue;
+                        }
+                        docGuids.add(docGuid);
+                        futures.add(CompletableFuture.supplyAsync(ImportOptions.propagate(
+                                () -> latencyTracker.timeDocument(OUTGOING_RELATED_JOB, docGuid,
+                                        () -> retries.attempt(docGuid,
+                                                () -> importAllOutgoingCorrespondenceRelated(docGuid)))),
+                                outgoingDocumentExecutor));
+                    }
+
+                    for (int i = 0; i < futures.size(); i++) {
+                        String docGuid = docGuids.get(i);
+                        totalRecords++;
+                        try {
+                            ImportResponseDto result = await(futures.get(i));
+                            if ("ERROR".equals(result.getStatus()) || "PARTIAL_SUCCESS".equals(result.getStatus())) {
+                                failedImports++;
+                                progress.recordFailure();
+                                if (result.getErrors() != null) {
+                                    errors.addAll(result.getErrors());
+                                }
+                                logger.warn("Failed to import related data for outgoing correspondence: {} - {}",
+                                            docGuid, result.getMessage());
+                            } else {
+                                successfulImports++;
+                                progress.recordSuccess();
+                            }
+                        } catch (Exception e) {
+                            failedImports++;
+                            progress.recordFailure();
+                            String errorMsg = "Error processing outgoing correspondence " + docGuid + ": " + e.getMessage();
+                            errors.add(errorMsg);
+                            errorLogThrottle.error(logger, "OutgoingCorrespondencesWithRelated", errorMsg, e);
+                        }
+                    }
+                } while (page.hasNext());
+            } finally {
+                for (RelatedEndpoint<?> endpoint : endpoints) {
+                    existingKeyIndex.release(endpoint.getEntityClass());
+                }
+                progress.finish();
+            }
+
+            String status = failedImports == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String message = String.format(
+                "Bulk import completed. Outgoing correspondences processed: %d (Success: %d, Failed: %d)",
+                totalRecords, successfulImports, failedImports
+            );
+
+            return retries.finish(new ImportResponseDto(status, message, totalRecords, successfulImports,
+                                                         failedImports, errors));
+
+        } catch (Exception e) {
+            logger.error("Failed to execute bulk outgoing correspondence import", e);
+            return new ImportResponseDto("ERROR", "Failed to execute bulk outgoing correspondence import: " + e.getMessage(),
+                0, 0, 0, Arrays.asList("Failed to execute bulk outgoing correspondence import: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The per-document endpoints imported by {@link #importAllOutgoingCorrespondenceRelated(String)},
+     * for fetch engines that drive them directly.
+     */
+    public List<RelatedEndpoint<?>> getOutgoingRelatedEndpoints() {
+        String baseUrl = sourceApiClient.getBaseUrl();
+        return Arrays.<RelatedEndpoint<?>>asList(
+            new RelatedEndpoint<>("OutgoingCorrespondenceBusinessLogs", docGuid -> baseUrl + BUSINESS_LOGS_PATH + docGuid,
+                    OutgoingCorrespondenceBusinessLog.class, existingKeyIndex.upsert(OutgoingCorrespondenceBusinessLog.class, outgoingCorrespondenceBusinessLogRepository::save)),
+            new RelatedEndpoint<>("OutgoingCorrespondenceComments", docGuid -> baseUrl + COMMENTS_PATH + docGuid,
+                    OutgoingCorrespondenceComment.class, existingKeyIndex.upsert(OutgoingCorrespondenceComment.class, outgoingCorrespondenceCommentRepository::save)),
+            new RelatedEndpoint<>("OutgoingCorrespondenceClosings", docGuid -> baseUrl + CLOSINGS_PATH + docGuid,
+                    OutgoingCorrespondenceClosing.class, existingKeyIndex.upsert(OutgoingCorrespondenceClosing.class, outgoingCorrespondenceClosingRepository::save))
+        );
+    }
+
+    private <T, ID> ImportResponseDto importRelatedData(String endpoint, Class<T> entityClass,
+                                                        JpaRepository<T, ID> repository, String entityName) {
+        return ImportStageEvent.forDocument(ImportStageEvent.docGuidOf(endpoint),
+                () -> importRelatedDataForDocument(endpoint, entityClass, repository, entityName));
+    }
+
+    private <T, ID> ImportResponseDto importRelatedDataForDocument(String endpoint, Class<T> entityClass,
+                                                                   JpaRepository<T, ID> repository, String entityName) {
+        try {
+            // Documents run concurrently on the outgoing pool, so their rows share the write-behind buffer
+            PipelineResult result = importPipeline.run(new PipelineJob<>(entityName,
+                    sourceApiClient.getBaseUrl() + endpoint, entityClass,
+                    existingKeyIndex.upsert(entityClass, repository::save))
+                    .writtenBehind());
+            if (result.isFailure()) {
+                return createErrorResponse("API returned failure: " + result.getFailureMessage());
+            }
+            if (result.isEmpty()) {
+                logger.debug("No data found for {}, endpoint: {}", entityName, endpoint);
+                return new ImportResponseDto("SUCCESS", "No " + entityName + " found",
+                    0, 0, 0, new ArrayList<>());
+            }
+            logger.debug("Imported {} {}", result.getRecords(), entityName);
+
+            String status = result.getFailed() == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String message = String.format("%s import completed. Success: %d, Failed: %d",
+                                         entityName, result.getSucceeded(), result.getFailed());
+
+            return new ImportResponseDto(status, message, result.getRecords(), result.getSucceeded(),
+                                         result.getFailed(), new ArrayList<>(result.getErrors()));
+
+        } catch (Exception e) {
+            errorLogThrottle.error(logger, entityName, "Failed to import " + entityName, e);
+            return createErrorResponse("Failed to import " + entityName + ": " + e.getMessage());
+        }
+    }
+
+    private CompletableFuture<SourceResult<OutgoingCorrespondence>> fetchCorrespondencePage(int pageIndex, int size) {
+        String url = sourceApiClient.getBaseUrl() + String.format(CORRESPONDENCES_PAGE_PATH, pageIndex, size);
+        return CompletableFuture.supplyAsync(ImportOptions.propagate(() -> {
+            try {
+                return sourceApiClient.fetchList("OutgoingCorrespondences", url, OutgoingCorrespondence.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), outgoingPrefetchExecutor);
+    }
+
+    private CompletableFuture<ImportResponseDto> submitRelated(String entityName, Supplier<ImportResponseDto> importFunction) {
+        try {
+            return bulkheadRegistry.get(entityName).submit(importFunction);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(DocumentIoExecutor.rejected(entityName, e));
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    private ImportResponseDto createErrorResponse(String errorMessage) {
+        List<String> errors = new ArrayList<>();
+        errors.add(errorMessage);
+        return new ImportResponseDto("ERROR", errorMessage, 0, 0, 0, errors);
+    }
+}
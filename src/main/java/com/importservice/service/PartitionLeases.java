@@ -0,0 +1,346 @@
+package com.importservice.service;
+
+import com.importservice.dto.PartitionLeaseStatusDto;
+import com.importservice.entity.PartitionLease;
+import com.importservice.repository.PartitionLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Lets several instances share one related-data import. The docGuid space is split into
+ * {@code import.partitions.count} partitions by CRC32, and every partition of the run named by
+ * {@code import.partitions.run-id} is a row of {@code partition_leases}. An instance claims the
+ * next free partition with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so concurrent claims
+ * never wait on each other, and imports only that partition's documents.
+ * <p>
+ * A held lease is renewed every {@code heartbeat-seconds}. A lease whose holder stopped renewing
+ * expires after {@code lease-seconds} and is taken over by the next claim. Lease times come from
+ * the database clock, so clock skew between instances does not matter.
+ */
+@Component
+public class PartitionLeases {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionLeases.class);
+
+    private static final String CREATE_SQL =
+            "INSERT IGNORE INTO partition_leases (lease_id, run_id, partition_no, partition_count, status, takeovers) "
+            + "VALUES (?, ?, ?, ?, 'PENDING', 0)";
+
+    private static final String CLAIM_SELECT_SQL =
+            "SELECT lease_id, partition_no, status, heartbeat_at FROM partition_leases "
+            + "WHERE run_id = ? AND (status = 'PENDING' OR (status = 'LEASED' AND expires_at < NOW(6))) "
+            + "ORDER BY partition_no LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    private static final String CLAIM_UPDATE_SQL =
+            "UPDATE partition_leases SET status = 'LEASED', owner = ?, heartbeat_at = NOW(6), "
+            + "expires_at = TIMESTAMPADD(SECOND, ?, NOW(6)), takeovers = takeovers + ? WHERE lease_id = ?";
+
+    private static final String HEARTBEAT_SQL =
+            "UPDATE partition_leases SET heartbeat_at = NOW(6), expires_at = TIMESTAMPADD(SECOND, ?, NOW(6)) "
+            + "WHERE lease_id = ? AND owner = ? AND status = 'LEASED'";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE partition_leases SET status = 'DONE', documents = ?, failed_documents = ?, completed_at = NOW(6), "
+            + "expires_at = NULL WHERE lease_id = ? AND owner = ? AND status = 'LEASED'";
+
+    private static final String RELEASE_SQL =
+            "UPDATE partition_leases SET status = 'PENDING', owner = NULL, expires_at = NULL "
+            + "WHERE lease_id = ? AND owner = ? AND status = 'LEASED'";
+
+    @Value("${import.partitions.enabled:false}")
+    private boolean enabled;
+
+    @Value("${import.partitions.count:16}")
+    private int partitionCount;
+
+    @Value("${import.partitions.run-id:}")
+    private String runId;
+
+    @Value("${import.partitions.lease-seconds:60}")
+    private int leaseSeconds;
+
+    @Value("${import.partitions.heartbeat-seconds:15}")
+    private int heartbeatSeconds;
+
+    @Value("${import.partitions.instance-id:}")
+    private String instanceId;
+
+    @Autowired
+    private PartitionLeaseRepository partitionLeaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heartbeat;
+
+    /**
+     * A claimed partition.
+     */
+    public static final class Lease {
+
+        private final String leaseId;
+        private final int partition;
+        private final boolean resumed;
+
+        Lease(String leaseId, int partition, boolean resumed) {
+            this.leaseId = leaseId;
+            this.partition = partition;
+            this.resumed = resumed;
+        }
+
+        public int getPartition() {
+            return partition;
+        }
+
+        /**
+         * True when an earlier holder, now expired or released, may have written part of the
+         * partition, so state loaded before the claim can miss its rows.
+         */
+        public boolean isResumed() {
+            return resumed;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("import.partitions.count must be at least 1, was: " + partitionCount);
+        }
+        if (heartbeatSeconds < 1) {
+            throw new IllegalArgumentException("import.partitions.heartbeat-seconds must be at least 1, was: " + heartbeatSeconds);
+        }
+        if (leaseSeconds <= heartbeatSeconds) {
+            throw new IllegalArgumentException("import.partitions.lease-seconds must be more than heartbeat-seconds ("
+                    + heartbeatSeconds + "), was: " + leaseSeconds);
+        }
+        if (instanceId == null || instanceId.trim().isEmpty()) {
+            instanceId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        if (!enabled) {
+            return;
+        }
+        if (runId == null || runId.trim().isEmpty()) {
+            throw new IllegalArgumentException("import.partitions.run-id must be set when import.partitions.enabled is true");
+        }
+        if (runId.length() > 200) {
+            throw new IllegalArgumentException("import.partitions.run-id must be at most 200 characters, was: " + runId.length());
+        }
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("partition-heartbeat-");
+        threads.setDaemon(true);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(threads);
+        heartbeat.scheduleWithFixedDelay(this::renew, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        logger.info("Partitioned import as {}: run {}, {} partitions, {} s leases", instanceId, runId,
+                    partitionCount, leaseSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        // Hand unfinished partitions back rather than letting them wait out their expiry
+        for (Lease lease : new ArrayList<>(held.values())) {
+            release(lease);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int partitionOf(String docGuid) {
+        CRC32 crc = new CRC32();
+        crc.update(docGuid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % partitionCount);
+    }
+
+    /**
+     * Claims the next partition of the run. While every unfinished partition is held by a live
+     * instance, waits a heartbeat and tries again, to take over any whose holder stops. Returns
+     * {@code null} once every partition is done.
+     */
+    public Lease awaitNext() {
+        createRun();
+        while (true) {
+            Lease lease = claim();
+            if (lease != null) {
+                return lease;
+            }
+            long done = ioPermits.withDatabase(() -> partitionLeaseRepository.countByRunIdAndStatus(runId, PartitionLease.DONE));
+            if (done >= partitionCount) {
+                return null;
+            }
+            try {
+                TimeUnit.SECONDS.sleep(heartbeatSeconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a partition of run " + runId, e);
+            }
+        }
+    }
+
+    /**
+     * Marks the partition done. Returns false if the lease had been taken over, in which case the
+     * partition is being imported again by its new holder.
+     */
+    public boolean complete(Lease lease, int documents, int failedDocuments) {
+        held.remove(lease.leaseId);
+        int updated = ioPermits.withDatabase(() -> jdbcTemplate.update(COMPLETE_SQL, documents, failedDocuments,
+                lease.leaseId, instanceId));
+        if (updated == 0) {
+            logger.warn("Partition {} of run {} was taken over before it finished here", lease.partition, runId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hands the partition back unfinished, for any instance to claim.
+     */
+    public void release(Lease lease) {
+        held.remove(lease.leaseId);
+        try {
+            ioPermits.withDatabase(() -> jdbcTemplate.update(RELEASE_SQL, lease.leaseId, instanceId));
+        } catch (RuntimeException e) {
+            // It expires instead
+            logger.warn("Could not release partition {} of run {}: {}", lease.partition, runId, e.getMessage());
+        }
+    }
+
+    public PartitionLeaseStatusDto status() {
+        PartitionLeaseStatusDto status = new PartitionLeaseStatusDto();
+        status.setEnabled(enabled);
+        status.setRunId(runId);
+        status.setInstanceId(instanceId);
+        status.setPartitions(partitionCount);
+        if (!enabled) {
+            return status;
+        }
+        List<PartitionLease> leases = ioPermits.withDatabase(() -> partitionLeaseRepository.findByRunIdOrderByPartitionNo(runId));
+        int pending = 0;
+        int leased = 0;
+        int done = 0;
+        int takeovers = 0;
+        long documents = 0;
+        List<Integer> owned = new ArrayList<>();
+        for (PartitionLease lease : leases) {
+            if (PartitionLease.DONE.equals(lease.getStatus())) {
+                done++;
+                documents += lease.getDocuments() != null ? lease.getDocuments() : 0;
+            } else if (PartitionLease.LEASED.equals(lease.getStatus())) {
+                leased++;
+            } else {
+                pending++;
+            }
+            takeovers += lease.getTakeovers();
+            if (PartitionLease.LEASED.equals(lease.getStatus()) && instanceId.equals(lease.getOwner())) {
+                owned.add(lease.getPartitionNo());
+            }
+        }
+        status.setPending(pending);
+        status.setLeased(leased);
+        status.setDone(done);
+        status.setTakeovers(takeovers);
+        status.setDocumentsDone(documents);
+        status.setOwnedPartitions(owned);
+        return status;
+    }
+
+    // Every instance creates the rows; the ones that already exist are left as they are
+    private void createRun() {
+        List<Object[]> rows = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            rows.add(new Object[] {leaseId(partition), runId, partition, partitionCount});
+        }
+        ioPermits.withDatabase(() -> jdbcTemplate.batchUpdate(CREATE_SQL, rows));
+        long existing = ioPermits.withDatabase(() -> partitionLeaseRepository.countByRunId(runId));
+        if (existing != partitionCount) {
+            throw new IllegalStateException("Run " + runId + " has " + existing + " partitions but import.partitions.count is "
+                    + partitionCount + "; every instance of a run needs the same count");
+        }
+    }
+
+    private Lease claim() {
+        return ioPermits.withDatabase(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            List<Map<String, Object>> free = jdbcTemplate.queryForList(CLAIM_SELECT_SQL, runId);
+            if (free.isEmpty()) {
+                return null;
+            }
+            Map<String, Object> row = free.get(0);
+            String leaseId = (String) row.get("lease_id");
+            int partition = ((Number) row.get("partition_no")).intValue();
+            boolean takeover = PartitionLease.LEASED.equals(row.get("status"));
+            // A released partition goes back to PENDING but keeps the heartbeat of its last holder
+            boolean resumed = takeover || row.get("heartbeat_at") != null;
+            jdbcTemplate.update(CLAIM_UPDATE_SQL, instanceId, leaseSeconds, takeover ? 1 : 0, leaseId);
+            if (takeover) {
+                logger.warn("Took over expired partition {} of run {}", partition, runId);
+            }
+            Lease lease = new Lease(leaseId, partition, resumed);
+            held.put(leaseId, lease);
+            return lease;
+        }));
+    }
+
+    // Runs on the heartbeat thread only
+    private void renew() {
+        Set<String> leaseIds = held.keySet();
+        for (String leaseId : leaseIds) {
+            Lease lease = held.get(leaseId);
+            if (lease == null) {
+                continue;
+            }
+            try {
+                int updated = ioPermits.withDatabase(() -> jdbcTemplate.update(HEARTBEAT_SQL, leaseSeconds, leaseId, instanceId));
+                if (updated == 0 && held.remove(leaseId, lease)) {
+                    logger.warn("Lost the lease on partition {} of run {} to another instance", lease.partition, runId);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Heartbeat for partition {} of run {} failed: {}", lease.partition, runId, e.getMessage());
+            }
+        }
+    }
+
+    private String leaseId(int partition) {
+        return runId + "/" + partition;
+    }
+}
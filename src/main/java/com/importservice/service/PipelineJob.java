@@ -0,0 +1,94 @@
+package com.importservice.service;
+
+/**
+ * One entity import for the {@link ImportPipeline}: the source list to fetch, what its items
+ * bind to, how each bound row is completed or checked, and how it is written.
+ */
+public class PipelineJob<T> {
+
+    @FunctionalInterface
+    public interface Enricher<T> {
+        /**
+         * Completes or checks a bound row before it is written. Returns why the row is
+         * rejected, or {@code null} to write it.
+         */
+        String enrich(T row);
+    }
+
+    private final String entityName;
+    private final String url;
+    private final Class<T> entityClass;
+    private final ChunkedImportWriter.RowWriter<T> rowWriter;
+    private String writeEntityName;
+    private Enricher<T> enricher;
+    private ImportProgress progress;
+    private boolean writtenBehind;
+
+    public PipelineJob(String entityName, String url, Class<T> entityClass, ChunkedImportWriter.RowWriter<T> rowWriter) {
+        this.entityName = entityName;
+        this.url = url;
+        this.entityClass = entityClass;
+        this.rowWriter = rowWriter;
+        this.writeEntityName = entityName;
+    }
+
+    /**
+     * Names the rows {@code writeEntityName} in write events and chunk records, where it differs
+     * from the source list's name.
+     */
+    public PipelineJob<T> writingAs(String writeEntityName) {
+        this.writeEntityName = writeEntityName;
+        return this;
+    }
+
+    public PipelineJob<T> enrichedBy(Enricher<T> enricher) {
+        this.enricher = enricher;
+        return this;
+    }
+
+    public PipelineJob<T> reportingTo(ImportProgress progress) {
+        this.progress = progress;
+        return this;
+    }
+
+    /**
+     * Lets the write stage hand this job's rows to the {@link WriteBehindBuffer}, to be committed
+     * together with other jobs' rows. Meant for small per-document jobs without a progress.
+     */
+    public PipelineJob<T> writtenBehind() {
+        this.writtenBehind = true;
+        return this;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public ChunkedImportWriter.RowWriter<T> getRowWriter() {
+        return rowWriter;
+    }
+
+    public String getWriteEntityName() {
+        return writeEntityName;
+    }
+
+    public Enricher<T> getEnricher() {
+        return enricher;
+    }
+
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    public boolean isWrittenBehind() {
+        return writtenBehind;
+    }
+}
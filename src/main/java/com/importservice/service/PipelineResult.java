@@ -0,0 +1,74 @@
+package com.importservice.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one {@link PipelineJob}: an API-reported failure, an empty list, or the number of
+ * rows bound, written and failed along with the errors of every stage.
+ */
+public class PipelineResult {
+
+    private final String failureMessage;
+    private final boolean empty;
+    private final int records;
+    private final int succeeded;
+    private final int failed;
+    private final List<String> errors;
+
+    private PipelineResult(String failureMessage, boolean empty, int records, int succeeded, int failed,
+                           List<String> errors) {
+        this.failureMessage = failureMessage;
+        this.empty = empty;
+        this.records = records;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    static PipelineResult failure(String message) {
+        return new PipelineResult(message, false, 0, 0, 0, Collections.<String>emptyList());
+    }
+
+    static PipelineResult empty() {
+        return new PipelineResult(null, true, 0, 0, 0, Collections.<String>emptyList());
+    }
+
+    static PipelineResult of(int records, int succeeded, int failed, List<String> errors) {
+        return new PipelineResult(null, false, records, succeeded, failed, errors);
+    }
+
+    public boolean isFailure() {
+        return failureMessage != null;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Items bound from the response, including any the enrich stage rejected.
+     */
+    public int getRecords() {
+        return records;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Items that failed to bind, were rejected or failed to write.
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
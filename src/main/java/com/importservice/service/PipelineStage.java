@@ -0,0 +1,90 @@
+package com.importservice.service;
+
+import com.importservice.dto.PipelineStageStatsDto;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One stage of the {@link ImportPipeline}: a fixed set of threads taking tasks from a queue of
+ * at most {@code queueDepth}. Submitting to a full queue waits for space, so a stage that
+ * falls behind holds up the stage feeding it rather than letting work pile up in memory.
+ */
+class PipelineStage {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final int threads;
+    private final int queueDepth;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong blockedSubmissions = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+
+    PipelineStage(String name, int threads, int queueDepth) {
+        this.name = name;
+        this.threads = threads;
+        this.queueDepth = queueDepth;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), new CustomizableThreadFactory("pipeline-" + name + "-"),
+                this::waitForSpace);
+        // Every worker exists up front, so a task put straight on the queue is always picked up
+        this.executor.prestartAllCoreThreads();
+    }
+
+    void submit(Runnable task) {
+        executor.execute(() -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        });
+        peakQueued.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    private void waitForSpace(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Pipeline stage " + name + " is shut down");
+        }
+        blockedSubmissions.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for pipeline stage " + name, e);
+        } finally {
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    PipelineStageStatsDto stats() {
+        PipelineStageStatsDto stats = new PipelineStageStatsDto();
+        stats.setStage(name);
+        stats.setThreads(threads);
+        stats.setQueueDepth(queueDepth);
+        stats.setActive(active.get());
+        stats.setQueued(executor.getQueue().size());
+        stats.setPeakQueued(peakQueued.get());
+        stats.setCompleted(completed.get());
+        stats.setBlockedSubmissions(blockedSubmissions.get());
+        stats.setBlockedMs(blockedNanos.get() / NANOS_PER_MILLI);
+        return stats;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,351 @@
+package com.importservice.service;
+
+import com.importservice.dto.ImportResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking alternative to the per-document RestTemplate loop, selected with
+ * {@code import.fetch.engine=reactive}. Requests for many documents are in flight at once on
+ * the Reactor Netty event loops; responses are bound on the parallel scheduler and handed to
+ * a write stage of fixed concurrency. Because both stages are bounded flatMaps, fetching
+ * slows down when the writers fall behind instead of buffering responses in memory. With the
+ * {@link WriteBehindBuffer} enabled the write stage hands each response's rows to it, so they
+ * are committed together with other documents' rows. Its stages replace the
+ * {@link ImportPipeline}'s, so reactive imports have no pipeline stage statistics or durable
+ * fetch queue.
+ * <p>
+ * The caller's {@link DocumentListener} hears about each document once all of its endpoints
+ * have been written, so it can record a checkpoint or queue the document for a retry.
+ */
+@Component
+public class ReactiveSourceFetchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSourceFetchEngine.class);
+
+    private static final Duration RETRY_DELAY = Duration.ofMillis(2000);
+
+    @FunctionalInterface
+    public interface DocumentListener {
+        /**
+         * Called once per document, when every endpoint of it has been written or has failed.
+         * {@code result} counts the document's rows and is ERROR if every endpoint failed.
+         */
+        void completed(String docGuid, ImportResponseDto result);
+    }
+
+    @Value("${import.fetch.reactive.max-in-flight:512}")
+    private int maxInFlight;
+
+    @Value("${import.fetch.reactive.write-concurrency:8}")
+    private int writeConcurrency;
+
+    @Value("${source.api.timeout:300000}")
+    private long timeoutMillis;
+
+    @Value("${source.api.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Autowired
+    @Qualifier("sourceWebClient")
+    private WebClient sourceWebClient;
+
+    @Autowired
+    private SourceApiClient sourceApiClient;
+
+    @Autowired
+    private SourceResponseCache sourceResponseCache;
+
+    @Autowired
+    private SourceRateLimiter sourceRateLimiter;
+
+    @Autowired
+    private ChunkedImportWriter chunkedImportWriter;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private ErrorLogThrottle errorLogThrottle;
+
+    @Autowired
+    private LatencyTracker latencyTracker;
+
+    /**
+     * Imports every endpoint for every document, records one success or failure per document on
+     * {@code progress} and reports each finished document to {@code listener}. The returned
+     * totals count documents, like the blocking path.
+     */
+    public ImportResponseDto importRelated(String jobName, List<String> docGuids, List<RelatedEndpoint<?>> endpoints,
+                                           ImportProgress progress, DocumentListener listener) {
+        // Reactor hops threads, so the caller's options are carried explicitly
+        ImportOptions options = ImportOptions.current();
+        DocumentTally tally = new DocumentTally(endpoints.size(), progress, latencyTracker, listener, options);
+        if (docGuids.isEmpty() || endpoints.isEmpty()) {
+            return tally.toResponse(jobName);
+        }
+
+        // All endpoints of a document are requested together, so limit documents rather than requests
+        int documentConcurrency = Math.max(1, maxInFlight / endpoints.size());
+        logger.debug("Reactive import of {} documents, {} endpoints each, {} documents in flight",
+                     docGuids.size(), endpoints.size(), documentConcurrency);
+
+        Flux.fromIterable(docGuids)
+                .flatMap(docGuid -> Flux.defer(() -> {
+                    latencyTracker.openDocument(jobName, docGuid);
+                    return Flux.fromIterable(endpoints).flatMap(endpoint -> fetch(docGuid, endpoint, options));
+                }), documentConcurrency)
+                .flatMap(batch -> Mono.fromCallable(batch::write)
+                        .flatMap(Mono::fromFuture)
+                        .subscribeOn(Schedulers.boundedElastic()), Math.max(1, writeConcurrency))
+                .doOnNext(tally::record)
+                .blockLast();
+
+        return tally.toResponse(jobName);
+    }
+
+    private <T> Mono<FetchedBatch> fetch(String docGuid, RelatedEndpoint<T> endpoint, ImportOptions options) {
+        String entityName = endpoint.getEntityName();
+        String url = endpoint.urlFor(docGuid);
+        return fetchBody(entityName, url, options)
+                .map(body -> ImportOptions.callWith(options,
+                        () -> ImportStageEvent.forDocument(docGuid, () -> bind(docGuid, endpoint, body, options))))
+                .onErrorResume(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    errorLogThrottle.error(logger, entityName, "Failed to fetch " + entityName + " for doc " + docGuid, cause);
+                    return Mono.just(FetchedBatch.failed(docGuid, "Failed to import " + entityName + ": " + cause.getMessage()));
+                });
+    }
+
+    private Mono<String> fetchBody(String entityName, String url, ImportOptions options) {
+        if (sourceResponseCache.isReplaying()) {
+            return Mono.fromCallable(() -> {
+                        long start = System.nanoTime();
+                        String body = sourceResponseCache.require(url);
+                        options.recordFetch(entityName, body, System.nanoTime() - start);
+                        return body;
+                    })
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        // One event per document and endpoint, retries included; it ends on the thread that binds
+        return Mono.defer(() -> {
+            long fetchStart = System.nanoTime();
+            ImportStageEvent fetchEvent = ImportStageEvent.start(ImportStageEvent.FETCH, entityName,
+                    ImportStageEvent.docGuidOf(url));
+            // Each attempt, retries included, takes a token from the shared quota first
+            return sourceRateLimiter.acquireLater()
+                    .then(sourceWebClient.get()
+                            .uri(url)
+                            .headers(headers -> headers.addAll(sourceApiClient.createHeaders()))
+                            .retrieve()
+                            .bodyToMono(String.class))
+                    .defaultIfEmpty("")
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .retryWhen(Retry.fixedDelay(Math.max(0, maxAttempts - 1), RETRY_DELAY))
+                    // Bind (and record) off the event loop so a large payload does not stall other connections
+                    .publishOn(Schedulers.parallel())
+                    .doOnNext(body -> {
+                        fetchEvent.finish(0, body.length());
+                        options.recordFetch(entityName, body, System.nanoTime() - fetchStart);
+                        sourceResponseCache.put(url, body);
+                    });
+        });
+    }
+
+    private <T> FetchedBatch bind(String docGuid, RelatedEndpoint<T> endpoint, String body, ImportOptions options) {
+        String entityName = endpoint.getEntityName();
+        try {
+            SourceResult<T> source = sourceApiClient.parseList(entityName, body, endpoint.getEntityClass());
+            if (source.isFailure()) {
+                return FetchedBatch.failed(docGuid, "API returned failure: " + source.getFailureMessage());
+            }
+            List<T> rows = source.getItems();
+            endpoint.bindDocGuid(rows, docGuid);
+            if (writeBehindBuffer.isEnabled() && !options.isDryRun()) {
+                return new FetchedBatch(docGuid, rows.size(), source.getParseErrors(),
+                        () -> writeBehindBuffer.submit(entityName, rows, endpoint.getRowWriter()));
+            }
+            return new FetchedBatch(docGuid, rows.size(), source.getParseErrors(),
+                    () -> CompletableFuture.completedFuture(ImportOptions.callWith(options,
+                            () -> ImportStageEvent.forDocument(docGuid,
+                                    () -> chunkedImportWriter.write(entityName, rows, endpoint.getRowWriter())))));
+        } catch (Exception e) {
+            errorLogThrottle.error(logger, entityName, "Failed to parse " + entityName + " for doc " + docGuid, e);
+            return FetchedBatch.failed(docGuid, "Failed to import " + entityName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * One endpoint's response for one document, carrying the deferred write of its rows.
+     */
+    private static class FetchedBatch {
+        private final String docGuid;
+        private final int rows;
+        private final List<String> errors;
+        private final Supplier<CompletableFuture<ChunkWriteResult>> writer;
+        private final boolean error;
+        private final int unbound;
+        private int succeeded;
+        private int failed;
+
+        FetchedBatch(String docGuid, int rows, List<String> parseErrors,
+                     Supplier<CompletableFuture<ChunkWriteResult>> writer) {
+            this.docGuid = docGuid;
+            this.rows = rows;
+            this.errors = new ArrayList<>(parseErrors);
+            this.writer = writer;
+            this.error = false;
+            this.unbound = parseErrors.size();
+            this.failed = parseErrors.size();
+        }
+
+        private FetchedBatch(String docGuid, String errorMessage) {
+            this.docGuid = docGuid;
+            this.rows = 0;
+            this.errors = new ArrayList<>();
+            this.errors.add(errorMessage);
+            this.writer = null;
+            this.error = true;
+            this.unbound = 0;
+        }
+
+        static FetchedBatch failed(String docGuid, String errorMessage) {
+            return new FetchedBatch(docGuid, errorMessage);
+        }
+
+        /**
+         * Starts the write of the batch's rows; the future completes with the batch once they
+         * are committed.
+         */
+        CompletableFuture<FetchedBatch> write() {
+            if (writer == null || rows == 0) {
+                return CompletableFuture.completedFuture(this);
+            }
+            return writer.get().handle((result, e) -> {
+                if (e != null) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    failed += rows;
+                    errors.add("Failed to write " + rows + " rows: " + cause.getMessage());
+                } else {
+                    succeeded += result.getSucceeded();
+                    failed += result.getFailed();
+                    errors.addAll(result.getErrors());
+                }
+                return this;
+            });
+        }
+
+        boolean isFailed() {
+            return error || failed > 0;
+        }
+    }
+
+    /**
+     * Folds endpoint batches into per-document outcomes. Only touched from doOnNext, which
+     * Reactor serializes, so it needs no locking.
+     */
+    private static class DocumentTally {
+        private final int endpointsPerDocument;
+        private final ImportProgress progress;
+        private final LatencyTracker latencyTracker;
+        private final DocumentListener listener;
+        private final ImportOptions options;
+        private final Map<String, DocumentState> pending = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private int documents;
+        private int successfulDocuments;
+        private int failedDocuments;
+
+        DocumentTally(int endpointsPerDocument, ImportProgress progress, LatencyTracker latencyTracker,
+                      DocumentListener listener, ImportOptions options) {
+            this.endpointsPerDocument = endpointsPerDocument;
+            this.progress = progress;
+            this.latencyTracker = latencyTracker;
+            this.listener = listener;
+            this.options = options;
+        }
+
+        void record(FetchedBatch batch) {
+            DocumentState state = pending.computeIfAbsent(batch.docGuid, guid -> new DocumentState(endpointsPerDocument));
+            state.outstanding--;
+            state.rows += batch.rows + batch.unbound;
+            state.succeeded += batch.succeeded;
+            state.failed += batch.failed;
+            if (batch.isFailed()) {
+                state.failedEndpoints++;
+                state.errors.addAll(batch.errors);
+                errors.addAll(batch.errors);
+            }
+            if (state.outstanding == 0) {
+                pending.remove(batch.docGuid);
+                latencyTracker.completeDocument(batch.docGuid);
+                documents++;
+                if (state.failedEndpoints == 0) {
+                    successfulDocuments++;
+                    progress.recordSuccess();
+                } else {
+                    failedDocuments++;
+                    progress.recordFailure();
+                }
+                notifyListener(batch.docGuid, state);
+            }
+        }
+
+        private void notifyListener(String docGuid, DocumentState state) {
+            if (listener == null) {
+                return;
+            }
+            String status = state.failedEndpoints == endpointsPerDocument ? "ERROR"
+                    : state.failedEndpoints == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            ImportResponseDto result = new ImportResponseDto(status, "Related data of doc " + docGuid + ": " + status,
+                    state.rows, state.succeeded, state.failed, state.errors);
+            try {
+                ImportOptions.callWith(options, () -> {
+                    listener.completed(docGuid, result);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Could not hand on the outcome of document {}: {}", docGuid, e.getMessage());
+            }
+        }
+
+        ImportResponseDto toResponse(String jobName) {
+            String status = failedDocuments == 0 ? "SUCCESS" : "PARTIAL_SUCCESS";
+            String message = String.format("%s completed. Documents processed: %d (Success: %d, Failed: %d)",
+                                           jobName, documents, successfulDocuments, failedDocuments);
+            return new ImportResponseDto(status, message, documents, successfulDocuments, failedDocuments, errors);
+        }
+    }
+
+    // One document's endpoints until the last of them is written
+    private static final class DocumentState {
+        private final List<String> errors = new ArrayList<>();
+        private int outstanding;
+        private int failedEndpoints;
+        private int rows;
+        private int succeeded;
+        private int failed;
+
+        DocumentState(int endpoints) {
+            this.outstanding = endpoints;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.importservice.service;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Describes one per-document source endpoint: where to fetch it for a document, what its
+ * items bind to and how the bound rows are written. Lets a fetch engine drive the related
+ * imports without knowing the individual entity types.
+ */
+public class RelatedEndpoint<T> {
+
+    private final String entityName;
+    private final Function<String, String> urlResolver;
+    private final Class<T> entityClass;
+    private final ChunkedImportWriter.RowWriter<T> rowWriter;
+    private final BiConsumer<T, String> docGuidBinder;
+
+    public RelatedEndpoint(String entityName, Function<String, String> urlResolver, Class<T> entityClass,
+                           ChunkedImportWriter.RowWriter<T> rowWriter) {
+        this(entityName, urlResolver, entityClass, rowWriter, null);
+    }
+
+    public RelatedEndpoint(String entityName, Function<String, String> urlResolver, Class<T> entityClass,
+                           ChunkedImportWriter.RowWriter<T> rowWriter, BiConsumer<T, String> docGuidBinder) {
+        this.entityName = entityName;
+        this.urlResolver = urlResolver;
+        this.entityClass = entityClass;
+        this.rowWriter = rowWriter;
+        this.docGuidBinder = docGuidBinder;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public String urlFor(String docGuid) {
+        return urlResolver.apply(docGuid);
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public ChunkedImportWriter.RowWriter<T> getRowWriter() {
+        return rowWriter;
+    }
+
+    /**
+     * Sets the owning document on rows whose payload does not carry it.
+     */
+    public void bindDocGuid(List<T> rows, String docGuid) {
+        if (docGuidBinder == null) {
+            return;
+        }
+        for (T row : rows) {
+            docGuidBinder.accept(row, docGuid);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.importservice.service;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram over a sliding time window, made of a ring of per-interval histograms.
+ * Writers only call {@link Recorder#recordValue}, which is wait-free. The reader side
+ * ({@link #roll} and {@link #snapshot}) drains the recorder into the current bucket and
+ * moves to a fresh bucket once per interval, so values are placed to within one interval.
+ */
+class SlidingHistogram {
+
+    // Two significant digits (1% error) keeps each auto-resizing histogram to a few KB
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram[] buckets;
+    private final long bucketNanos;
+    private long currentBucketStart;
+    private int current;
+    private Histogram recycled;
+
+    SlidingHistogram(int bucketCount, long bucketNanos) {
+        this.buckets = new Histogram[Math.max(1, bucketCount)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Histogram(SIGNIFICANT_DIGITS);
+        }
+        this.bucketNanos = bucketNanos;
+        this.currentBucketStart = System.nanoTime();
+    }
+
+    void record(long value) {
+        recorder.recordValue(Math.max(0, value));
+    }
+
+    synchronized void roll(long now) {
+        recycled = recorder.getIntervalHistogram(recycled);
+        buckets[current].add(recycled);
+        long elapsedBuckets = (now - currentBucketStart) / bucketNanos;
+        if (elapsedBuckets <= 0) {
+            return;
+        }
+        for (long i = 0; i < Math.min(elapsedBuckets, buckets.length); i++) {
+            current = (current + 1) % buckets.length;
+            buckets[current].reset();
+        }
+        currentBucketStart += elapsedBuckets * bucketNanos;
+    }
+
+    /**
+     * Values recorded over the whole window, including the interval in progress.
+     */
+    synchronized Histogram snapshot(long now) {
+        roll(now);
+        Histogram window = new Histogram(SIGNIFICANT_DIGITS);
+        for (Histogram bucket : buckets) {
+            window.add(bucket);
+        }
+        return window;
+    }
+
+    synchronized void reset() {
+        recorder.reset();
+        for (Histogram bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
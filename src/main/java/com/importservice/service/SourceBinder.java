@@ -0,0 +1,134 @@
+package com.importservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.importservice.codegen.EntityJsonReader;
+import com.importservice.dto.ApiResponseDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds source API list responses with readers built once per type. The envelope is read
+ * with the streaming parser and each Data item is captured as a {@link TokenBuffer}, so no
+ * intermediate maps are built; items are then bound from their buffers, which still lets one
+ * bad item fail on its own. An entity with a build-time generated {@link EntityJsonReader}
+ * ({@code <Entity>JsonReader}) is bound by it when generated readers are enabled; any other
+ * entity by its cached {@link ObjectReader}.
+ */
+class SourceBinder {
+
+    private final ObjectMapper objectMapper;
+    private final boolean useGeneratedReaders;
+    private final boolean failOnUnknownProperties;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<EntityJsonReader<?>>> generatedReaders = new ConcurrentHashMap<>();
+
+    SourceBinder(ObjectMapper objectMapper, boolean useGeneratedReaders) {
+        this.objectMapper = objectMapper;
+        this.useGeneratedReaders = useGeneratedReaders;
+        this.failOnUnknownProperties = objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Reads the Data/Success/Message envelope. A JSON null item is kept as {@code null}; the
+     * data list is {@code null} if the response has none. Unknown envelope fields are skipped.
+     */
+    ApiResponseDto<TokenBuffer> readEnvelope(String responseBody) throws IOException {
+        ApiResponseDto<TokenBuffer> envelope = new ApiResponseDto<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(responseBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object but found " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("Data".equals(field)) {
+                    envelope.setData(value == JsonToken.START_ARRAY ? readItems(parser) : null);
+                    if (value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    }
+                } else if ("Success".equals(field)) {
+                    envelope.setSuccess(value == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean());
+                } else if ("Message".equals(field)) {
+                    envelope.setMessage(value == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return envelope;
+    }
+
+    <T> T bind(TokenBuffer item, Class<T> entityClass) throws IOException {
+        EntityJsonReader<T> generated = generatedReaderFor(entityClass);
+        try (JsonParser itemParser = item.asParser()) {
+            return generated != null
+                    ? generated.read(itemParser, failOnUnknownProperties)
+                    : readerFor(entityClass).readValue(itemParser);
+        }
+    }
+
+    /**
+     * Builds the reader {@code entityClass} will be bound with. Returns whether it is a generated one.
+     */
+    boolean prepare(Class<?> entityClass) {
+        if (generatedReaderFor(entityClass) != null) {
+            return true;
+        }
+        readerFor(entityClass);
+        return false;
+    }
+
+    /**
+     * The reader for {@code entityClass}; its deserializer is resolved when the reader is built.
+     */
+    ObjectReader readerFor(Class<?> entityClass) {
+        return readers.computeIfAbsent(entityClass, objectMapper::readerFor);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> EntityJsonReader<T> generatedReaderFor(Class<T> entityClass) {
+        if (!useGeneratedReaders) {
+            return null;
+        }
+        return (EntityJsonReader<T>) generatedReaders.computeIfAbsent(entityClass, SourceBinder::loadGeneratedReader)
+                .orElse(null);
+    }
+
+    private static Optional<EntityJsonReader<?>> loadGeneratedReader(Class<?> entityClass) {
+        try {
+            Class<?> readerClass = Class.forName(entityClass.getName() + "JsonReader", true, entityClass.getClassLoader());
+            if (!EntityJsonReader.class.isAssignableFrom(readerClass)) {
+                return Optional.empty();
+            }
+            return Optional.of((EntityJsonReader<?>) readerClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the generated JSON reader for " + entityClass.getName(), e);
+        }
+    }
+
+    private static List<TokenBuffer> readItems(JsonParser parser) throws IOException {
+        List<TokenBuffer> items = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                items.add(null);
+                continue;
+            }
+            TokenBuffer item = new TokenBuffer(parser);
+            item.copyCurrentStructure(parser);
+            items.add(item);
+        }
+        return items;
+    }
+}
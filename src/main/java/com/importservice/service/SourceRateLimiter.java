@@ -0,0 +1,245 @@
+package com.importservice.service;
+
+import com.importservice.dto.SourceRateLimitStatusDto;
+import com.importservice.entity.SourceRateLimit;
+import com.importservice.repository.SourceRateLimitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the source API request rate of all instances together under one quota. The quota is a
+ * token bucket held in a row of {@code source_rate_limits}: the row refills at
+ * {@code tokens_per_second} up to {@code burst}, by the database clock. Each instance leases
+ * tokens from it a block at a time and hands them out locally, one per request, so only one
+ * request in {@code import.source-rate.block-size} costs a database round trip.
+ * <p>
+ * Whatever the number of instances, no more tokens are leased than the row has refilled, so
+ * the cluster's request rate stays within the quota. The row is created with this instance's
+ * settings if it does not exist yet; after that the row is what counts, so the quota can be
+ * changed for every instance at once with an UPDATE.
+ */
+@Component
+public class SourceRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceRateLimiter.class);
+
+    // Wait before asking again after the quota row could not be read
+    private static final long ERROR_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String CREATE_SQL =
+            "INSERT IGNORE INTO source_rate_limits (name, tokens_per_second, burst, available, refilled_at) "
+            + "VALUES (?, ?, ?, ?, NOW(6))";
+
+    private static final String LOCK_SQL =
+            "SELECT tokens_per_second, burst, available, TIMESTAMPDIFF(MICROSECOND, refilled_at, NOW(6)) AS elapsed_us "
+            + "FROM source_rate_limits WHERE name = ? FOR UPDATE";
+
+    private static final String UPDATE_SQL =
+            "UPDATE source_rate_limits SET available = ?, refilled_at = NOW(6) WHERE name = ?";
+
+    @Value("${import.source-rate.enabled:false}")
+    private boolean enabled;
+
+    @Value("${import.source-rate.name:tarasol-extractor}")
+    private String name;
+
+    @Value("${import.source-rate.tokens-per-second:50}")
+    private double tokensPerSecond;
+
+    @Value("${import.source-rate.burst:50}")
+    private double burst;
+
+    @Value("${import.source-rate.block-size:10}")
+    private int blockSize;
+
+    @Autowired
+    private SourceRateLimitRepository sourceRateLimitRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int localTokens;
+    private long nextLeaseAtNanos;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong emptyLeases = new AtomicLong();
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("import.source-rate.tokens-per-second must be positive, was: " + tokensPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("import.source-rate.burst must be at least 1, was: " + burst);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("import.source-rate.block-size must be at least 1, was: " + blockSize);
+        }
+        if (!enabled) {
+            return;
+        }
+        ioPermits.withDatabase(() -> jdbcTemplate.update(CREATE_SQL, name, tokensPerSecond, burst, burst));
+        Optional<SourceRateLimit> row = ioPermits.withDatabase(() -> sourceRateLimitRepository.findById(name));
+        if (row.isPresent() && (row.get().getTokensPerSecond() != tokensPerSecond || row.get().getBurst() != burst)) {
+            logger.warn("Source API quota {} is {} requests/s with a burst of {} in the database, not the configured {} and {}",
+                        name, row.get().getTokensPerSecond(), row.get().getBurst(), tokensPerSecond, burst);
+        }
+        logger.info("Source API requests share quota {}, leased {} tokens at a time", name, blockSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Waits for a token for one source API request.
+     */
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                long waitNanos = tryAcquire();
+                if (waitNanos <= 0) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a source API token", e);
+        } finally {
+            waitedNanos.addAndGet(System.nanoTime() - start);
+        }
+        requests.incrementAndGet();
+    }
+
+    /**
+     * {@link #acquire()} for reactive callers; completes once a token is taken, waiting off the event loop.
+     */
+    public Mono<Void> acquireLater() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(this::acquire).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public SourceRateLimitStatusDto status() {
+        SourceRateLimitStatusDto status = new SourceRateLimitStatusDto();
+        status.setEnabled(enabled);
+        status.setName(name);
+        status.setBlockSize(blockSize);
+        if (enabled) {
+            Optional<SourceRateLimit> row = ioPermits.withDatabase(() -> sourceRateLimitRepository.findById(name));
+            if (row.isPresent()) {
+                status.setTokensPerSecond(row.get().getTokensPerSecond());
+                status.setBurst(row.get().getBurst());
+                status.setClusterAvailable(row.get().getAvailable());
+            }
+        }
+        lock.lock();
+        try {
+            status.setLocalTokens(localTokens);
+        } finally {
+            lock.unlock();
+        }
+        status.setRequests(requests.get());
+        status.setLeases(leases.get());
+        status.setEmptyLeases(emptyLeases.get());
+        status.setWaitedMs(waitedNanos.get() / 1_000_000.0);
+        return status;
+    }
+
+    /**
+     * Takes a local token, leasing a block first if there are none. Returns 0 if a token was
+     * taken, or how long to wait before trying again.
+     */
+    private long tryAcquire() {
+        lock.lock();
+        try {
+            if (localTokens > 0) {
+                localTokens--;
+                return 0;
+            }
+            long now = System.nanoTime();
+            if (now < nextLeaseAtNanos) {
+                return nextLeaseAtNanos - now;
+            }
+            // Threads that find no tokens meanwhile wait here instead of leasing blocks of their own
+            long waitNanos = lease();
+            if (localTokens > 0) {
+                localTokens--;
+                return 0;
+            }
+            nextLeaseAtNanos = now + waitNanos;
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves up to a block of tokens from the quota row to {@link #localTokens}. Returns how long
+     * until a block will have refilled if none were left.
+     */
+    private long lease() {
+        long[] grant;
+        try {
+            grant = ioPermits.withDatabase(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(LOCK_SQL, name);
+                if (rows.isEmpty()) {
+                    throw new IllegalStateException("Source API quota row " + name + " is missing");
+                }
+                Map<String, Object> row = rows.get(0);
+                double rate = ((Number) row.get("tokens_per_second")).doubleValue();
+                double capacity = ((Number) row.get("burst")).doubleValue();
+                double elapsedSeconds = Math.max(0, ((Number) row.get("elapsed_us")).longValue()) / 1_000_000.0;
+                double available = Math.min(capacity, ((Number) row.get("available")).doubleValue() + elapsedSeconds * rate);
+                int granted = (int) Math.min(blockSize, Math.floor(available));
+                jdbcTemplate.update(UPDATE_SQL, available - granted, name);
+                // Other instances lease too, so wait for a whole block rather than for one token
+                double wanted = Math.min(blockSize, capacity);
+                long waitNanos = (long) Math.ceil((wanted - available) / rate * TimeUnit.SECONDS.toNanos(1));
+                return new long[] {granted, waitNanos};
+            }));
+        } catch (RuntimeException e) {
+            logger.warn("Could not lease source API tokens from quota {}: {}", name, e.getMessage());
+            return ERROR_RETRY_NANOS;
+        }
+        // Only tokens whose lease has committed are handed out
+        if (grant[0] > 0) {
+            leases.incrementAndGet();
+            localTokens += (int) grant[0];
+            return 0;
+        }
+        emptyLeases.incrementAndGet();
+        return grant[1];
+    }
+}
@@ -0,0 +1,321 @@
+package com.importservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Disk-backed store of raw source responses, keyed by request URL (endpoint plus docGuid).
+ * <p>
+ * Responses are gzip-compressed and appended to segment files; an in-memory index of
+ * key to (segment, offset, length) is rebuilt from the segments on startup. When the store
+ * grows past {@code import.cache.max-size-mb} the oldest segment is deleted as a whole.
+ * <p>
+ * Modes ({@code import.cache.mode}): {@code off} does nothing, {@code record} stores every
+ * response fetched from the network, {@code replay} serves responses from the store only.
+ */
+@Component
+public class SourceResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceResponseCache.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // Record layout: int key length, int data length, key bytes (UTF-8), gzip data
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    @Value("${import.cache.mode:off}")
+    private String mode;
+
+    @Value("${import.cache.dir:./cache/source-responses}")
+    private String cacheDir;
+
+    @Value("${import.cache.max-size-mb:2048}")
+    private long maxSizeMb;
+
+    @Value("${import.cache.segment-size-mb:64}")
+    private long segmentSizeMb;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+
+    private Path directory;
+    private Segment current;
+    private volatile long totalBytes;
+
+    private static class Location {
+        private final long segmentId;
+        private final long offset;
+        private final int length;
+
+        Location(long segmentId, long offset, int length) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+
+        Segment(long id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!"off".equals(mode) && !"record".equals(mode) && !"replay".equals(mode)) {
+            throw new IllegalArgumentException("import.cache.mode must be off, record or replay, was: " + mode);
+        }
+        if (!isEnabled()) {
+            return;
+        }
+
+        directory = Paths.get(cacheDir);
+        Files.createDirectories(directory);
+        TreeSet<Long> segmentIds = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                long id = segmentId(file);
+                if (id >= 0) {
+                    segmentIds.add(id);
+                }
+            }
+        }
+        // Load oldest first so newer records of the same key win
+        for (Long id : segmentIds) {
+            Segment segment = loadSegment(id, segmentPath(id));
+            segments.put(id, segment);
+            totalBytes += segment.size;
+        }
+        if (isRecording()) {
+            rollSegment();
+        }
+
+        logger.info("Source response cache in {} mode: {} responses in {} segments ({} MB) under {}",
+                    mode, index.size(), segments.size(), totalBytes / (1024 * 1024), directory.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Segment segment : segments.values()) {
+            closeQuietly(segment);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !"off".equals(mode);
+    }
+
+    public boolean isRecording() {
+        return "record".equals(mode);
+    }
+
+    public boolean isReplaying() {
+        return "replay".equals(mode);
+    }
+
+    /**
+     * Returns the cached response for {@code key}, or {@code null} if there is none.
+     */
+    public String get(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        Segment segment = segments.get(location.segmentId);
+        if (segment == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length);
+            long position = location.offset;
+            while (buffer.hasRemaining()) {
+                int read = segment.channel.read(buffer, position);
+                if (read < 0) {
+                    return null;
+                }
+                position += read;
+            }
+            return gunzip(buffer.array());
+        } catch (IOException e) {
+            // The segment may have been evicted while reading
+            logger.warn("Could not read cached response for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replay-mode lookup: a missing response is an error, never a network call.
+     */
+    public String require(String key) {
+        String body = get(key);
+        if (body == null) {
+            throw new IllegalStateException("No cached source response for " + key);
+        }
+        return body;
+    }
+
+    public void put(String key, String body) {
+        if (!isRecording()) {
+            return;
+        }
+        try {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            byte[] data = gzip(body != null ? body : "");
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + keyBytes.length + data.length);
+            record.putInt(keyBytes.length).putInt(data.length).put(keyBytes).put(data);
+            record.flip();
+
+            synchronized (writeLock) {
+                if (current.size >= segmentSizeMb * 1024 * 1024) {
+                    rollSegment();
+                }
+                long recordOffset = current.size;
+                while (record.hasRemaining()) {
+                    current.channel.write(record, current.size + record.position());
+                }
+                current.size += record.limit();
+                totalBytes += record.limit();
+                index.put(key, new Location(current.id, recordOffset + RECORD_HEADER_BYTES + keyBytes.length, data.length));
+                evictIfNeeded();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not cache source response for {}: {}", key, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private Segment loadSegment(long id, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (position + RECORD_HEADER_BYTES <= fileSize) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int keyLength = header.getInt();
+            int dataLength = header.getInt();
+            long recordEnd = position + RECORD_HEADER_BYTES + keyLength + dataLength;
+            if (keyLength <= 0 || dataLength < 0 || recordEnd > fileSize) {
+                break;
+            }
+            ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+            channel.read(keyBuffer, position + RECORD_HEADER_BYTES);
+            String key = new String(keyBuffer.array(), StandardCharsets.UTF_8);
+            index.put(key, new Location(id, position + RECORD_HEADER_BYTES + keyLength, dataLength));
+            position = recordEnd;
+        }
+        if (position < fileSize) {
+            // A record cut short by a crash; drop it so the segment stays well formed
+            logger.warn("Truncating incomplete record at offset {} of {}", position, path);
+            channel.truncate(position);
+        }
+        return new Segment(id, path, channel, position);
+    }
+
+    private void rollSegment() throws IOException {
+        long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path path = segmentPath(id);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = new Segment(id, path, channel, 0);
+        segments.put(id, current);
+    }
+
+    private void evictIfNeeded() {
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        while (totalBytes > maxBytes && segments.size() > 1) {
+            Map.Entry<Long, Segment> oldest = segments.firstEntry();
+            if (oldest.getValue() == current) {
+                return;
+            }
+            Segment segment = oldest.getValue();
+            segments.remove(oldest.getKey());
+            index.values().removeIf(location -> location.segmentId == segment.id);
+            totalBytes -= segment.size;
+            closeQuietly(segment);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                logger.warn("Could not delete evicted cache segment {}: {}", segment.path, e.getMessage());
+            }
+            logger.info("Evicted cache segment {} ({} MB)", segment.path.getFileName(), segment.size / (1024 * 1024));
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            logger.debug("Could not close cache segment {}", segment.path, e);
+        }
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, body.length() / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.importservice.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed list response from the source API: either empty, an API-reported failure, or the
+ * successfully bound items together with the errors of items that could not be bound. The
+ * item count also includes items that were skipped, such as null entries, so a caller paging
+ * through the source can tell a short page from a full one.
+ */
+public class SourceResult<T> {
+
+    private final boolean empty;
+    private final String failureMessage;
+    private final List<T> items;
+    private final List<String> parseErrors;
+    private final int itemCount;
+
+    private SourceResult(boolean empty, String failureMessage, List<T> items, List<String> parseErrors, int itemCount) {
+        this.empty = empty;
+        this.failureMessage = failureMessage;
+        this.items = items;
+        this.parseErrors = parseErrors;
+        this.itemCount = itemCount;
+    }
+
+    public static <T> SourceResult<T> empty() {
+        return new SourceResult<>(true, null, Collections.<T>emptyList(), Collections.<String>emptyList(), 0);
+    }
+
+    public static <T> SourceResult<T> failure(String message) {
+        return new SourceResult<>(false, message, Collections.<T>emptyList(), Collections.<String>emptyList(), 0);
+    }
+
+    /**
+     * A response with {@code itemCount} items, of which {@code items} were bound and
+     * {@code parseErrors} failed to bind. It is empty when nothing was bound and nothing failed.
+     */
+    public static <T> SourceResult<T> of(List<T> items, List<String> parseErrors, int itemCount) {
+        return new SourceResult<>(items.isEmpty() && parseErrors.isEmpty(), null, items, parseErrors, itemCount);
+    }
+
+    /**
+     * A response whose {@code bound} items were handed on in batches rather than collected.
+     */
+    public static <T> SourceResult<T> batched(int bound, List<String> parseErrors, int itemCount) {
+        return new SourceResult<>(bound == 0 && parseErrors.isEmpty(), null, Collections.<T>emptyList(), parseErrors,
+                itemCount);
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean isFailure() {
+        return failureMessage != null;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public List<String> getParseErrors() {
+        return parseErrors;
+    }
+
+    /**
+     * Items in the response's data array, whether bound, failed or skipped.
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+}
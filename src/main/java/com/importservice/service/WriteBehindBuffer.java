@@ -0,0 +1,444 @@
+package com.importservice.service;
+
+import com.importservice.dto.WriteBehindLaneStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects the small per-document writes of many concurrent imports and commits them together.
+ * Each table has a ring of preallocated slots, one per submitted batch. A table's ring is flushed
+ * in one transaction once it holds {@code import.write-behind.flush-rows} rows or its oldest batch
+ * has waited {@code import.write-behind.max-delay-ms}. Each submitter's future completes with the
+ * outcome of its own rows when the transaction holding them commits. If a combined transaction
+ * fails, every batch in it is written again on its own through {@link ChunkedImportWriter}, so a
+ * bad row still fails only its own document.
+ * <p>
+ * A full ring makes the submitter wait for the next flush. Buffering is only worth it while
+ * documents are imported concurrently: a sequential import has a single writer, which would
+ * only wait out the delay. Callers therefore submit rows from concurrent imports only (the
+ * virtual-thread document executor, the outgoing document pool, the reactive engine), while
+ * fire-and-forget writes such as checkpoints may always use it.
+ */
+@Component
+public class WriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    @Value("${import.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${import.write-behind.ring-slots:4096}")
+    private int ringSlots;
+
+    @Value("${import.write-behind.flush-rows:2000}")
+    private int flushRows;
+
+    @Value("${import.write-behind.max-delay-ms:200}")
+    private long maxDelayMs;
+
+    // Each flush holds a pooled connection for its transaction
+    @Value("${import.write-behind.flush-threads:4}")
+    private int flushThreads;
+
+    @Value("${import.chunk.timeout-seconds:120}")
+    private int transactionTimeoutSeconds;
+
+    @Autowired
+    private ChunkedImportWriter chunkedImportWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IoPermits ioPermits;
+
+    @Autowired
+    private ImportProgressRegistry importProgressRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentSkipListMap<>();
+    private ExecutorService flushExecutor;
+    private ScheduledExecutorService flushTimer;
+
+    @PostConstruct
+    public void init() {
+        if (ringSlots < 1) {
+            throw new IllegalArgumentException("import.write-behind.ring-slots must be at least 1, was: " + ringSlots);
+        }
+        if (flushRows < 1) {
+            throw new IllegalArgumentException("import.write-behind.flush-rows must be at least 1, was: " + flushRows);
+        }
+        if (maxDelayMs < 1) {
+            throw new IllegalArgumentException("import.write-behind.max-delay-ms must be at least 1, was: " + maxDelayMs);
+        }
+        if (flushThreads < 1) {
+            throw new IllegalArgumentException("import.write-behind.flush-threads must be at least 1, was: " + flushThreads);
+        }
+        if (!isEnabled()) {
+            return;
+        }
+        flushExecutor = Executors.newFixedThreadPool(flushThreads, new CustomizableThreadFactory("write-behind-"));
+        CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("write-behind-timer-");
+        timerThreads.setDaemon(true);
+        flushTimer = Executors.newSingleThreadScheduledExecutor(timerThreads);
+        long tick = Math.max(10, maxDelayMs / 4);
+        flushTimer.scheduleWithFixedDelay(this::flushDue, tick, tick, TimeUnit.MILLISECONDS);
+        logger.info("Write-behind buffer: {} slots per table, flushing at {} rows or after {} ms on {} threads",
+                    ringSlots, flushRows, maxDelayMs, flushThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flushExecutor == null) {
+            return;
+        }
+        flushTimer.shutdownNow();
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(transactionTimeoutSeconds, TimeUnit.SECONDS);
+        // Whatever is still buffered is written here rather than dropped
+        for (Lane lane : lanes.values()) {
+            lane.flushRemaining();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers {@code rows} for {@code entityName}'s next flush. The future completes with these
+     * rows' outcome once they are committed, or exceptionally if they could not be written at all.
+     */
+    public <T> CompletableFuture<ChunkWriteResult> submit(String entityName, List<T> rows,
+                                                          ChunkedImportWriter.RowWriter<T> rowWriter) {
+        Pending<T> pending = new Pending<>(rows, rowWriter);
+        if (rows.isEmpty()) {
+            pending.future.complete(new ChunkWriteResult());
+            return pending.future;
+        }
+        try {
+            lanes.computeIfAbsent(entityName, Lane::new).add(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for write-behind space for " + entityName, e);
+        }
+        return pending.future;
+    }
+
+    public List<WriteBehindLaneStatsDto> stats() {
+        List<WriteBehindLaneStatsDto> stats = new ArrayList<>(lanes.size());
+        for (Lane lane : lanes.values()) {
+            stats.add(lane.stats());
+        }
+        return stats;
+    }
+
+    private void flushDue() {
+        long now = System.nanoTime();
+        for (Lane lane : lanes.values()) {
+            lane.flushIfDue(now);
+        }
+    }
+
+    /**
+     * Writes every batch of {@code flush} in one transaction, or each on its own if that fails.
+     */
+    private void write(Lane lane, List<Pending<?>> flush) {
+        String entityName = lane.entityName;
+        int rows = 0;
+        for (Pending<?> pending : flush) {
+            rows += pending.rows.size();
+        }
+        try {
+            // Commit time is what execute() takes after the callback has returned
+            ImportStageEvent[] commitEvent = new ImportStageEvent[1];
+            int written = ioPermits.withDatabase(() -> newTransaction().execute(status -> {
+                ImportStageEvent writeEvent = ImportStageEvent.start(ImportStageEvent.WRITE, entityName);
+                int rowsWritten = 0;
+                for (Pending<?> pending : flush) {
+                    rowsWritten += pending.write();
+                }
+                writeEvent.finish(rowsWritten);
+                ImportStageEvent flushEvent = ImportStageEvent.start(ImportStageEvent.FLUSH, entityName);
+                entityManager.flush();
+                entityManager.clear();
+                flushEvent.finish(rowsWritten);
+                commitEvent[0] = ImportStageEvent.start(ImportStageEvent.COMMIT, entityName);
+                return rowsWritten;
+            }));
+            commitEvent[0].finish(written);
+            importProgressRegistry.recordRows(entityName, written, rows - written);
+            for (Pending<?> pending : flush) {
+                pending.future.complete(pending.committed(entityName));
+            }
+            logger.debug("Write-behind flush of {}: {} rows from {} batches", entityName, written, flush.size());
+        } catch (Exception e) {
+            logger.warn("Write-behind flush of {} ({} rows from {} batches) failed, writing each batch on its own: {}",
+                        entityName, rows, flush.size(), e.getMessage());
+            lane.fallbackFlushes.incrementAndGet();
+            for (Pending<?> pending : flush) {
+                pending.writeAlone(entityName, chunkedImportWriter);
+            }
+        }
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setTimeout(transactionTimeoutSeconds);
+        return template;
+    }
+
+    /**
+     * One submitted batch, waiting in a ring slot for its flush.
+     */
+    private static final class Pending<T> {
+
+        private final List<T> rows;
+        private final ChunkedImportWriter.RowWriter<T> rowWriter;
+        private final CompletableFuture<ChunkWriteResult> future = new CompletableFuture<>();
+        private final long queuedAtNanos = System.nanoTime();
+
+        Pending(List<T> rows, ChunkedImportWriter.RowWriter<T> rowWriter) {
+            this.rows = rows;
+            this.rowWriter = rowWriter;
+        }
+
+        int write() {
+            int written = 0;
+            for (T row : rows) {
+                if (row != null) {
+                    rowWriter.write(row);
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        ChunkWriteResult committed(String entityName) {
+            ChunkWriteResult result = new ChunkWriteResult();
+            int written = 0;
+            for (T row : rows) {
+                if (row == null) {
+                    result.addFailed("Null " + entityName + " object received");
+                } else {
+                    written++;
+                }
+            }
+            result.addSucceeded(written);
+            result.incrementChunks();
+            return result;
+        }
+
+        void writeAlone(String entityName, ChunkedImportWriter writer) {
+            try {
+                future.complete(writer.write(entityName, rows, rowWriter));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * One table's ring. At most one flush of it runs at a time, so its batches commit in order.
+     */
+    private final class Lane {
+
+        private final String entityName;
+        private final Pending<?>[] ring;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+        private final long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        private int head;
+        private int size;
+        private int rows;
+        private long oldestNanos;
+        private boolean flushing;
+
+        private final AtomicLong flushes = new AtomicLong();
+        private final AtomicLong rowsFlushed = new AtomicLong();
+        private final AtomicLong fallbackFlushes = new AtomicLong();
+        private final AtomicLong waitsForSpace = new AtomicLong();
+
+        Lane(String entityName) {
+            this.entityName = entityName;
+            this.ring = new Pending<?>[ringSlots];
+        }
+
+        void add(Pending<?> pending) throws InterruptedException {
+            boolean flushNow;
+            lock.lock();
+            try {
+                if (size == ring.length) {
+                    waitsForSpace.incrementAndGet();
+                    while (size == ring.length) {
+                        notFull.await();
+                    }
+                }
+                ring[(head + size) % ring.length] = pending;
+                if (size == 0) {
+                    oldestNanos = pending.queuedAtNanos;
+                }
+                size++;
+                rows += pending.rows.size();
+                flushNow = rows >= flushRows && !flushing;
+                if (flushNow) {
+                    flushing = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (flushNow) {
+                startFlush();
+            }
+        }
+
+        void flushIfDue(long now) {
+            boolean flushNow;
+            lock.lock();
+            try {
+                flushNow = !flushing && size > 0 && now - oldestNanos >= maxDelayNanos;
+                if (flushNow) {
+                    flushing = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (flushNow) {
+                startFlush();
+            }
+        }
+
+        private void startFlush() {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the batches stay in the ring for flushRemaining()
+                lock.lock();
+                try {
+                    flushing = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        void flushRemaining() {
+            List<Pending<?>> flush;
+            while (!(flush = drain()).isEmpty()) {
+                writeFlush(flush);
+            }
+        }
+
+        private void flush() {
+            boolean more = true;
+            try {
+                while (more) {
+                    List<Pending<?>> flush = drain();
+                    if (flush.isEmpty()) {
+                        break;
+                    }
+                    writeFlush(flush);
+                    // Keep going while another full flush is waiting; the timer picks up a partial one
+                    lock.lock();
+                    try {
+                        more = rows >= flushRows;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } finally {
+                lock.lock();
+                try {
+                    flushing = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void writeFlush(List<Pending<?>> flush) {
+            write(this, flush);
+            flushes.incrementAndGet();
+            for (Pending<?> pending : flush) {
+                rowsFlushed.addAndGet(pending.rows.size());
+            }
+        }
+
+        /**
+         * Takes batches from the head of the ring up to one flush worth of rows, at least one.
+         */
+        private List<Pending<?>> drain() {
+            lock.lock();
+            try {
+                List<Pending<?>> flush = new ArrayList<>();
+                int flushedRows = 0;
+                while (size > 0 && (flush.isEmpty() || flushedRows + ring[head].rows.size() <= flushRows)) {
+                    Pending<?> pending = ring[head];
+                    ring[head] = null;
+                    head = (head + 1) % ring.length;
+                    size--;
+                    rows -= pending.rows.size();
+                    flushedRows += pending.rows.size();
+                    flush.add(pending);
+                }
+                if (size > 0) {
+                    oldestNanos = ring[head].queuedAtNanos;
+                }
+                if (!flush.isEmpty()) {
+                    notFull.signalAll();
+                }
+                return flush;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        WriteBehindLaneStatsDto stats() {
+            WriteBehindLaneStatsDto stats = new WriteBehindLaneStatsDto();
+            stats.setEntityName(entityName);
+            stats.setRingSlots(ring.length);
+            lock.lock();
+            try {
+                stats.setBufferedBatches(size);
+                stats.setBufferedRows(rows);
+            } finally {
+                lock.unlock();
+            }
+            long flushCount = flushes.get();
+            stats.setFlushes(flushCount);
+            stats.setRowsFlushed(rowsFlushed.get());
+            stats.setAverageRowsPerFlush(flushCount == 0 ? 0.0 : (double) rowsFlushed.get() / flushCount);
+            stats.setFallbackFlushes(fallbackFlushes.get());
+            stats.setWaitsForSpace(waitsForSpace.get());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.importservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The hand-written parser for the source API's date form must agree with the formatter it
+ * replaces on the hot path, and leave everything it does not handle exactly to the formatters.
+ */
+class CustomDateTimeDeserializerTest {
+
+    private static final DateTimeFormatter SOURCE_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy h:mm:ss a", Locale.US);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "6/14/2023 1:20:22 PM",
+        "12/31/2023 11:59:59 PM",
+        "1/1/2024 12:00:00 AM",    // midnight
+        "1/1/2024 12:00:00 PM",    // noon
+        "3/9/2024 12:30:05 AM",
+        "3/9/2024 12:30:05 PM",
+        "7/4/2024 9:05:07 AM",     // one-digit month, day and hour
+        "07/04/2024 09:05:07 PM",  // zero-padded month, day and hour
+        "2/29/2024 6:00:00 AM"     // leap day
+    })
+    void matchesTheSourceFormatter(String text) {
+        assertEquals(LocalDateTime.parse(text, SOURCE_FORMAT), CustomDateTimeDeserializer.parseSourceFormat(text));
+    }
+
+    @Test
+    void twelveAmIsMidnightAndTwelvePmIsNoon() {
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0, 0),
+                     CustomDateTimeDeserializer.parseSourceFormat("1/1/2024 12:00:00 AM"));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0, 0),
+                     CustomDateTimeDeserializer.parseSourceFormat("1/1/2024 12:00:00 PM"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2/30/2023 1:00:00 PM", "2/29/2023 1:00:00 PM", "4/31/2024 10:00:00 AM"})
+    void invalidDatesFallBackToTheFormatter(String text) throws Exception {
+        assertNull(CustomDateTimeDeserializer.parseSourceFormat(text));
+        // The formatter's smart resolver moves the day back to the end of the month
+        assertEquals(LocalDateTime.parse(text, SOURCE_FORMAT), CustomDateTimeDeserializer.parseDateTime(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"6/14/2023 1:20:22 pm", "6/14/2023 1:20:22 am", "6/14/2023 1:20:22 Pm"})
+    void lowercaseMarkersAreRejectedLikeTheFormatter(String text) {
+        assertNull(CustomDateTimeDeserializer.parseSourceFormat(text));
+        assertThrows(DateTimeParseException.class, () -> LocalDateTime.parse(text, SOURCE_FORMAT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "6/14/2023 0:20:22 PM",    // hour out of range
+        "6/14/2023 13:20:22 PM",
+        "6/14/2023 1:2:22 PM",     // one-digit minute
+        "6/14/23 1:20:22 PM",      // two-digit year
+        "6/14/2023 1:20:22",       // no marker
+        "6/14/2023 1:20:22 PMX"
+    })
+    void otherFormsAreLeftToTheFormatters(String text) {
+        assertNull(CustomDateTimeDeserializer.parseSourceFormat(text));
+    }
+
+    @Test
+    void otherSupportedFormatsStillParse() throws Exception {
+        LocalDateTime expected = LocalDateTime.of(2023, 6, 14, 13, 20, 22);
+        assertEquals(expected, CustomDateTimeDeserializer.parseDateTime("6/14/2023 13:20:22"));
+        assertEquals(expected, CustomDateTimeDeserializer.parseDateTime("2023-06-14 13:20:22"));
+        assertEquals(expected, CustomDateTimeDeserializer.parseDateTime("2023-06-14T13:20:22"));
+        assertNull(CustomDateTimeDeserializer.parseDateTime("  "));
+    }
+}
@@ -0,0 +1,104 @@
+-- Convert GUID primary keys and doc_guid columns from VARCHAR(255) to BINARY(16)
+-- for import.guid-storage=binary. Run with the importer stopped, then start it with
+-- the binary mode enabled. Values are packed as UNHEX(REPLACE(guid, '-', '')), the same
+-- layout the application writes. A table holding a value that is not a canonical GUID
+-- aborts the migration before that table is changed.
+
+USE data_import_db;
+
+DELIMITER //
+
+DROP PROCEDURE IF EXISTS convert_guid_column //
+
+CREATE PROCEDURE convert_guid_column(IN tbl VARCHAR(64), IN col VARCHAR(64), IN is_primary_key BOOLEAN)
+BEGIN
+    DECLARE current_type VARCHAR(64);
+    DECLARE bad_rows BIGINT;
+
+    SELECT DATA_TYPE INTO current_type
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = tbl AND COLUMN_NAME = col;
+
+    -- Missing table or column, or already converted
+    IF current_type IS NOT NULL AND current_type <> 'binary' THEN
+        SET @sql = CONCAT('SELECT COUNT(*) INTO @bad_rows FROM `', tbl, '` WHERE `', col, '` IS NOT NULL AND `', col,
+                          '` NOT REGEXP ''^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$''');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SET bad_rows = @bad_rows;
+
+        IF bad_rows > 0 THEN
+            SET @message = CONCAT(tbl, '.', col, ' has ', bad_rows, ' values that are not GUIDs');
+            SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = @message;
+        END IF;
+
+        SET @sql = CONCAT('ALTER TABLE `', tbl, '` ADD COLUMN `', col, '_bin` BINARY(16) NULL');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+
+        SET @sql = CONCAT('UPDATE `', tbl, '` SET `', col, '_bin` = UNHEX(REPLACE(`', col, '`, ''-'', ''''))');
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+
+        IF is_primary_key THEN
+            SET @sql = CONCAT('ALTER TABLE `', tbl, '` DROP PRIMARY KEY, DROP COLUMN `', col, '`, ',
+                              'CHANGE COLUMN `', col, '_bin` `', col, '` BINARY(16) NOT NULL FIRST, ',
+                              'ADD PRIMARY KEY (`', col, '`)');
+        ELSE
+            SET @sql = CONCAT('ALTER TABLE `', tbl, '` DROP COLUMN `', col, '`, ',
+                              'CHANGE COLUMN `', col, '_bin` `', col, '` BINARY(16) NULL, ',
+                              'ADD INDEX `idx_', tbl, '_', col, '` (`', col, '`)');
+        END IF;
+        PREPARE stmt FROM @sql;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+
+DELIMITER ;
+
+-- Primary keys
+CALL convert_guid_column('classifications', 'guid', TRUE);
+CALL convert_guid_column('contacts', 'guid', TRUE);
+CALL convert_guid_column('correspondences', 'guid', TRUE);
+CALL convert_guid_column('correspondence_attachments', 'guid', TRUE);
+CALL convert_guid_column('correspondence_comments', 'comment_guid', TRUE);
+CALL convert_guid_column('correspondence_copy_tos', 'guid', TRUE);
+CALL convert_guid_column('correspondence_current_positions', 'guid', TRUE);
+CALL convert_guid_column('correspondence_current_users', 'guid', TRUE);
+CALL convert_guid_column('correspondence_custom_fields', 'guid', TRUE);
+CALL convert_guid_column('correspondence_links', 'guid', TRUE);
+CALL convert_guid_column('correspondence_send_tos', 'guid', TRUE);
+CALL convert_guid_column('correspondence_transactions', 'guid', TRUE);
+CALL convert_guid_column('decisions', 'guid', TRUE);
+CALL convert_guid_column('departments', 'guid', TRUE);
+CALL convert_guid_column('forms', 'guid', TRUE);
+CALL convert_guid_column('outgoing_correspondences', 'guid', TRUE);
+CALL convert_guid_column('outgoing_correspondence_business_logs', 'guid', TRUE);
+CALL convert_guid_column('outgoing_correspondence_closings', 'guid', TRUE);
+CALL convert_guid_column('outgoing_correspondence_comments', 'comment_guid', TRUE);
+CALL convert_guid_column('pos_roles', 'guid', TRUE);
+CALL convert_guid_column('positions', 'guid', TRUE);
+CALL convert_guid_column('roles', 'guid', TRUE);
+CALL convert_guid_column('users', 'guid', TRUE);
+CALL convert_guid_column('user_positions', 'guid', TRUE);
+
+-- Document references (also indexed, for the per-document lookups)
+CALL convert_guid_column('correspondence_attachments', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_comments', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_copy_tos', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_current_departments', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_current_positions', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_current_users', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_custom_fields', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_links', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_send_tos', 'doc_guid', FALSE);
+CALL convert_guid_column('correspondence_transactions', 'doc_guid', FALSE);
+CALL convert_guid_column('outgoing_correspondence_business_logs', 'doc_guid', FALSE);
+CALL convert_guid_column('outgoing_correspondence_closings', 'doc_guid', FALSE);
+CALL convert_guid_column('outgoing_correspondence_comments', 'doc_guid', FALSE);
+
+DROP PROCEDURE convert_guid_column;